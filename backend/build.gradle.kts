@@ -1,7 +1,13 @@
 plugins {
     java
     id("org.springframework.boot") version "4.0.0"
+    // Generates the bean definitions at build time; used when started with -Dspring.aot.enabled=true
+    id("org.springframework.boot.aot") version "4.0.0"
+    // ./gradlew nativeCompile -PjavaVersion=25 (Spring Boot 4 needs GraalVM 25+ as JAVA_HOME)
+    id("org.graalvm.buildtools.native") version "0.11.1"
     id("io.spring.dependency-management") version "1.1.7"
+    // ./gradlew jmh (benchmarks in src/jmh)
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.sqstools"
@@ -9,7 +15,8 @@ version = "0.0.1-SNAPSHOT"
 
 java {
     toolchain {
-        languageVersion = JavaLanguageVersion.of(21)
+        // Native builds run on GraalVM 25 and pass -PjavaVersion=25 to use it as the toolchain
+        languageVersion = JavaLanguageVersion.of(providers.gradleProperty("javaVersion").getOrElse("21").toInt())
     }
 }
 
@@ -22,6 +29,13 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-jackson")
+    // Picked up by Spring MVC's default converters: Accept: application/cbor or application/x-jackson-smile
+    implementation("tools.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("tools.jackson.dataformat:jackson-dataformat-smile")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("io.micrometer:micrometer-registry-prometheus")
+    // Tracing via Micrometer Tracing on the OpenTelemetry SDK, with the OTLP exporter
+    implementation("org.springframework.boot:spring-boot-starter-opentelemetry")
     
     // SQLite
     implementation("org.xerial:sqlite-jdbc:3.46.1.3")
@@ -32,6 +46,8 @@ dependencies {
     implementation("software.amazon.awssdk:sqs")
     implementation("software.amazon.awssdk:auth")
     implementation("software.amazon.awssdk:sts")
+    implementation("software.amazon.awssdk:apache-client")
+    implementation("software.amazon.awssdk:netty-nio-client")
     
     // Testing
     testImplementation("org.springframework.boot:spring-boot-starter-test")
@@ -39,6 +55,84 @@ dependencies {
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
+graalvmNative {
+    binaries {
+        named("main") {
+            imageName.set("sqs-tools-backend")
+            buildArgs.add("--enable-url-protocols=https")
+            buildArgs.add("-H:+ReportExceptionStackTraces")
+            // Keeps the JFR admin endpoints working in the native image
+            buildArgs.add("--enable-monitoring=jfr")
+        }
+    }
+    metadataRepository {
+        enabled.set(true)
+    }
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    // Allocation rate (gc.alloc.rate.norm = bytes per operation) next to the time per operation
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    includes.addAll(providers.gradleProperty("jmhIncludes").map { listOf(it) }.orElse(emptyList()))
+}
+
+tasks.register<JavaExec>("redriveHarness") {
+    description = "Measures redrive throughput against an in-process SQS stub (-PharnessArgs=\"key=value ...\")."
+    group = "verification"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("com.sqstools.service.RedriveThroughputHarness")
+    args(providers.gradleProperty("harnessArgs").map { it.split(" ") }.getOrElse(emptyList()))
+}
+
+tasks.named<org.springframework.boot.gradle.tasks.aot.ProcessAot>("processAot") {
+    // The AOT bean graph is fixed here, not at startup: the profile and the
+    // @ConditionalOnProperty switches (sqstools.fake-sqs.enabled,
+    // sqstools.tracing.file.enabled) are evaluated now. Runs with the profile
+    // the AOT images start with; -PaotArgs="--key=value ..." sets the switches.
+    args("--spring.profiles.active=fast")
+    args(providers.gradleProperty("aotArgs").map { it.split(" ").filter(String::isNotBlank) }.getOrElse(emptyList()))
+}
+
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark", "load")
+    }
+}
+
+tasks.register<Test>("benchmark") {
+    description = "Runs the benchmark tests (long-poll capacity, ...)."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    testLogging {
+        showStandardStreams = true
+    }
+}
+
+tasks.register<Test>("loadTest") {
+    description = "Runs the REST API load test against the fake SQS server (-Ploadtest.<option>=...)."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    systemProperties(project.properties.filterKeys { it.startsWith("loadtest.") })
+    // Results depend on the machine, not only on the inputs
+    outputs.upToDateWhen { false }
+    testLogging {
+        showStandardStreams = true
+    }
+}
@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+# Compares startup time and memory of the JVM build against the native image.
+#
+#   ./gradlew bootJar && ./gradlew nativeCompile -PjavaVersion=25 && scripts/native-benchmark.sh [runs]
+#
+# For each build: time until GET /api/queues answers, and resident set size
+# (RSS) right after startup and after 200 requests.
+# A run that does not answer within MAX_WAIT_SECONDS (default 120) aborts the script.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+# Give up on a run that has not answered after this long
+MAX_WAIT_SECONDS="${MAX_WAIT_SECONDS:-120}"
+JAR="$(ls build/libs/*.jar | grep -v plain | head -n 1)"
+NATIVE="build/native/nativeCompile/sqs-tools-backend"
+WORK="build/native-benchmark"
+DB="jdbc:sqlite:${WORK}/benchmark.db"
+
+rm -rf "${WORK}"
+mkdir -p "${WORK}"
+
+now_ms() {
+    date +%s%3N
+}
+
+rss_mb() {
+    echo $(( $(ps -o rss= -p "$1") / 1024 ))
+}
+
+measure() {
+    local name="$1"
+    shift
+    local total=0
+    for run in $(seq 1 "${RUNS}"); do
+        local started
+        started=$(now_ms)
+        "$@" --server.port="${PORT}" --spring.datasource.url="${DB}" \
+            --sqstools.sampler.enabled=false > "${WORK}/${name}-${run}.log" 2>&1 &
+        local pid=$!
+        local deadline=$(( started + MAX_WAIT_SECONDS * 1000 ))
+        until curl -sf "http://localhost:${PORT}/api/queues" > /dev/null; do
+            if ! kill -0 "${pid}" 2> /dev/null || [ "$(now_ms)" -ge "${deadline}" ]; then
+                kill "${pid}" 2> /dev/null || true
+                echo "${name} run ${run}: no response within ${MAX_WAIT_SECONDS}s, see ${WORK}/${name}-${run}.log" >&2
+                tail -n 20 "${WORK}/${name}-${run}.log" >&2
+                exit 1
+            fi
+            sleep 0.01
+        done
+        local elapsed=$(( $(now_ms) - started ))
+        total=$(( total + elapsed ))
+        local rss_start
+        rss_start=$(rss_mb "${pid}")
+        for _ in $(seq 1 200); do
+            curl -sf "http://localhost:${PORT}/api/queues" > /dev/null
+        done
+        local rss_warm
+        rss_warm=$(rss_mb "${pid}")
+        kill "${pid}"
+        wait "${pid}" 2> /dev/null || true
+        printf '%-8s run %d: first response after %5d ms, RSS %4d MB at start, %4d MB after 200 requests\n' \
+            "${name}" "${run}" "${elapsed}" "${rss_start}" "${rss_warm}"
+    done
+    printf '%-8s average startup: %d ms\n\n' "${name}" $(( total / RUNS ))
+}
+
+measure "jvm" java -jar "${JAR}"
+measure "native" "${NATIVE}"
@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# Compares time-to-first-response of the backend in different start modes.
+#
+#   ./gradlew bootJar && scripts/startup-benchmark.sh [runs]
+#
+# Modes: plain JVM, Spring AOT, Spring AOT + AppCDS (archive is created on the
+# first run). Each mode is started <runs> times (default 5); the script reports
+# the time until GET /api/queues answers, and the JVM's own "Started ..." time.
+# A run that does not answer within MAX_WAIT_SECONDS (default 120) aborts the script.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+# Give up on a run that has not answered after this long
+MAX_WAIT_SECONDS="${MAX_WAIT_SECONDS:-120}"
+JAR="$(ls build/libs/*.jar | grep -v plain | head -n 1)"
+WORK="build/startup-benchmark"
+DB="jdbc:sqlite:${WORK}/benchmark.db"
+
+rm -rf "${WORK}"
+mkdir -p "${WORK}"
+java -Djarmode=tools -jar "${JAR}" extract --destination "${WORK}/extracted" > /dev/null
+APP="${WORK}/extracted/$(basename "${JAR}")"
+
+echo "Creating CDS archive..."
+java -XX:ArchiveClassesAtExit="${WORK}/app.jsa" \
+    -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh -Dspring.profiles.active=fast \
+    -Dspring.datasource.url="${DB}" -jar "${APP}" > "${WORK}/training.log" 2>&1
+
+now_ms() {
+    date +%s%3N
+}
+
+measure() {
+    local name="$1"
+    shift
+    local total=0
+    for run in $(seq 1 "${RUNS}"); do
+        local started
+        started=$(now_ms)
+        java "$@" -Dserver.port="${PORT}" -Dspring.datasource.url="${DB}" \
+            -Dsqstools.sampler.enabled=false -jar "${APP}" > "${WORK}/${name}-${run}.log" 2>&1 &
+        local pid=$!
+        local deadline=$(( started + MAX_WAIT_SECONDS * 1000 ))
+        until curl -sf "http://localhost:${PORT}/api/queues" > /dev/null; do
+            if ! kill -0 "${pid}" 2> /dev/null || [ "$(now_ms)" -ge "${deadline}" ]; then
+                kill "${pid}" 2> /dev/null || true
+                echo "${name} run ${run}: no response within ${MAX_WAIT_SECONDS}s, see ${WORK}/${name}-${run}.log" >&2
+                tail -n 20 "${WORK}/${name}-${run}.log" >&2
+                exit 1
+            fi
+            sleep 0.02
+        done
+        local elapsed=$(( $(now_ms) - started ))
+        total=$(( total + elapsed ))
+        kill "${pid}"
+        wait "${pid}" 2> /dev/null || true
+        local jvm
+        jvm=$(grep -o 'Started SqsManagementToolApplication in [0-9.]* seconds' "${WORK}/${name}-${run}.log" \
+            | grep -o '[0-9.]*' | head -n 1 || true)
+        printf '%-12s run %d: first response after %5d ms (context started in %ss)\n' \
+            "${name}" "${run}" "${elapsed}" "${jvm:-?}"
+    done
+    printf '%-12s average: %d ms\n\n' "${name}" $(( total / RUNS ))
+}
+
+measure "jvm"
+measure "aot" -Dspring.aot.enabled=true -Dspring.profiles.active=fast
+measure "aot+cds" -XX:SharedArchiveFile="${WORK}/app.jsa" \
+    -Dspring.aot.enabled=true -Dspring.profiles.active=fast
@@ -0,0 +1,90 @@
+package com.sqstools.service;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Message mixes for the benchmarks, shaped like what the DLQ browser sees:
+ * small JSON events, JSON close to the 256 KB SQS limit, plain text, and small
+ * bodies carrying the maximum of 10 message attributes.
+ */
+final class BenchmarkPayloads {
+
+    static final int MAX_PAYLOAD_BYTES = 256 * 1024;
+
+    private BenchmarkPayloads() {
+    }
+
+    static List<Message> batch(String payload, int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> message(payload, i))
+                .toList();
+    }
+
+    static Message message(String payload, int index) {
+        Message.Builder builder = Message.builder()
+                .messageId("00000000-0000-0000-0000-" + String.format("%012d", index))
+                .receiptHandle("AQEB" + "x".repeat(300))
+                .md5OfBody("d41d8cd98f00b204e9800998ecf8427e")
+                .attributes(Map.of(
+                        MessageSystemAttributeName.SENT_TIMESTAMP, "1718000000000",
+                        MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, "3"));
+        return switch (payload) {
+            case "small-json" -> builder.body(smallJson(index)).build();
+            case "large-json" -> builder.body(largeJson(index)).build();
+            case "text" -> builder.body(text(index)).build();
+            case "many-attributes" -> builder.body(smallJson(index)).messageAttributes(attributes(index)).build();
+            default -> throw new IllegalArgumentException("Unknown payload: " + payload);
+        };
+    }
+
+    static String smallJson(int index) {
+        return "{\"orderId\":" + index + ",\"customer\":\"c-" + index + "\",\"status\":\"FAILED\","
+                + "\"amount\":129.95,\"items\":[{\"sku\":\"A-1\",\"qty\":2},{\"sku\":\"B-7\",\"qty\":1}],"
+                + "\"error\":{\"code\":\"PAYMENT_DECLINED\",\"retryable\":false}}";
+    }
+
+    static String largeJson(int index) {
+        StringBuilder json = new StringBuilder("{\"batch\":").append(index).append(",\"records\":[");
+        int record = 0;
+        // Stay just below the SQS payload limit
+        while (json.length() < MAX_PAYLOAD_BYTES - 400) {
+            if (record > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(record)
+                    .append(",\"name\":\"record-").append(record)
+                    .append("\",\"tags\":[\"a\",\"b\",\"c\"],\"nested\":{\"value\":").append(record * 31)
+                    .append(",\"flag\":").append(record % 2 == 0).append("}}");
+            record++;
+        }
+        return json.append("]}").toString();
+    }
+
+    static String text(int index) {
+        return "2024-06-10T12:00:00Z ERROR worker-" + index
+                + " failed to process order: connection reset by peer (attempt 3 of 3)";
+    }
+
+    static Map<String, MessageAttributeValue> attributes(int index) {
+        Map<String, MessageAttributeValue> attributes = new HashMap<>();
+        for (int i = 0; i < 9; i++) {
+            attributes.put("attribute" + i, MessageAttributeValue.builder()
+                    .dataType("String")
+                    .stringValue("value-" + index + "-" + i)
+                    .build());
+        }
+        attributes.put("payload", MessageAttributeValue.builder()
+                .dataType("Binary")
+                .binaryValue(SdkBytes.fromUtf8String("binary-" + index))
+                .build());
+        return attributes;
+    }
+}
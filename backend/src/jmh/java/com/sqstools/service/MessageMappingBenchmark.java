@@ -0,0 +1,57 @@
+package com.sqstools.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.services.sqs.model.Message;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-message cost of turning received messages into the API response
+ * ({@link MessageService#toResponse}) and of the body formatting it does.
+ * Run with {@code ./gradlew jmh}; the gc profiler reports bytes allocated per
+ * operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MessageMappingBenchmark {
+
+    @Param({"small-json", "large-json", "text", "many-attributes"})
+    public String payload;
+
+    private MessageService messageService;
+    private List<Message> batch;
+    private String body;
+
+    @Setup
+    public void setUp() {
+        messageService = new MessageService(null, new ObjectMapper());
+        batch = BenchmarkPayloads.batch(payload, 10);
+        body = batch.get(0).body();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> toResponse() {
+        return messageService.toResponse(batch);
+    }
+
+    @Benchmark
+    public String prettyPrintJson() {
+        return messageService.prettyPrintJson(body);
+    }
+
+    @Benchmark
+    public boolean isValidJson() {
+        return messageService.isValidJson(body);
+    }
+}
@@ -0,0 +1,93 @@
+package com.sqstools.service;
+
+import com.sqstools.model.RedriveResult;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redrives {@code batchSize} messages per operation against {@link StubSqs},
+ * with the blocking {@link RedriveService} or the {@link AsyncRedriveService}.
+ * The {@code messages}, {@code failures} and {@code apiCalls} counters are
+ * reported as rates next to the operation rate; API calls per message is
+ * {@code apiCalls / messages}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RedriveBenchmark {
+
+    @Param({"blocking", "async"})
+    public String engine;
+
+    @Param({"10", "100"})
+    public int batchSize;
+
+    @Param({"0", "2000"})
+    public long latencyMicros;
+
+    @Param({"0", "0.01"})
+    public double throttleRate;
+
+    @Param({"0"})
+    public double failureRate;
+
+    private StubSqs sqs;
+    private RedriveService redriveService;
+    private AsyncRedriveService asyncRedriveService;
+    private String body;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        sqs = new StubSqs(latencyMicros, throttleRate, failureRate);
+        var clientFactory = sqs.clientFactory();
+        redriveService = new RedriveService(new MessageService(clientFactory, new ObjectMapper()));
+        asyncRedriveService = new AsyncRedriveService(new AsyncMessageService(clientFactory));
+        body = BenchmarkPayloads.smallJson(1);
+    }
+
+    @Setup(Level.Invocation)
+    public void fillDlq() {
+        sqs.reset();
+        sqs.fill(StubSqs.DLQ_URL, batchSize, body);
+    }
+
+    @Benchmark
+    public RedriveResult redrive(Counters counters) {
+        long callsBefore = sqs.calls();
+        RedriveResult result = engine.equals("async")
+                ? asyncRedriveService.redriveMessages(StubSqs.DLQ_URL, StubSqs.MAIN_URL, StubSqs.REGION,
+                        batchSize, false).join()
+                : redriveService.redriveMessages(StubSqs.DLQ_URL, StubSqs.MAIN_URL, StubSqs.REGION,
+                        batchSize, false);
+        counters.messages += result.getSuccessCount();
+        counters.failures += result.getFailureCount();
+        counters.apiCalls += sqs.calls() - callsBefore;
+        return result;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long messages;
+        public long failures;
+        public long apiCalls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            messages = 0;
+            failures = 0;
+            apiCalls = 0;
+        }
+    }
+}
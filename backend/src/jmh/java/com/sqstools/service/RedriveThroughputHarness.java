@@ -0,0 +1,115 @@
+package com.sqstools.service;
+
+import com.sqstools.model.RedriveResult;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains a DLQ of {@code messages} messages through the redrive engines and
+ * prints messages per second and API calls per message for every combination
+ * of engine, batch size (messages per redrive call) and concurrency (parallel
+ * redrive calls). Runs against {@link StubSqs}, so no AWS access is needed.
+ * <p>
+ * {@code ./gradlew redriveHarness -PharnessArgs="messages=20000 latencyMicros=5000 concurrency=1,8,32"}
+ */
+public final class RedriveThroughputHarness {
+
+    private RedriveThroughputHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "messages", "10000",
+                "engines", "blocking,async",
+                "batchSizes", "10,100,1000",
+                "concurrency", "1,4,16",
+                "latencyMicros", "2000",
+                "throttleRate", "0",
+                "failureRate", "0"));
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            if (pair.length != 2 || !options.containsKey(pair[0])) {
+                throw new IllegalArgumentException("Unknown option: " + arg + ", expected one of " + options.keySet());
+            }
+            options.put(pair[0], pair[1]);
+        }
+
+        int messages = Integer.parseInt(options.get("messages"));
+        long latencyMicros = Long.parseLong(options.get("latencyMicros"));
+        double throttleRate = Double.parseDouble(options.get("throttleRate"));
+        double failureRate = Double.parseDouble(options.get("failureRate"));
+
+        System.out.printf("%d messages, %d us per call, throttle rate %.3f, failure rate %.3f%n",
+                messages, latencyMicros, throttleRate, failureRate);
+        System.out.printf("%-9s %6s %5s %9s %8s %9s %10s %10s%n",
+                "engine", "batch", "conc", "redriven", "failed", "ms", "msgs/s", "calls/msg");
+        for (String engine : options.get("engines").split(",")) {
+            for (int batchSize : ints(options.get("batchSizes"))) {
+                for (int concurrency : ints(options.get("concurrency"))) {
+                    StubSqs sqs = new StubSqs(latencyMicros, throttleRate, failureRate);
+                    System.out.println(run(sqs, engine, messages, batchSize, concurrency));
+                }
+            }
+        }
+    }
+
+    private static Result run(StubSqs sqs, String engine, int messages, int batchSize, int concurrency)
+            throws Exception {
+        var clientFactory = sqs.clientFactory();
+        RedriveService redriveService = new RedriveService(new MessageService(clientFactory, new ObjectMapper()));
+        AsyncRedriveService asyncRedriveService = new AsyncRedriveService(new AsyncMessageService(clientFactory));
+        sqs.fill(StubSqs.DLQ_URL, messages, BenchmarkPayloads.smallJson(1));
+
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        long started = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<Void>> running = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                running.add(CompletableFuture.runAsync(() -> {
+                    // Each worker keeps redriving until the DLQ has no visible messages left
+                    while (true) {
+                        RedriveResult result = engine.equals("async")
+                                ? asyncRedriveService.redriveMessages(StubSqs.DLQ_URL, StubSqs.MAIN_URL,
+                                        StubSqs.REGION, batchSize, false).join()
+                                : redriveService.redriveMessages(StubSqs.DLQ_URL, StubSqs.MAIN_URL,
+                                        StubSqs.REGION, batchSize, false);
+                        if (result.getProcessedCount() == 0) {
+                            return;
+                        }
+                        succeeded.addAndGet(result.getSuccessCount());
+                        failed.addAndGet(result.getFailureCount());
+                    }
+                }, workers));
+            }
+            CompletableFuture.allOf(running.toArray(new CompletableFuture[0])).get();
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        return new Result(engine, batchSize, concurrency, succeeded.get(), failed.get(), elapsedNanos, sqs.calls());
+    }
+
+    private static int[] ints(String list) {
+        return Arrays.stream(list.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private record Result(String engine, int batchSize, int concurrency, long succeeded, long failed,
+                          long elapsedNanos, long calls) {
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1e9;
+            long processed = succeeded + failed;
+            return String.format("%-9s %6d %5d %9d %8d %9d %10.0f %10.2f",
+                    engine, batchSize, concurrency, succeeded, failed, (long) (seconds * 1000),
+                    succeeded / seconds, processed > 0 ? (double) calls / processed : 0);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.sqstools.service;
+
+import com.sqstools.aws.CredentialContext;
+import com.sqstools.aws.SQSClientFactory;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiptHandleIsInvalidException;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * In-process SQS for the redrive benchmarks: queues held in memory, a fixed
+ * latency per call, and injected throttling and server errors on send and
+ * delete. Receives never fail, since a failed receive aborts a whole redrive
+ * rather than one message.
+ * <p>
+ * The stub sits below the SDK, so injected throttles are not retried and show
+ * up as failed messages. Messages whose send or delete failed stay in flight,
+ * as they would in SQS until the visibility timeout expires.
+ */
+final class StubSqs {
+
+    static final String REGION = "us-east-1";
+    static final String DLQ_URL = "https://sqs.us-east-1.amazonaws.com/123456789012/orders-dlq";
+    static final String MAIN_URL = "https://sqs.us-east-1.amazonaws.com/123456789012/orders";
+
+    private final long latencyMicros;
+    private final double throttleRate;
+    private final double failureRate;
+    private final Map<String, StubQueue> queues = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    StubSqs(long latencyMicros, double throttleRate, double failureRate) {
+        this.latencyMicros = latencyMicros;
+        this.throttleRate = throttleRate;
+        this.failureRate = failureRate;
+    }
+
+    void reset() {
+        queues.clear();
+        calls.clear();
+    }
+
+    void fill(String queueUrl, int count, String body) {
+        StubQueue queue = queue(queueUrl);
+        for (int i = 0; i < count; i++) {
+            queue.visible.add(Message.builder()
+                    .messageId("m-" + ids.incrementAndGet())
+                    .body(body)
+                    .build());
+        }
+    }
+
+    int visible(String queueUrl) {
+        return queue(queueUrl).visible.size();
+    }
+
+    long calls() {
+        return calls.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    Map<String, Long> callsByOperation() {
+        Map<String, Long> result = new TreeMap<>();
+        calls.forEach((operation, count) -> result.put(operation, count.sum()));
+        return result;
+    }
+
+    SQSClientFactory clientFactory() {
+        SqsClient client = syncClient();
+        SqsAsyncClient asyncClient = asyncClient();
+        return new SQSClientFactory(null, null, List.of(), 0, 0, null) {
+            @Override
+            public SqsClient getClient(CredentialContext context, String regionName) {
+                return client;
+            }
+
+            @Override
+            public SqsAsyncClient getAsyncClient(CredentialContext context, String regionName) {
+                return asyncClient;
+            }
+        };
+    }
+
+    private SqsClient syncClient() {
+        return new SqsClient() {
+            @Override
+            public ReceiveMessageResponse receiveMessage(ReceiveMessageRequest request) {
+                pause();
+                return receive(request);
+            }
+
+            @Override
+            public SendMessageResponse sendMessage(SendMessageRequest request) {
+                pause();
+                return send(request);
+            }
+
+            @Override
+            public DeleteMessageResponse deleteMessage(DeleteMessageRequest request) {
+                pause();
+                return delete(request);
+            }
+
+            @Override
+            public String serviceName() {
+                return SERVICE_NAME;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private SqsAsyncClient asyncClient() {
+        return new SqsAsyncClient() {
+            @Override
+            public CompletableFuture<ReceiveMessageResponse> receiveMessage(ReceiveMessageRequest request) {
+                return later(() -> receive(request));
+            }
+
+            @Override
+            public CompletableFuture<SendMessageResponse> sendMessage(SendMessageRequest request) {
+                return later(() -> send(request));
+            }
+
+            @Override
+            public CompletableFuture<DeleteMessageResponse> deleteMessage(DeleteMessageRequest request) {
+                return later(() -> delete(request));
+            }
+
+            @Override
+            public String serviceName() {
+                return SERVICE_NAME;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private ReceiveMessageResponse receive(ReceiveMessageRequest request) {
+        count("ReceiveMessage");
+        StubQueue queue = queue(request.queueUrl());
+        int max = request.maxNumberOfMessages() != null ? request.maxNumberOfMessages() : 1;
+        List<Message> received = new ArrayList<>(max);
+        Message message;
+        while (received.size() < max && (message = queue.visible.poll()) != null) {
+            String receiptHandle = "rh-" + ids.incrementAndGet();
+            queue.inFlight.put(receiptHandle, message);
+            received.add(message.toBuilder().receiptHandle(receiptHandle).build());
+        }
+        return ReceiveMessageResponse.builder().messages(received).build();
+    }
+
+    private SendMessageResponse send(SendMessageRequest request) {
+        count("SendMessage");
+        injectFaults();
+        String messageId = "m-" + ids.incrementAndGet();
+        queue(request.queueUrl()).visible.add(Message.builder()
+                .messageId(messageId)
+                .body(request.messageBody())
+                .messageAttributes(request.messageAttributes())
+                .build());
+        return SendMessageResponse.builder().messageId(messageId).build();
+    }
+
+    private DeleteMessageResponse delete(DeleteMessageRequest request) {
+        count("DeleteMessage");
+        injectFaults();
+        if (queue(request.queueUrl()).inFlight.remove(request.receiptHandle()) == null) {
+            throw ReceiptHandleIsInvalidException.builder()
+                    .message("Unknown receipt handle " + request.receiptHandle())
+                    .build();
+        }
+        return DeleteMessageResponse.builder().build();
+    }
+
+    private void injectFaults() {
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < throttleRate) {
+            throw error(400, "ThrottlingException", "Rate exceeded");
+        }
+        if (roll < throttleRate + failureRate) {
+            throw error(500, "InternalError", "Injected failure");
+        }
+    }
+
+    private static SqsException error(int status, String code, String message) {
+        return (SqsException) SqsException.builder()
+                .statusCode(status)
+                .message(message)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode(code).errorMessage(message).build())
+                .build();
+    }
+
+    private void count(String operation) {
+        calls.computeIfAbsent(operation, key -> new LongAdder()).increment();
+    }
+
+    private void pause() {
+        if (latencyMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+        }
+    }
+
+    private <T> CompletableFuture<T> later(Supplier<T> call) {
+        if (latencyMicros <= 0) {
+            return CompletableFuture.supplyAsync(call);
+        }
+        return CompletableFuture.supplyAsync(call,
+                CompletableFuture.delayedExecutor(latencyMicros, TimeUnit.MICROSECONDS));
+    }
+
+    private StubQueue queue(String queueUrl) {
+        return queues.computeIfAbsent(queueUrl, url -> new StubQueue());
+    }
+
+    private static final class StubQueue {
+        private final Queue<Message> visible = new ConcurrentLinkedQueue<>();
+        private final Map<String, Message> inFlight = new ConcurrentHashMap<>();
+    }
+}
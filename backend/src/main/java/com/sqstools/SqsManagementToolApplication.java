@@ -1,5 +1,7 @@
 package com.sqstools;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
@@ -9,6 +11,8 @@ import org.springframework.core.env.Environment;
 @SpringBootApplication
 public class SqsManagementToolApplication {
 
+    private static final Logger logger = LoggerFactory.getLogger(SqsManagementToolApplication.class);
+
     private final Environment environment;
 
     public SqsManagementToolApplication(Environment environment) {
@@ -22,9 +26,6 @@ public class SqsManagementToolApplication {
     @EventListener(ApplicationReadyEvent.class)
     public void onApplicationReady() {
         String port = environment.getProperty("server.port", "8080");
-        System.out.println("\n===========================================");
-        System.out.println("SQS Management Tool is running!");
-        System.out.println("Access URL: http://localhost:" + port);
-        System.out.println("===========================================\n");
+        logger.info("SQS Management Tool is running! Access URL: http://localhost:{}", port);
     }
 }
@@ -0,0 +1,32 @@
+package com.sqstools.aws;
+
+import java.time.Instant;
+
+/**
+ * Result of STS GetCallerIdentity for one set of credentials.
+ */
+public final class CallerIdentity {
+
+    private final String account;
+    private final String arn;
+    private final String userId;
+    private final Instant expiresAt;
+
+    public CallerIdentity(String account, String arn, String userId, Instant expiresAt) {
+        this.account = account;
+        this.arn = arn;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getAccount() { return account; }
+    public String getArn() { return arn; }
+    public String getUserId() { return userId; }
+
+    // When the cached lookup stops being trusted: credential expiry, or the cache TTL
+    public Instant getExpiresAt() { return expiresAt; }
+
+    boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
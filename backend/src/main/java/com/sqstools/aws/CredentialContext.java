@@ -0,0 +1,58 @@
+package com.sqstools.aws;
+
+import java.util.Objects;
+
+/**
+ * Which credentials an SQS call should use. {@link #ACTIVE} follows the
+ * profile selected in the settings panel; anything else pins a named profile,
+ * optionally assuming a role on top of it.
+ */
+public final class CredentialContext {
+
+    public static final CredentialContext ACTIVE = new CredentialContext(null, null);
+
+    private final String profile;
+    private final String roleArn;
+
+    private CredentialContext(String profile, String roleArn) {
+        this.profile = profile;
+        this.roleArn = roleArn;
+    }
+
+    public static CredentialContext of(String profile, String roleArn) {
+        String p = profile != null && !profile.isBlank() ? profile : null;
+        String r = roleArn != null && !roleArn.isBlank() ? roleArn : null;
+        if (p == null && r == null) {
+            return ACTIVE;
+        }
+        return new CredentialContext(p, r);
+    }
+
+    public String getProfile() { return profile; }
+    public String getRoleArn() { return roleArn; }
+
+    public boolean isActive() {
+        return profile == null && roleArn == null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CredentialContext that)) return false;
+        return Objects.equals(profile, that.profile) && Objects.equals(roleArn, that.roleArn);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(profile, roleArn);
+    }
+
+    @Override
+    public String toString() {
+        if (isActive()) {
+            return "active";
+        }
+        return "profile:" + (profile != null ? profile : "default")
+                + (roleArn != null ? "|role:" + roleArn : "");
+    }
+}
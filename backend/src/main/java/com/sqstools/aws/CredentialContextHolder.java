@@ -0,0 +1,108 @@
+package com.sqstools.aws;
+
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+
+import java.util.function.Supplier;
+
+/**
+ * Carries the credential context of the queue being worked on through the
+ * service layer, so services keep their (queueUrl, region) signatures.
+ * Set per request by the web layer and per task by background jobs.
+ */
+public final class CredentialContextHolder {
+
+    private static final ThreadLocal<CredentialContext> CONTEXT = new ThreadLocal<>();
+    private static final ContextSnapshotFactory SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    private CredentialContextHolder() {
+    }
+
+    public static CredentialContext get() {
+        CredentialContext context = CONTEXT.get();
+        return context != null ? context : CredentialContext.ACTIVE;
+    }
+
+    public static void set(CredentialContext context) {
+        CONTEXT.set(context);
+    }
+
+    public static void clear() {
+        CONTEXT.remove();
+    }
+
+    public static <T> T call(CredentialContext context, Supplier<T> action) {
+        CredentialContext previous = CONTEXT.get();
+        CONTEXT.set(context);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CONTEXT.set(previous);
+            } else {
+                CONTEXT.remove();
+            }
+        }
+    }
+
+    public static void run(CredentialContext context, Runnable action) {
+        call(context, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Captures the caller's context, its {@link SqsFeatureHolder feature} and
+     * the current trace, so they also apply when the task runs on another thread.
+     */
+    public static Runnable wrap(Runnable task) {
+        Supplier<Void> wrapped = wrap(() -> {
+            task.run();
+            return null;
+        });
+        return wrapped::get;
+    }
+
+    public static <T> Supplier<T> wrap(Supplier<T> task) {
+        Captured captured = capture();
+        return () -> captured.call(task);
+    }
+
+    public static Captured capture() {
+        return new Captured(get(), SqsFeatureHolder.get(), SNAPSHOTS.captureAll());
+    }
+
+    /**
+     * Thread-bound state of a caller, for continuations that run on SDK or
+     * executor threads.
+     */
+    public static final class Captured {
+        private final CredentialContext credentials;
+        private final String feature;
+        private final ContextSnapshot snapshot;
+
+        private Captured(CredentialContext credentials, String feature, ContextSnapshot snapshot) {
+            this.credentials = credentials;
+            this.feature = feature;
+            this.snapshot = snapshot;
+        }
+
+        public CredentialContext getCredentials() {
+            return credentials;
+        }
+
+        public <T> T call(Supplier<T> action) {
+            try (ContextSnapshot.Scope scope = snapshot.setThreadLocals()) {
+                return SqsFeatureHolder.call(feature, () -> CredentialContextHolder.call(credentials, action));
+            }
+        }
+
+        public void run(Runnable action) {
+            call(() -> {
+                action.run();
+                return null;
+            });
+        }
+    }
+}
@@ -1,23 +1,58 @@
 package com.sqstools.aws;
 
+import com.sqstools.config.TaskExecutors;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import software.amazon.awssdk.auth.credentials.*;
 import software.amazon.awssdk.profiles.ProfileFile;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.sts.StsClient;
+import software.amazon.awssdk.services.sts.auth.StsAssumeRoleCredentialsProvider;
 import software.amazon.awssdk.services.sts.model.GetCallerIdentityRequest;
 import software.amazon.awssdk.services.sts.model.GetCallerIdentityResponse;
 
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class CredentialsProvider {
 
-    private AwsCredentialsProvider credentialsProvider;
-    private String activeProfile;
+    private static final Logger logger = LoggerFactory.getLogger(CredentialsProvider.class);
 
-    public CredentialsProvider() {
+    // Re-check shortly before temporary credentials expire
+    private static final Duration EXPIRY_MARGIN = Duration.ofMinutes(1);
+
+    private volatile AwsCredentialsProvider credentialsProvider;
+    private volatile String activeProfile;
+    private final Map<CredentialContext, AwsCredentialsProvider> contextProviders = new ConcurrentHashMap<>();
+    private final Map<String, CallerIdentity> identities = new ConcurrentHashMap<>();
+    private final TaskExecutors taskExecutors;
+    private final Duration identityTtl;
+
+    // One STS client for every lookup; the credentials are set per request
+    private final StsClient stsClient;
+
+    @Autowired
+    public CredentialsProvider(TaskExecutors taskExecutors,
+                               @Value("${sqstools.sts.identity-ttl-ms:3600000}") long identityTtlMillis) {
+        this(taskExecutors, identityTtlMillis, StsClient.builder()
+                .credentialsProvider(AnonymousCredentialsProvider.create())
+                .region(Region.US_EAST_1)
+                .build());
+    }
+
+    CredentialsProvider(TaskExecutors taskExecutors, long identityTtlMillis, StsClient stsClient) {
+        this.taskExecutors = taskExecutors;
+        this.identityTtl = Duration.ofMillis(identityTtlMillis);
+        this.stsClient = stsClient;
         this.credentialsProvider = resolveCredentials();
     }
 
@@ -47,9 +82,70 @@ public class CredentialsProvider {
         return credentialsProvider;
     }
 
+    /**
+     * Credentials for a pinned profile/role. {@link CredentialContext#ACTIVE}
+     * resolves to the currently selected profile.
+     */
+    public AwsCredentialsProvider getCredentialsProvider(CredentialContext context) {
+        if (context == null || context.isActive()) {
+            return credentialsProvider;
+        }
+        return contextProviders.computeIfAbsent(context, this::createContextProvider);
+    }
+
+    /**
+     * Identifies the credentials a context resolves to right now. Used as part
+     * of the client pool key, so switching the active profile routes new calls
+     * to new clients without touching clients that are still in use.
+     */
+    public String resolveContextKey(CredentialContext context) {
+        if (context == null || context.isActive()) {
+            return "active:" + getCredentialMethod();
+        }
+        if (context.getProfile() == null) {
+            // A role assumed from the active credentials changes with them
+            return "active:" + getCredentialMethod() + "|role:" + context.getRoleArn();
+        }
+        return context.toString();
+    }
+
+    private AwsCredentialsProvider createContextProvider(CredentialContext context) {
+        // Without a pinned profile the role is assumed with whatever the active
+        // credentials are when STS is called, not when the provider was built
+        AwsCredentialsProvider base = context.getProfile() != null
+                ? ProfileCredentialsProvider.builder().profileName(context.getProfile()).build()
+                : () -> credentialsProvider.resolveCredentials();
+        if (context.getRoleArn() == null) {
+            return base;
+        }
+
+        return StsAssumeRoleCredentialsProvider.builder()
+                .stsClient(stsClient)
+                .refreshRequest(request -> request
+                        .roleArn(context.getRoleArn())
+                        .roleSessionName("sqs-tools")
+                        .overrideConfiguration(o -> o.credentialsProvider(base)))
+                .build();
+    }
+
+    /**
+     * Switches the active profile and warms the identity cache for it in the
+     * background, so the settings panel does not wait for STS.
+     */
     public void setActiveProfile(String profileName) {
         this.activeProfile = profileName;
         this.credentialsProvider = resolveCredentials();
+        // Roles assumed from the previous profile hold its session credentials
+        contextProviders.entrySet().removeIf(entry -> {
+            if (entry.getKey().getProfile() != null) {
+                return false;
+            }
+            if (entry.getValue() instanceof AutoCloseable closeable) {
+                closeQuietly(closeable);
+            }
+            return true;
+        });
+        taskExecutors.startDaemon("sts-identity", () -> getCallerIdentity(CredentialContext.ACTIVE));
     }
 
     public String getActiveProfile() {
@@ -68,19 +164,60 @@ public class CredentialsProvider {
     }
 
     public Optional<String> getAccountId() {
-        try (StsClient stsClient = StsClient.builder()
-                .credentialsProvider(credentialsProvider)
-                .region(Region.US_EAST_1)
-                .build()) {
+        return getCallerIdentity(CredentialContext.ACTIVE).map(CallerIdentity::getAccount);
+    }
 
-            GetCallerIdentityResponse response = stsClient.getCallerIdentity(
-                    GetCallerIdentityRequest.builder().build());
-            return Optional.of(response.account());
+    /**
+     * Caller identity for a credential context. Cached per context and access
+     * key until the credentials expire (or the TTL for long-lived keys passes),
+     * so rotated keys are looked up again.
+     */
+    public Optional<CallerIdentity> getCallerIdentity(CredentialContext context) {
+        try {
+            AwsCredentialsProvider provider = getCredentialsProvider(context);
+            AwsCredentials credentials = provider.resolveCredentials();
+            String cacheKey = resolveContextKey(context) + "|" + credentials.accessKeyId();
+
+            Instant now = Instant.now();
+            CallerIdentity cached = identities.get(cacheKey);
+            if (cached != null && !cached.isExpired(now)) {
+                return Optional.of(cached);
+            }
+
+            GetCallerIdentityResponse response = stsClient.getCallerIdentity(GetCallerIdentityRequest.builder()
+                    .overrideConfiguration(o -> o.credentialsProvider(StaticCredentialsProvider.create(credentials)))
+                    .build());
+
+            Instant expiresAt = now.plus(identityTtl);
+            Optional<Instant> credentialExpiry = credentials.expirationTime();
+            if (credentialExpiry.isPresent() && credentialExpiry.get().minus(EXPIRY_MARGIN).isBefore(expiresAt)) {
+                expiresAt = credentialExpiry.get().minus(EXPIRY_MARGIN);
+            }
+            CallerIdentity identity = new CallerIdentity(response.account(), response.arn(), response.userId(), expiresAt);
+            // Drop entries of the same context for keys that have been rotated out
+            String contextPrefix = resolveContextKey(context) + "|";
+            identities.keySet().removeIf(key -> key.startsWith(contextPrefix) && !key.equals(cacheKey));
+            identities.put(cacheKey, identity);
+            return Optional.of(identity);
         } catch (Exception e) {
+            logger.debug("Caller identity lookup failed for {}: {}", context, e.getMessage());
             return Optional.empty();
         }
     }
 
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            logger.debug("Failed to close credentials provider: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        stsClient.close();
+    }
+
     public String getCredentialMethod() {
         if (hasEnvironmentVariables()) {
             return "environment";
@@ -0,0 +1,97 @@
+package com.sqstools.aws;
+
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Connection pool usage of the shared HTTP transports, taken from the metrics
+ * the SDK reports after every API call attempt. Tracked per HTTP client
+ * implementation, since the blocking and the async pool are sized separately.
+ */
+@Component
+public class HttpPoolMetrics implements MetricPublisher {
+
+    private final Map<String, PoolStats> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(MetricCollection metrics) {
+        record(metrics);
+    }
+
+    private void record(MetricCollection metrics) {
+        String clientName = last(metrics, HttpMetric.HTTP_CLIENT_NAME);
+        if (clientName != null) {
+            pools.computeIfAbsent(clientName, name -> new PoolStats()).record(metrics);
+        }
+        // HTTP metrics sit in the attempt's child collections
+        metrics.children().forEach(this::record);
+    }
+
+    private static <T> T last(MetricCollection metrics, SdkMetric<T> metric) {
+        List<T> values = metrics.metricValues(metric);
+        return values.isEmpty() ? null : values.get(values.size() - 1);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        pools.forEach((name, stats) -> snapshot.put(name, stats.snapshot()));
+        return snapshot;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private static final class PoolStats {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong leased = new AtomicLong();
+        private final AtomicLong available = new AtomicLong();
+        private final AtomicLong pending = new AtomicLong();
+        private final AtomicLong maxConcurrency = new AtomicLong();
+        private final AtomicLong peakLeased = new AtomicLong();
+        private final AtomicLong peakPending = new AtomicLong();
+
+        private void record(MetricCollection metrics) {
+            calls.incrementAndGet();
+            Integer leasedNow = last(metrics, HttpMetric.LEASED_CONCURRENCY);
+            if (leasedNow != null) {
+                leased.set(leasedNow);
+                peakLeased.accumulateAndGet(leasedNow, Math::max);
+            }
+            Integer pendingNow = last(metrics, HttpMetric.PENDING_CONCURRENCY_ACQUIRES);
+            if (pendingNow != null) {
+                pending.set(pendingNow);
+                peakPending.accumulateAndGet(pendingNow, Math::max);
+            }
+            Integer availableNow = last(metrics, HttpMetric.AVAILABLE_CONCURRENCY);
+            if (availableNow != null) {
+                available.set(availableNow);
+            }
+            Integer max = last(metrics, HttpMetric.MAX_CONCURRENCY);
+            if (max != null) {
+                maxConcurrency.set(max);
+            }
+        }
+
+        private Map<String, Object> snapshot() {
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("maxConnections", maxConcurrency.get());
+            snapshot.put("leasedConnections", leased.get());
+            snapshot.put("availableConnections", available.get());
+            snapshot.put("pendingAcquires", pending.get());
+            snapshot.put("peakLeasedConnections", peakLeased.get());
+            snapshot.put("peakPendingAcquires", peakPending.get());
+            snapshot.put("calls", calls.get());
+            return snapshot;
+        }
+    }
+}
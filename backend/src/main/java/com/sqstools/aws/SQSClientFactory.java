@@ -1,39 +1,309 @@
 package com.sqstools.aws;
 
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClientBuilder;
 import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.SqsClientBuilder;
 
+import java.net.URI;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
+/**
+ * Pool of SQS clients keyed by (credentials, region). Each entry holds a
+ * blocking client and, once asked for, an async client with the same credentials.
+ * <p>
+ * Callers that run long operations take a {@link SqsClientLease}. Clients are
+ * only closed once no lease holds them: switching profiles or refreshing
+ * credentials retires the affected clients instead of closing them, and idle
+ * clients are evicted in the background.
+ */
 @Component
 public class SQSClientFactory {
 
+    private static final Logger logger = LoggerFactory.getLogger(SQSClientFactory.class);
+
     private final CredentialsProvider credentialsProvider;
-    private final Map<String, SqsClient> clientCache = new ConcurrentHashMap<>();
+    private final SqsHttpTransport httpTransport;
+    private final List<ExecutionInterceptor> interceptors;
+    private final Map<ClientKey, PooledClient> clientCache = new ConcurrentHashMap<>();
+    private final List<PooledClient> retired = new CopyOnWriteArrayList<>();
+    private final long idleTimeoutMillis;
+    private final long retireGraceMillis;
+    private final URI endpointOverride;
 
-    public SQSClientFactory(CredentialsProvider credentialsProvider) {
+    public SQSClientFactory(CredentialsProvider credentialsProvider,
+                            SqsHttpTransport httpTransport,
+                            List<ExecutionInterceptor> interceptors,
+                            @Value("${sqstools.clients.idle-timeout-ms:600000}") long idleTimeoutMillis,
+                            @Value("${sqstools.clients.retire-grace-ms:60000}") long retireGraceMillis,
+                            @Value("${sqstools.sqs.endpoint-override:}") String endpointOverride) {
         this.credentialsProvider = credentialsProvider;
+        this.httpTransport = httpTransport;
+        this.interceptors = List.copyOf(interceptors);
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.retireGraceMillis = retireGraceMillis;
+        // Points every client at another SQS endpoint, e.g. the fake SQS server for offline runs
+        this.endpointOverride = endpointOverride == null || endpointOverride.isBlank() ? null : URI.create(endpointOverride);
     }
 
+    /**
+     * Client for the credential context of the current thread (see {@link CredentialContextHolder}).
+     */
     public SqsClient getClient(String regionName) {
-        return clientCache.computeIfAbsent(regionName, this::createClient);
+        return getClient(CredentialContextHolder.get(), regionName);
+    }
+
+    public SqsClient getClient(CredentialContext context, String regionName) {
+        PooledClient pooled = pooledClient(context, regionName);
+        pooled.touch();
+        return pooled.client;
+    }
+
+    /**
+     * Async client for the credential context of the current thread. Resolve it
+     * before chaining stages, since continuations run on SDK threads.
+     */
+    public SqsAsyncClient getAsyncClient(String regionName) {
+        return getAsyncClient(CredentialContextHolder.get(), regionName);
+    }
+
+    public SqsAsyncClient getAsyncClient(CredentialContext context, String regionName) {
+        PooledClient pooled = pooledClient(context, regionName);
+        pooled.touch();
+        return pooled.asyncClient(() -> createAsyncClient(context, regionName));
+    }
+
+    public SqsClientLease lease(String regionName) {
+        return lease(CredentialContextHolder.get(), regionName);
     }
 
-    private SqsClient createClient(String regionName) {
-        return SqsClient.builder()
+    public SqsClientLease lease(CredentialContext context, String regionName) {
+        PooledClient pooled;
+        // Retry if the entry was retired between lookup and acquire
+        do {
+            pooled = pooledClient(context, regionName);
+        } while (!pooled.acquire());
+        PooledClient leased = pooled;
+        return new SqsClientLease(leased.client, () -> release(leased));
+    }
+
+    private PooledClient pooledClient(CredentialContext context, String regionName) {
+        ClientKey key = new ClientKey(credentialsProvider.resolveContextKey(context), regionName);
+        return clientCache.computeIfAbsent(key, k -> new PooledClient(k, createClient(context, regionName)));
+    }
+
+    private SqsClient createClient(CredentialContext context, String regionName) {
+        SqsClientBuilder builder = SqsClient.builder()
+                .region(Region.of(regionName))
+                .credentialsProvider(credentialsProvider.getCredentialsProvider(context))
+                .httpClient(httpTransport.httpClient())
+                .overrideConfiguration(overrideConfiguration());
+        if (endpointOverride != null) {
+            builder.endpointOverride(endpointOverride);
+        }
+        return builder.build();
+    }
+
+    private SqsAsyncClient createAsyncClient(CredentialContext context, String regionName) {
+        SqsAsyncClientBuilder builder = SqsAsyncClient.builder()
                 .region(Region.of(regionName))
-                .credentialsProvider(credentialsProvider.getCredentialsProvider())
+                .credentialsProvider(credentialsProvider.getCredentialsProvider(context))
+                .httpClient(httpTransport.asyncHttpClient())
+                .overrideConfiguration(overrideConfiguration());
+        if (endpointOverride != null) {
+            builder.endpointOverride(endpointOverride);
+        }
+        return builder.build();
+    }
+
+    private ClientOverrideConfiguration overrideConfiguration() {
+        return httpTransport.overrideConfiguration().toBuilder()
+                .executionInterceptors(interceptors)
                 .build();
     }
 
+    private void release(PooledClient pooled) {
+        pooled.touch();
+        pooled.release();
+    }
+
+    /**
+     * Closes clients that have been idle too long, and retired clients whose
+     * last lease has been returned.
+     */
+    @Scheduled(fixedDelayString = "${sqstools.clients.eviction-interval-ms:60000}")
+    public void evictIdleClients() {
+        long now = System.currentTimeMillis();
+        Iterator<PooledClient> it = clientCache.values().iterator();
+        while (it.hasNext()) {
+            PooledClient pooled = it.next();
+            if (pooled.leases() == 0 && now - pooled.lastUsed() > idleTimeoutMillis) {
+                it.remove();
+                retire(pooled);
+            }
+        }
+        for (PooledClient pooled : retired) {
+            // Unleased callers may still be mid-call, so give them a grace period
+            // on top of waiting for the last lease
+            if (pooled.leases() == 0 && now - pooled.lastUsed() >= retireGraceMillis
+                    && now - pooled.retiredAt() >= retireGraceMillis && retired.remove(pooled)) {
+                pooled.close();
+            }
+        }
+    }
+
+    private void retire(PooledClient pooled) {
+        pooled.retire();
+        retired.add(pooled);
+    }
+
+    public int getPooledClientCount() {
+        return clientCache.size();
+    }
+
+    public int getRetiredClientCount() {
+        return retired.size();
+    }
+
+    @PreDestroy
     public void clearCache() {
-        clientCache.values().forEach(SqsClient::close);
+        clientCache.values().forEach(PooledClient::close);
         clientCache.clear();
+        retired.forEach(PooledClient::close);
+        retired.clear();
     }
 
+    /**
+     * Retires the clients of the active profile so the next call picks up fresh
+     * credentials. Clients of other profiles and in-flight leases are unaffected.
+     */
     public void refreshClients() {
-        clearCache();
+        String activePrefix = "active:";
+        Iterator<Map.Entry<ClientKey, PooledClient>> it = clientCache.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<ClientKey, PooledClient> entry = it.next();
+            if (entry.getKey().credentials.startsWith(activePrefix)) {
+                it.remove();
+                retire(entry.getValue());
+            }
+        }
+    }
+
+    private static final class ClientKey {
+        private final String credentials;
+        private final String region;
+
+        private ClientKey(String credentials, String region) {
+            this.credentials = credentials;
+            this.region = region;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ClientKey that)) return false;
+            return credentials.equals(that.credentials) && region.equals(that.region);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(credentials, region);
+        }
+
+        @Override
+        public String toString() {
+            return credentials + "@" + region;
+        }
+    }
+
+    private static final class PooledClient {
+        private final ClientKey key;
+        private final SqsClient client;
+        private volatile SqsAsyncClient asyncClient;
+        private final AtomicInteger leases = new AtomicInteger();
+        private volatile long lastUsed = System.currentTimeMillis();
+        private volatile long retiredAt;
+        private volatile boolean retiredFlag;
+
+        private PooledClient(ClientKey key, SqsClient client) {
+            this.key = key;
+            this.client = client;
+        }
+
+        private SqsAsyncClient asyncClient(Supplier<SqsAsyncClient> factory) {
+            SqsAsyncClient existing = asyncClient;
+            if (existing != null) {
+                return existing;
+            }
+            synchronized (this) {
+                if (asyncClient == null) {
+                    asyncClient = factory.get();
+                }
+                return asyncClient;
+            }
+        }
+
+        private boolean acquire() {
+            leases.incrementAndGet();
+            if (retiredFlag) {
+                release();
+                return false;
+            }
+            touch();
+            return true;
+        }
+
+        private int release() {
+            return leases.decrementAndGet();
+        }
+
+        private int leases() {
+            return leases.get();
+        }
+
+        private void touch() {
+            lastUsed = System.currentTimeMillis();
+        }
+
+        private long lastUsed() {
+            return lastUsed;
+        }
+
+        private void retire() {
+            retiredAt = System.currentTimeMillis();
+            retiredFlag = true;
+        }
+
+        private long retiredAt() {
+            return retiredAt;
+        }
+
+        private void close() {
+            try {
+                client.close();
+                SqsAsyncClient async = asyncClient;
+                if (async != null) {
+                    async.close();
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to close SQS client {}: {}", key, e.getMessage());
+            }
+        }
     }
 }
@@ -0,0 +1,31 @@
+package com.sqstools.aws;
+
+import software.amazon.awssdk.services.sqs.SqsClient;
+
+/**
+ * Keeps a pooled client open for the duration of an operation, even if the
+ * profile is switched or the client is evicted meanwhile.
+ */
+public final class SqsClientLease implements AutoCloseable {
+
+    private final SqsClient client;
+    private final Runnable release;
+    private boolean released;
+
+    SqsClientLease(SqsClient client, Runnable release) {
+        this.client = client;
+        this.release = release;
+    }
+
+    public SqsClient client() {
+        return client;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!released) {
+            released = true;
+            release.run();
+        }
+    }
+}
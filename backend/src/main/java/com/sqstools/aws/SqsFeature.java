@@ -0,0 +1,18 @@
+package com.sqstools.aws;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the workflow that SQS requests made while handling an endpoint are
+ * billed to (see {@link SqsRequestAccounting}). Endpoints without it are
+ * accounted as {@code <controller>.<method>}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqsFeature {
+
+    String value();
+}
@@ -0,0 +1,52 @@
+package com.sqstools.aws;
+
+import java.util.function.Supplier;
+
+/**
+ * Carries the feature an SQS request is made for, the same way
+ * {@link CredentialContextHolder} carries its credentials. Set per request by
+ * the web layer and per run by background jobs.
+ */
+public final class SqsFeatureHolder {
+
+    public static final String UNATTRIBUTED = "unattributed";
+
+    private static final ThreadLocal<String> FEATURE = new ThreadLocal<>();
+
+    private SqsFeatureHolder() {
+    }
+
+    public static String get() {
+        String feature = FEATURE.get();
+        return feature != null ? feature : UNATTRIBUTED;
+    }
+
+    public static void set(String feature) {
+        FEATURE.set(feature);
+    }
+
+    public static void clear() {
+        FEATURE.remove();
+    }
+
+    public static <T> T call(String feature, Supplier<T> action) {
+        String previous = FEATURE.get();
+        FEATURE.set(feature);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                FEATURE.set(previous);
+            } else {
+                FEATURE.remove();
+            }
+        }
+    }
+
+    public static void run(String feature, Runnable action) {
+        call(feature, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
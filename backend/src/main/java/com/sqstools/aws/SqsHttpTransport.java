@@ -0,0 +1,110 @@
+package com.sqstools.aws;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+
+import java.time.Duration;
+
+/**
+ * HTTP connection pools shared by every pooled {@link software.amazon.awssdk.services.sqs.SqsClient}
+ * (Apache, blocking) and {@link software.amazon.awssdk.services.sqs.SqsAsyncClient}
+ * (Netty, non-blocking). A waiting long poll holds a connection but no thread
+ * on the async side, so that pool is sized much larger.
+ * <p>
+ * The per-call timeouts are tuned for short calls. Long polls override them per
+ * request (see {@link #longPollTimeout(int)}), so the socket timeout only has
+ * to cover the longest wait SQS allows.
+ */
+@Component
+public class SqsHttpTransport {
+
+    private final SdkHttpClient httpClient;
+    private final SdkAsyncHttpClient asyncHttpClient;
+    private final HttpPoolMetrics poolMetrics;
+    private final Duration apiCallAttemptTimeout;
+    private final Duration apiCallTimeout;
+    private final int maxConnections;
+
+    public SqsHttpTransport(HttpPoolMetrics poolMetrics,
+                            @Value("${sqstools.http.max-connections:200}") int maxConnections,
+                            @Value("${sqstools.http.connection-timeout-ms:2000}") long connectionTimeoutMillis,
+                            @Value("${sqstools.http.acquisition-timeout-ms:5000}") long acquisitionTimeoutMillis,
+                            @Value("${sqstools.http.socket-timeout-ms:30000}") long socketTimeoutMillis,
+                            @Value("${sqstools.http.connection-ttl-ms:300000}") long connectionTtlMillis,
+                            @Value("${sqstools.http.max-idle-ms:60000}") long maxIdleMillis,
+                            @Value("${sqstools.http.tcp-keep-alive:true}") boolean tcpKeepAlive,
+                            @Value("${sqstools.http.api-call-attempt-timeout-ms:10000}") long apiCallAttemptTimeoutMillis,
+                            @Value("${sqstools.http.api-call-timeout-ms:30000}") long apiCallTimeoutMillis,
+                            @Value("${sqstools.http.async.max-concurrency:5000}") int asyncMaxConcurrency,
+                            @Value("${sqstools.http.async.max-pending-acquires:10000}") int asyncMaxPendingAcquires) {
+        this.poolMetrics = poolMetrics;
+        this.maxConnections = maxConnections;
+        this.apiCallAttemptTimeout = Duration.ofMillis(apiCallAttemptTimeoutMillis);
+        this.apiCallTimeout = Duration.ofMillis(apiCallTimeoutMillis);
+        this.httpClient = ApacheHttpClient.builder()
+                .maxConnections(maxConnections)
+                .connectionTimeout(Duration.ofMillis(connectionTimeoutMillis))
+                .connectionAcquisitionTimeout(Duration.ofMillis(acquisitionTimeoutMillis))
+                .socketTimeout(Duration.ofMillis(socketTimeoutMillis))
+                .connectionTimeToLive(Duration.ofMillis(connectionTtlMillis))
+                .connectionMaxIdleTime(Duration.ofMillis(maxIdleMillis))
+                .useIdleConnectionReaper(true)
+                .tcpKeepAlive(tcpKeepAlive)
+                .build();
+        this.asyncHttpClient = NettyNioAsyncHttpClient.builder()
+                .maxConcurrency(asyncMaxConcurrency)
+                .maxPendingConnectionAcquires(asyncMaxPendingAcquires)
+                .connectionTimeout(Duration.ofMillis(connectionTimeoutMillis))
+                .connectionAcquisitionTimeout(Duration.ofMillis(acquisitionTimeoutMillis))
+                .readTimeout(Duration.ofMillis(socketTimeoutMillis))
+                .writeTimeout(Duration.ofMillis(socketTimeoutMillis))
+                .connectionTimeToLive(Duration.ofMillis(connectionTtlMillis))
+                .connectionMaxIdleTime(Duration.ofMillis(maxIdleMillis))
+                .useIdleConnectionReaper(true)
+                .tcpKeepAlive(tcpKeepAlive)
+                .build();
+    }
+
+    /**
+     * Shared HTTP client. SDK clients built with it do not close it, so it
+     * outlives retired SQS clients.
+     */
+    public SdkHttpClient httpClient() {
+        return httpClient;
+    }
+
+    public SdkAsyncHttpClient asyncHttpClient() {
+        return asyncHttpClient;
+    }
+
+    public ClientOverrideConfiguration overrideConfiguration() {
+        return ClientOverrideConfiguration.builder()
+                .apiCallAttemptTimeout(apiCallAttemptTimeout)
+                .apiCallTimeout(apiCallTimeout)
+                .addMetricPublisher(poolMetrics)
+                .build();
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Attempt timeout for a receive that waits up to {@code waitTimeSeconds} on the server.
+     */
+    public static Duration longPollTimeout(int waitTimeSeconds) {
+        return Duration.ofSeconds(waitTimeSeconds + 5L);
+    }
+
+    @PreDestroy
+    public void close() {
+        httpClient.close();
+        asyncHttpClient.close();
+    }
+}
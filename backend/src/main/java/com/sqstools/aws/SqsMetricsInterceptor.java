@@ -0,0 +1,137 @@
+package com.sqstools.aws;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.AwsExecutionAttribute;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.regions.Region;
+
+import java.time.Duration;
+
+/**
+ * Records a timer per SQS call, tagged by operation, region, outcome and
+ * (optionally) queue, and counts errors by AWS error code. Registered on every
+ * client the {@link SQSClientFactory} builds, so both the blocking and the
+ * async path are covered.
+ * <p>
+ * Without the queue tag the timer publishes a percentile histogram, so p50/p99
+ * can be computed per operation on the Prometheus side. With it, the timer
+ * only keeps count, sum and max: about 70 buckets per queue would grow without
+ * bound once thousands of queues are discovered.
+ */
+@Component
+public class SqsMetricsInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Long> STARTED_AT = new ExecutionAttribute<>("sqstools.metrics.startedAt");
+    private static final ExecutionAttribute<String> QUEUE = new ExecutionAttribute<>("sqstools.metrics.queue");
+    private static final ExecutionAttribute<Integer> ATTEMPTS = new ExecutionAttribute<>("sqstools.metrics.attempts");
+
+    private final MeterRegistry registry;
+    private final boolean queueTag;
+
+    public SqsMetricsInterceptor(MeterRegistry registry,
+                                 @Value("${sqstools.metrics.queue-tag:false}") boolean queueTag) {
+        this.registry = registry;
+        this.queueTag = queueTag;
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        executionAttributes.putAttribute(STARTED_AT, System.nanoTime());
+        executionAttributes.putAttribute(QUEUE, queueName(context.request()));
+        executionAttributes.putAttribute(ATTEMPTS, 0);
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        Integer attempts = executionAttributes.getAttribute(ATTEMPTS);
+        executionAttributes.putAttribute(ATTEMPTS, attempts != null ? attempts + 1 : 1);
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        record(executionAttributes, "success");
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        Throwable failure = context.exception();
+        String outcome = outcome(failure);
+        record(executionAttributes, outcome);
+
+        String errorCode = failure instanceof AwsServiceException serviceException
+                && serviceException.awsErrorDetails() != null
+                && serviceException.awsErrorDetails().errorCode() != null
+                ? serviceException.awsErrorDetails().errorCode()
+                : failure.getClass().getSimpleName();
+        Counter.builder("sqs.client.errors")
+                .description("Failed SQS calls by AWS error code")
+                .tags(baseTags(executionAttributes).and("outcome", outcome, "error", errorCode))
+                .register(registry)
+                .increment();
+    }
+
+    private void record(ExecutionAttributes executionAttributes, String outcome) {
+        Long startedAt = executionAttributes.getAttribute(STARTED_AT);
+        if (startedAt == null) {
+            return;
+        }
+        Timer.builder("sqs.client.requests")
+                .description("SQS API calls, including SDK retries")
+                .tags(baseTags(executionAttributes).and("outcome", outcome))
+                .publishPercentileHistogram(!queueTag)
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry)
+                .record(Duration.ofNanos(System.nanoTime() - startedAt));
+
+        // Retried attempts (throttles, 5xx) are otherwise hidden inside a successful call
+        Integer attempts = executionAttributes.getAttribute(ATTEMPTS);
+        if (attempts != null && attempts > 1) {
+            Counter.builder("sqs.client.retries")
+                    .description("SQS call attempts beyond the first")
+                    .tags(baseTags(executionAttributes))
+                    .register(registry)
+                    .increment(attempts - 1);
+        }
+    }
+
+    private Tags baseTags(ExecutionAttributes executionAttributes) {
+        String operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        Region region = executionAttributes.getAttribute(AwsExecutionAttribute.AWS_REGION);
+        String queue = executionAttributes.getAttribute(QUEUE);
+        return Tags.of(
+                "operation", operation != null ? operation : "unknown",
+                "region", region != null ? region.id() : "unknown",
+                "queue", queue != null ? queue : "none");
+    }
+
+    private String queueName(SdkRequest request) {
+        if (!queueTag) {
+            return null;
+        }
+        return request.getValueForField("QueueUrl", String.class)
+                .map(url -> url.substring(url.lastIndexOf('/') + 1))
+                .orElse(null);
+    }
+
+    static String outcome(Throwable failure) {
+        if (failure instanceof AwsServiceException serviceException) {
+            if (serviceException.isThrottlingException()) {
+                return "throttled";
+            }
+            return serviceException.statusCode() >= 500 ? "server_error" : "client_error";
+        }
+        return "error";
+    }
+}
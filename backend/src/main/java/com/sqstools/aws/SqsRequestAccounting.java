@@ -0,0 +1,192 @@
+package com.sqstools.aws;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Attributes every SQS request to the feature that made it (see
+ * {@link SqsFeatureHolder}) and keeps totals since startup plus rolling
+ * one-hour and 24-hour windows, with an estimated cost.
+ * <p>
+ * Requests are counted per attempt, since retries are billed too. The cost
+ * follows SQS pricing: every started 64 KB of payload is one billed request, at
+ * the standard or FIFO price per million. Receive payloads are not sized, so
+ * the estimate is a lower bound for large messages.
+ */
+@Component
+public class SqsRequestAccounting implements ExecutionInterceptor {
+
+    static final int CHUNK_BYTES = 64 * 1024;
+    private static final int WINDOW_MINUTES = 24 * 60;
+
+    private static final ExecutionAttribute<String> FEATURE = new ExecutionAttribute<>("sqstools.accounting.feature");
+    private static final ExecutionAttribute<Integer> CHUNKS = new ExecutionAttribute<>("sqstools.accounting.chunks");
+    private static final ExecutionAttribute<Boolean> FIFO = new ExecutionAttribute<>("sqstools.accounting.fifo");
+
+    private final double standardPricePerMillion;
+    private final double fifoPricePerMillion;
+    private final Map<String, FeatureUsage> usage = new ConcurrentHashMap<>();
+    private volatile Instant since = Instant.now();
+
+    public SqsRequestAccounting(@Value("${sqstools.accounting.standard-price-per-million:0.40}") double standardPricePerMillion,
+                                @Value("${sqstools.accounting.fifo-price-per-million:0.50}") double fifoPricePerMillion) {
+        this.standardPricePerMillion = standardPricePerMillion;
+        this.fifoPricePerMillion = fifoPricePerMillion;
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        SdkRequest request = context.request();
+        executionAttributes.putAttribute(FEATURE, SqsFeatureHolder.get());
+        executionAttributes.putAttribute(CHUNKS, billedChunks(request));
+        executionAttributes.putAttribute(FIFO, request.getValueForField("QueueUrl", String.class)
+                .map(url -> url.endsWith(".fifo"))
+                .orElse(false));
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        String feature = executionAttributes.getAttribute(FEATURE);
+        String operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        Integer chunks = executionAttributes.getAttribute(CHUNKS);
+        Boolean fifo = executionAttributes.getAttribute(FIFO);
+        record(feature != null ? feature : SqsFeatureHolder.UNATTRIBUTED,
+                operation != null ? operation : "unknown",
+                chunks != null ? chunks : 1,
+                Boolean.TRUE.equals(fifo),
+                System.currentTimeMillis());
+    }
+
+    void record(String feature, String operation, int chunks, boolean fifo, long nowMillis) {
+        usage.computeIfAbsent(feature, f -> new FeatureUsage()).record(operation, chunks, fifo, nowMillis / 60_000);
+    }
+
+    static int billedChunks(SdkRequest request) {
+        long bytes = 0;
+        if (request instanceof SendMessageRequest send) {
+            bytes = payloadBytes(send.messageBody());
+        } else if (request instanceof SendMessageBatchRequest batch) {
+            // A batch is one request, billed on its total payload
+            for (var entry : batch.entries()) {
+                bytes += payloadBytes(entry.messageBody());
+            }
+        }
+        return (int) Math.max(1, (bytes + CHUNK_BYTES - 1) / CHUNK_BYTES);
+    }
+
+    private static long payloadBytes(String body) {
+        return body != null ? body.getBytes(StandardCharsets.UTF_8).length : 0;
+    }
+
+    public Map<String, Object> report() {
+        long nowMinute = System.currentTimeMillis() / 60_000;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("since", since.toString());
+        report.put("standardPricePerMillion", standardPricePerMillion);
+        report.put("fifoPricePerMillion", fifoPricePerMillion);
+
+        Map<String, Object> features = new TreeMap<>();
+        long requests = 0;
+        double cost = 0;
+        for (Map.Entry<String, FeatureUsage> entry : usage.entrySet()) {
+            Map<String, Object> featureReport = entry.getValue().report(nowMinute);
+            features.put(entry.getKey(), featureReport);
+            requests += (long) featureReport.get("requests");
+            cost += (double) featureReport.get("estimatedCost");
+        }
+        report.put("requests", requests);
+        report.put("estimatedCost", cost);
+        report.put("features", features);
+        return report;
+    }
+
+    public void reset() {
+        usage.clear();
+        since = Instant.now();
+    }
+
+    private double cost(long standardChunks, long fifoChunks) {
+        return (standardChunks * standardPricePerMillion + fifoChunks * fifoPricePerMillion) / 1_000_000d;
+    }
+
+    /**
+     * Totals and per-minute buckets for one feature. Buckets are reused once
+     * they fall out of the 24-hour window.
+     */
+    private final class FeatureUsage {
+        private long requests;
+        private long standardChunks;
+        private long fifoChunks;
+        private final Map<String, Long> requestsByOperation = new TreeMap<>();
+
+        private final long[] bucketMinute = new long[WINDOW_MINUTES];
+        private final long[] bucketRequests = new long[WINDOW_MINUTES];
+        private final long[] bucketStandardChunks = new long[WINDOW_MINUTES];
+        private final long[] bucketFifoChunks = new long[WINDOW_MINUTES];
+
+        private synchronized void record(String operation, int chunks, boolean fifo, long minute) {
+            requests++;
+            requestsByOperation.merge(operation, 1L, Long::sum);
+
+            int slot = (int) (minute % WINDOW_MINUTES);
+            if (bucketMinute[slot] != minute) {
+                bucketMinute[slot] = minute;
+                bucketRequests[slot] = 0;
+                bucketStandardChunks[slot] = 0;
+                bucketFifoChunks[slot] = 0;
+            }
+            bucketRequests[slot]++;
+            if (fifo) {
+                fifoChunks += chunks;
+                bucketFifoChunks[slot] += chunks;
+            } else {
+                standardChunks += chunks;
+                bucketStandardChunks[slot] += chunks;
+            }
+        }
+
+        private synchronized Map<String, Object> report(long nowMinute) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("requests", requests);
+            report.put("billedRequests", standardChunks + fifoChunks);
+            report.put("estimatedCost", cost(standardChunks, fifoChunks));
+            report.put("lastHour", window(nowMinute, 60));
+            report.put("last24Hours", window(nowMinute, WINDOW_MINUTES));
+            report.put("requestsByOperation", new TreeMap<>(requestsByOperation));
+            return report;
+        }
+
+        private Map<String, Object> window(long nowMinute, int minutes) {
+            long windowRequests = 0;
+            long windowStandard = 0;
+            long windowFifo = 0;
+            for (int i = 0; i < WINDOW_MINUTES; i++) {
+                if (nowMinute - bucketMinute[i] < minutes && bucketMinute[i] <= nowMinute) {
+                    windowRequests += bucketRequests[i];
+                    windowStandard += bucketStandardChunks[i];
+                    windowFifo += bucketFifoChunks[i];
+                }
+            }
+            Map<String, Object> window = new LinkedHashMap<>();
+            window.put("requests", windowRequests);
+            window.put("billedRequests", windowStandard + windowFifo);
+            window.put("estimatedCost", cost(windowStandard, windowFifo));
+            return window;
+        }
+    }
+}
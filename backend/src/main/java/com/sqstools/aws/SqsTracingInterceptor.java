@@ -0,0 +1,112 @@
+package com.sqstools.aws;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.AwsExecutionAttribute;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.regions.Region;
+
+/**
+ * Opens a client span per SQS call, as a child of the span current on the
+ * calling thread (the API request, a job, ...). The span carries the AWS
+ * request ID, so a slow call can be looked up on the AWS side, and an event
+ * per retried attempt.
+ * <p>
+ * The span is never put in scope: for the async client the call completes on
+ * an SDK thread.
+ */
+@Component
+public class SqsTracingInterceptor implements ExecutionInterceptor {
+
+    static final String REQUEST_ID_HEADER = "x-amzn-RequestId";
+
+    private static final ExecutionAttribute<Span> SPAN = new ExecutionAttribute<>("sqstools.tracing.span");
+    private static final ExecutionAttribute<Integer> ATTEMPTS = new ExecutionAttribute<>("sqstools.tracing.attempts");
+
+    private final Tracer tracer;
+
+    public SqsTracingInterceptor(ObjectProvider<Tracer> tracer) {
+        // No tracer when tracing is switched off (as in tests)
+        this.tracer = tracer.getIfAvailable(() -> Tracer.NOOP);
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        String operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        Region region = executionAttributes.getAttribute(AwsExecutionAttribute.AWS_REGION);
+        Span span = tracer.nextSpan()
+                .name("SQS." + (operation != null ? operation : "unknown"))
+                .kind(Span.Kind.CLIENT)
+                .remoteServiceName("sqs")
+                .tag("rpc.system", "aws-api")
+                .tag("rpc.service", "SQS")
+                .tag("rpc.method", operation != null ? operation : "unknown")
+                .tag("sqstools.feature", SqsFeatureHolder.get());
+        if (region != null) {
+            span.tag("cloud.region", region.id());
+        }
+        context.request().getValueForField("QueueUrl", String.class)
+                .ifPresent(url -> span.tag("aws.sqs.queue_url", url));
+        executionAttributes.putAttribute(SPAN, span.start());
+        executionAttributes.putAttribute(ATTEMPTS, 0);
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        Integer previous = executionAttributes.getAttribute(ATTEMPTS);
+        int attempts = previous != null ? previous + 1 : 1;
+        executionAttributes.putAttribute(ATTEMPTS, attempts);
+        Span span = executionAttributes.getAttribute(SPAN);
+        if (span != null && attempts > 1) {
+            span.event("retry " + (attempts - 1));
+        }
+    }
+
+    @Override
+    public void afterTransmission(Context.AfterTransmission context, ExecutionAttributes executionAttributes) {
+        Span span = executionAttributes.getAttribute(SPAN);
+        if (span == null) {
+            return;
+        }
+        // Tagged per attempt, so the ID of the last (failed or successful) attempt wins
+        context.httpResponse().firstMatchingHeader(REQUEST_ID_HEADER)
+                .ifPresent(requestId -> span.tag("aws.request_id", requestId));
+        span.tag("http.status_code", String.valueOf(context.httpResponse().statusCode()));
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        end(executionAttributes);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        Span span = executionAttributes.getAttribute(SPAN);
+        if (span == null) {
+            return;
+        }
+        Throwable failure = context.exception();
+        if (failure instanceof AwsServiceException serviceException && serviceException.requestId() != null) {
+            span.tag("aws.request_id", serviceException.requestId());
+        }
+        span.error(failure);
+        end(executionAttributes);
+    }
+
+    private void end(ExecutionAttributes executionAttributes) {
+        Span span = executionAttributes.getAttribute(SPAN);
+        if (span == null) {
+            return;
+        }
+        Integer attempts = executionAttributes.getAttribute(ATTEMPTS);
+        span.tag("aws.attempts", String.valueOf(attempts != null ? attempts : 0));
+        span.end();
+    }
+}
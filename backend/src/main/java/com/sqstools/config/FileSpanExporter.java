@@ -0,0 +1,92 @@
+package com.sqstools.config;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Appends finished spans to a local file, one JSON object per line, for
+ * setups without a collector. Durations are in microseconds.
+ */
+class FileSpanExporter implements SpanExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSpanExporter.class);
+
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter writer;
+
+    FileSpanExporter(Path path, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            for (SpanData span : spans) {
+                writer.write(objectMapper.writeValueAsString(toMap(span)));
+                writer.newLine();
+            }
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException | JacksonException e) {
+            // JacksonException is unchecked; it must not escape into the span processor
+            logger.warn("Failed to write {} spans: {}", spans.size(), e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    static Map<String, Object> toMap(SpanData span) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("traceId", span.getTraceId());
+        line.put("spanId", span.getSpanId());
+        line.put("parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+        line.put("name", span.getName());
+        line.put("kind", span.getKind().name());
+        line.put("startEpochMicros", span.getStartEpochNanos() / 1_000);
+        line.put("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000);
+        line.put("status", span.getStatus().getStatusCode().name());
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        line.put("attributes", attributes);
+        return line;
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        try {
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        try {
+            writer.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+}
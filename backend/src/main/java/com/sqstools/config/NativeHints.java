@@ -0,0 +1,48 @@
+package com.sqstools.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reachability metadata for the native image that the libraries do not ship
+ * themselves. Controller payloads, entities and Jackson 3 are covered by Spring
+ * AOT; the AWS SDK HTTP clients and sqlite-jdbc bring their own
+ * META-INF/native-image configuration.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHints.Registrar.class)
+public class NativeHints {
+
+    static class Registrar implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Hibernate instantiates the dialect named in application.properties by reflection
+            hints.reflection().registerType(TypeReference.of("org.hibernate.community.dialect.SQLiteDialect"),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            // The SDK discovers interceptors from classpath resources and loads them by name
+            hints.resources().registerPattern("software/amazon/awssdk/global/handlers/execution.interceptors");
+            hints.resources().registerPattern("software/amazon/awssdk/services/sqs/execution.interceptors");
+            hints.resources().registerPattern("software/amazon/awssdk/services/sts/execution.interceptors");
+            hints.reflection().registerType(
+                    TypeReference.of("software.amazon.awssdk.services.sqs.internal.MessageMD5ChecksumInterceptor"),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+            // Endpoint rules and partition metadata are read from the classpath at client build time
+            hints.resources().registerPattern("software/amazon/awssdk/global/partitions.json");
+            hints.resources().registerPattern("software/amazon/awssdk/services/sqs/*");
+            hints.resources().registerPattern("software/amazon/awssdk/services/sts/*");
+
+            // Profile credentials (~/.aws/config, ~/.aws/credentials) are parsed with the SDK's own reader,
+            // but the assume-role provider is created by class name when a profile uses role_arn
+            hints.reflection().registerType(
+                    TypeReference.of("software.amazon.awssdk.services.sts.internal.StsProfileCredentialsProviderFactory"),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+}
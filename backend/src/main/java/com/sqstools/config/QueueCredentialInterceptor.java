@@ -0,0 +1,76 @@
+package com.sqstools.config;
+
+import com.sqstools.aws.CredentialContextHolder;
+import com.sqstools.aws.SQSClientFactory;
+import com.sqstools.aws.SqsClientLease;
+import com.sqstools.model.QueueTarget;
+import com.sqstools.service.ConfigurationService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Runs requests against a saved queue with that queue's credentials, and holds
+ * a client lease until the response is written so long polls and redrives are
+ * not cut off by a profile switch.
+ * <p>
+ * For async handlers the lease spans both dispatches: it is taken on the first
+ * and released after the async result has been written.
+ */
+@Component
+public class QueueCredentialInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String LEASE_ATTRIBUTE = QueueCredentialInterceptor.class.getName() + ".lease";
+
+    private final ConfigurationService configService;
+    private final SQSClientFactory clientFactory;
+
+    public QueueCredentialInterceptor(ConfigurationService configService, SQSClientFactory clientFactory) {
+        this.configService = configService;
+        this.clientFactory = clientFactory;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String queueId = variables != null ? variables.get("queueId") : null;
+        if (queueId == null) {
+            return true;
+        }
+        if (request.getAttribute(LEASE_ATTRIBUTE) != null) {
+            // Async dispatch of a request that already holds its lease
+            return true;
+        }
+
+        // Unknown ids fall through; the controller reports "Queue not found"
+        Optional<QueueTarget> target = configService.resolveQueue(queueId);
+        if (target.isPresent()) {
+            CredentialContextHolder.set(target.get().getCredentials());
+            request.setAttribute(LEASE_ATTRIBUTE,
+                    clientFactory.lease(target.get().getCredentials(), target.get().getRegion()));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The request thread goes back to the pool; the lease stays with the request
+        CredentialContextHolder.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object lease = request.getAttribute(LEASE_ATTRIBUTE);
+        if (lease instanceof SqsClientLease clientLease) {
+            clientLease.close();
+            request.removeAttribute(LEASE_ATTRIBUTE);
+        }
+        CredentialContextHolder.clear();
+    }
+}
@@ -0,0 +1,59 @@
+package com.sqstools.config;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Adds a span around every Spring Data repository call, named
+ * {@code <Repository>.<method>}, so SQLite time shows up next to the SQS
+ * calls of the same request.
+ */
+class RepositoryTracing implements BeanPostProcessor {
+
+    private final ObjectProvider<Tracer> tracer;
+
+    RepositoryTracing(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                            new SpanInterceptor(repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private final class SpanInterceptor implements MethodInterceptor {
+        private final String repository;
+
+        private SpanInterceptor(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            // Resolved per call: the tracer is created after the repositories
+            Tracer current = tracer.getIfAvailable(() -> Tracer.NOOP);
+            Span span = current.nextSpan()
+                    .name(repository + "." + invocation.getMethod().getName())
+                    .tag("db.system", "sqlite")
+                    .start();
+            try (Tracer.SpanInScope ignored = current.withSpan(span)) {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                span.error(e);
+                throw e;
+            } finally {
+                span.end();
+            }
+        }
+    }
+}
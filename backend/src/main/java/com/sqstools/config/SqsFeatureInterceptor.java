@@ -0,0 +1,45 @@
+package com.sqstools.config;
+
+import com.sqstools.aws.SqsFeature;
+import com.sqstools.aws.SqsFeatureHolder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Attributes the SQS requests made while handling an API call to the endpoint's
+ * {@link SqsFeature}, or to {@code <controller>.<method>} when it has none.
+ */
+@Component
+public class SqsFeatureInterceptor implements AsyncHandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            SqsFeatureHolder.set(featureOf(handlerMethod));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqsFeatureHolder.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SqsFeatureHolder.clear();
+    }
+
+    static String featureOf(HandlerMethod handlerMethod) {
+        SqsFeature feature = handlerMethod.getMethodAnnotation(SqsFeature.class);
+        if (feature != null) {
+            return feature.value();
+        }
+        String controller = handlerMethod.getBeanType().getSimpleName().replace("Controller", "");
+        return Character.toLowerCase(controller.charAt(0)) + controller.substring(1)
+                + "." + handlerMethod.getMethod().getName();
+    }
+}
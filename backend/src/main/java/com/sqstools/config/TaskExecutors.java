@@ -0,0 +1,111 @@
+package com.sqstools.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the bounded executors used by the background services. They follow
+ * {@code spring.threads.virtual.enabled}, like the web layer: with virtual
+ * threads a task blocked on an SQS call does not hold a platform thread, and
+ * the parallelism only caps how many calls run at once.
+ */
+@Component
+public class TaskExecutors {
+
+    private final boolean virtualThreads;
+
+    public TaskExecutors(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public ExecutorService bounded(String name, int parallelism) {
+        if (!virtualThreads) {
+            return Executors.newFixedThreadPool(parallelism, threadFactory(name));
+        }
+        // Virtual threads are not pooled: one per task, with a permit per running task
+        return new BoundedExecutor(Executors.newThreadPerTaskExecutor(threadFactory(name)), parallelism);
+    }
+
+    public Thread startDaemon(String name, Runnable task) {
+        Thread thread = virtualThreads
+                ? Thread.ofVirtual().name(name).unstarted(task)
+                : Thread.ofPlatform().name(name).daemon(true).unstarted(task);
+        thread.start();
+        return thread;
+    }
+
+    private ThreadFactory threadFactory(String name) {
+        return virtualThreads
+                ? Thread.ofVirtual().name(name + "-", 0).factory()
+                : Thread.ofPlatform().name(name + "-", 0).daemon(true).factory();
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Runs each task on its own thread of {@code delegate}, at most
+     * {@code parallelism} at a time. Waiting tasks park on the semaphore.
+     */
+    private static final class BoundedExecutor extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+        private final Semaphore permits;
+
+        private BoundedExecutor(ExecutorService delegate, int parallelism) {
+            this.delegate = delegate;
+            this.permits = new Semaphore(parallelism);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            delegate.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.sqstools.config;
+
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Tracing beyond what Spring Boot instruments itself (API requests): spans for
+ * repository calls, and an optional file exporter. SQS calls are traced by
+ * {@link com.sqstools.aws.SqsTracingInterceptor}.
+ */
+@Configuration
+public class TracingConfig {
+
+    // Static: post-processors are created before the regular beans
+    @Bean
+    static BeanPostProcessor repositoryTracing(ObjectProvider<Tracer> tracer) {
+        return new RepositoryTracing(tracer);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "sqstools.tracing.file.enabled", havingValue = "true")
+    SpanExporter fileSpanExporter(@Value("${sqstools.tracing.file.path:./data/traces.jsonl}") String path,
+                                  ObjectMapper objectMapper) throws IOException {
+        return new FileSpanExporter(Path.of(path), objectMapper);
+    }
+}
@@ -0,0 +1,32 @@
+package com.sqstools.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final QueueCredentialInterceptor queueCredentialInterceptor;
+    private final SqsFeatureInterceptor sqsFeatureInterceptor;
+
+    public WebConfig(QueueCredentialInterceptor queueCredentialInterceptor,
+                     SqsFeatureInterceptor sqsFeatureInterceptor) {
+        this.queueCredentialInterceptor = queueCredentialInterceptor;
+        this.sqsFeatureInterceptor = sqsFeatureInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqsFeatureInterceptor).addPathPatterns("/api/**");
+
+        // Only endpoints that talk to SQS for a saved queue
+        registry.addInterceptor(queueCredentialInterceptor)
+                .addPathPatterns(
+                        "/api/queues/*/messages/**",
+                        "/api/queues/*/redrive/**",
+                        "/api/queues/*/purge",
+                        "/api/queues/*/dlq/**",
+                        "/api/queues/*/refresh");
+    }
+}
@@ -0,0 +1,111 @@
+package com.sqstools.controller;
+
+import com.sqstools.aws.HttpPoolMetrics;
+import com.sqstools.aws.SQSClientFactory;
+import com.sqstools.aws.SqsRequestAccounting;
+import com.sqstools.service.FlightRecorderService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final HttpPoolMetrics poolMetrics;
+    private final SQSClientFactory clientFactory;
+    private final SqsRequestAccounting accounting;
+    private final FlightRecorderService flightRecorder;
+    // Recordings expose heap and thread details of the process, so the JFR
+    // endpoints answer 404 unless enabled explicitly
+    private final boolean jfrEnabled;
+
+    public AdminController(HttpPoolMetrics poolMetrics, SQSClientFactory clientFactory,
+                           SqsRequestAccounting accounting, FlightRecorderService flightRecorder,
+                           @Value("${sqstools.jfr.enabled:false}") boolean jfrEnabled) {
+        this.poolMetrics = poolMetrics;
+        this.clientFactory = clientFactory;
+        this.accounting = accounting;
+        this.flightRecorder = flightRecorder;
+        this.jfrEnabled = jfrEnabled;
+    }
+
+    @GetMapping("/http-pool")
+    public ResponseEntity<Map<String, Object>> getHttpPool() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("pools", poolMetrics.snapshot());
+        response.put("pooledClients", clientFactory.getPooledClientCount());
+        response.put("retiredClients", clientFactory.getRetiredClientCount());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/sqs-usage")
+    public ResponseEntity<Map<String, Object>> getSqsUsage() {
+        return ResponseEntity.ok(accounting.report());
+    }
+
+    @PostMapping("/sqs-usage/reset")
+    public ResponseEntity<Void> resetSqsUsage() {
+        accounting.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/jfr")
+    public ResponseEntity<Map<String, Object>> startRecording(
+            @RequestParam(defaultValue = "profile") String settings,
+            @RequestParam(required = false) Long durationSeconds) {
+        if (!jfrEnabled) {
+            return ResponseEntity.notFound().build();
+        }
+        Duration duration = durationSeconds != null ? Duration.ofSeconds(durationSeconds) : null;
+        return ResponseEntity.ok(flightRecorder.start(settings, duration));
+    }
+
+    @GetMapping("/jfr")
+    public ResponseEntity<List<Map<String, Object>>> listRecordings() {
+        if (!jfrEnabled) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(flightRecorder.list());
+    }
+
+    @GetMapping("/jfr/{id}")
+    public ResponseEntity<StreamingResponseBody> dumpRecording(@PathVariable long id) {
+        if (!jfrEnabled) {
+            return ResponseEntity.notFound().build();
+        }
+        return download(id, flightRecorder.dump(id));
+    }
+
+    @PostMapping("/jfr/{id}/stop")
+    public ResponseEntity<StreamingResponseBody> stopRecording(@PathVariable long id) {
+        if (!jfrEnabled) {
+            return ResponseEntity.notFound().build();
+        }
+        return download(id, flightRecorder.stop(id));
+    }
+
+    private ResponseEntity<StreamingResponseBody> download(long id, Path file) {
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"sqs-tools-" + id + ".jfr\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(body);
+    }
+}
@@ -1,7 +1,11 @@
 package com.sqstools.controller;
 
+import com.sqstools.aws.CallerIdentity;
+import com.sqstools.aws.CredentialContext;
 import com.sqstools.aws.CredentialsProvider;
 import com.sqstools.aws.SQSClientFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import software.amazon.awssdk.profiles.ProfileFile;
@@ -16,6 +20,8 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/config")
 public class ConfigController {
 
+    private static final Logger logger = LoggerFactory.getLogger(ConfigController.class);
+
     private final CredentialsProvider credentialsProvider;
     private final SQSClientFactory clientFactory;
 
@@ -32,11 +38,10 @@ public class ConfigController {
             List<String> profiles = profileFile.profiles().keySet().stream()
                     .sorted()
                     .collect(Collectors.toList());
-            System.out.println("Discovered AWS Profiles: " + profiles); // Added debug logging
+            logger.debug("Discovered AWS Profiles: {}", profiles);
             return ResponseEntity.ok(profiles);
         } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("Error discovering AWS profiles: " + e.getMessage()); // Added debug logging
+            logger.error("Error discovering AWS profiles: {}", e.getMessage(), e);
             return ResponseEntity.ok(Collections.emptyList());
         }
     }
@@ -60,9 +65,12 @@ public class ConfigController {
 
         if (isValid) {
             try {
-                // Use STS to get caller identity and verify credentials
-                Optional<String> accountId = credentialsProvider.getAccountId();
-                accountId.ifPresent(s -> response.put("accountId", s));
+                // Use STS to get caller identity and verify credentials (cached per credentials)
+                Optional<CallerIdentity> identity = credentialsProvider.getCallerIdentity(CredentialContext.ACTIVE);
+                identity.ifPresent(id -> {
+                    response.put("accountId", id.getAccount());
+                    response.put("arn", id.getArn());
+                });
                 response.put("method", credentialsProvider.getCredentialMethod());
             } catch (Exception e) {
                 // If STS call fails, credentials might still be valid for some operations,
@@ -0,0 +1,81 @@
+package com.sqstools.controller;
+
+import com.sqstools.aws.SqsFeature;
+import com.sqstools.model.MessagePage;
+import com.sqstools.model.QueueTarget;
+import com.sqstools.service.ConfigurationService;
+import com.sqstools.service.MessageBrowseService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Cursor-paginated browsing of a queue or its DLQ. Omit the cursor to start a
+ * session; pass {@code nextCursor} for the following pages and DELETE with any
+ * cursor of the session to release its messages.
+ */
+@RestController
+@RequestMapping("/api/queues/{queueId}")
+public class MessageBrowseController {
+
+    private final MessageBrowseService browseService;
+    private final ConfigurationService configService;
+
+    public MessageBrowseController(MessageBrowseService browseService, ConfigurationService configService) {
+        this.browseService = browseService;
+        this.configService = configService;
+    }
+
+    @SqsFeature("browse")
+    @GetMapping("/messages/browse")
+    public CompletableFuture<ResponseEntity<MessagePage>> browseMessages(
+            @PathVariable String queueId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "25") int size,
+            @RequestParam(required = false, defaultValue = "true") boolean formatted) {
+
+        QueueTarget target = resolve(queueId);
+        return browseService.browse(target.getQueueUrl(), target.getRegion(), false, cursor, size, formatted)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @SqsFeature("browse")
+    @DeleteMapping("/messages/browse")
+    public CompletableFuture<ResponseEntity<Void>> closeBrowse(@PathVariable String queueId, @RequestParam String cursor) {
+        return browseService.close(resolve(queueId).getQueueUrl(), cursor)
+                .thenApply(ignored -> ResponseEntity.noContent().<Void>build());
+    }
+
+    @SqsFeature("dlq-browse")
+    @GetMapping("/dlq/messages/browse")
+    public CompletableFuture<ResponseEntity<MessagePage>> browseDlqMessages(
+            @PathVariable String queueId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "25") int size,
+            @RequestParam(required = false, defaultValue = "true") boolean formatted) {
+
+        QueueTarget target = resolve(queueId);
+        return browseService.browse(dlqUrl(target), target.getRegion(), true, cursor, size, formatted)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @SqsFeature("dlq-browse")
+    @DeleteMapping("/dlq/messages/browse")
+    public CompletableFuture<ResponseEntity<Void>> closeDlqBrowse(@PathVariable String queueId, @RequestParam String cursor) {
+        return browseService.close(dlqUrl(resolve(queueId)), cursor)
+                .thenApply(ignored -> ResponseEntity.noContent().<Void>build());
+    }
+
+    private QueueTarget resolve(String queueId) {
+        return configService.resolveQueue(queueId)
+                .orElseThrow(() -> new RuntimeException("Queue not found"));
+    }
+
+    private String dlqUrl(QueueTarget target) {
+        if (target.getDlqUrl() == null) {
+            throw new RuntimeException("Queue does not have a DLQ configured");
+        }
+        return target.getDlqUrl();
+    }
+}
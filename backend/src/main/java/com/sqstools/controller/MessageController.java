@@ -1,82 +1,64 @@
 package com.sqstools.controller;
 
-import com.sqstools.model.QueueConfiguration;
+import com.sqstools.aws.SqsFeature;
+import com.sqstools.aws.SqsFeatureHolder;
+import com.sqstools.model.QueueTarget;
+import com.sqstools.service.AsyncMessageService;
 import com.sqstools.service.ConfigurationService;
 import com.sqstools.service.MessageService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/queues/{queueId}/messages")
 public class MessageController {
 
     private final MessageService messageService;
+    private final AsyncMessageService asyncMessageService;
     private final ConfigurationService configService;
 
-    public MessageController(MessageService messageService, ConfigurationService configService) {
+    public MessageController(MessageService messageService,
+                             AsyncMessageService asyncMessageService,
+                             ConfigurationService configService) {
         this.messageService = messageService;
+        this.asyncMessageService = asyncMessageService;
         this.configService = configService;
     }
 
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> receiveMessages(
+    public CompletableFuture<ResponseEntity<List<Map<String, Object>>>> receiveMessages(
             @PathVariable String queueId,
             @RequestParam(required = false) Integer maxMessages,
             @RequestParam(required = false) Integer visibilityTimeout,
             @RequestParam(required = false) Integer waitTimeSeconds,
-            @RequestParam(required = false, defaultValue = "false") boolean peek) {
+            @RequestParam(required = false, defaultValue = "false") boolean peek,
+            @RequestParam(required = false, defaultValue = "true") boolean formatted) {
 
-        QueueConfiguration config = configService.loadQueue(queueId)
+        QueueTarget target = configService.resolveQueue(queueId)
                 .orElseThrow(() -> new RuntimeException("Queue not found"));
 
-        List<Message> messages = messageService.receiveMessages(
-                config.getQueueUrl(),
-                config.getRegion(),
-                maxMessages,
-                visibilityTimeout,
-                waitTimeSeconds,
-                peek);
-
-        List<Map<String, Object>> response = new ArrayList<>();
-        for (Message message : messages) {
-            Map<String, Object> messageMap = new HashMap<>();
-            messageMap.put("messageId", message.messageId());
-            messageMap.put("body", message.body());
-            messageMap.put("bodyFormatted", messageService.prettyPrintJson(message.body()));
-            messageMap.put("receiptHandle", message.receiptHandle());
-            messageMap.put("attributes", message.attributes());
-
-            // Convert MessageAttributeValue to simple map
-            Map<String, Map<String, String>> simpleAttributes = new HashMap<>();
-            if (message.messageAttributes() != null) {
-                for (Map.Entry<String, MessageAttributeValue> entry : message.messageAttributes().entrySet()) {
-                    Map<String, String> attrMap = new HashMap<>();
-                    attrMap.put("dataType", entry.getValue().dataType());
-                    attrMap.put("stringValue", entry.getValue().stringValue());
-                    if (entry.getValue().binaryValue() != null) {
-                        attrMap.put("binaryValue", entry.getValue().binaryValue().asUtf8String());
-                    }
-                    simpleAttributes.put(entry.getKey(), attrMap);
-                }
-            }
-            messageMap.put("messageAttributes", simpleAttributes);
-            messageMap.put("md5OfBody", message.md5OfBody());
-            response.add(messageMap);
-        }
-
-        return ResponseEntity.ok(response);
+        // Peek costs 1 + N requests, so it is accounted separately from plain receives
+        return SqsFeatureHolder.call(peek ? "peek" : "receive", () -> asyncMessageService.receiveMessages(
+                        target.getQueueUrl(),
+                        target.getRegion(),
+                        maxMessages,
+                        visibilityTimeout,
+                        waitTimeSeconds,
+                        peek))
+                .thenApply(messages -> ResponseEntity.ok(messageService.toResponse(messages, formatted)));
     }
 
+    @SqsFeature("send")
     @PostMapping
-    public ResponseEntity<Map<String, Object>> sendMessage(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> sendMessage(
             @PathVariable String queueId,
             @RequestBody SendMessageRequest request) {
 
-        QueueConfiguration config = configService.loadQueue(queueId)
+        QueueTarget target = configService.resolveQueue(queueId)
                 .orElseThrow(() -> new RuntimeException("Queue not found"));
 
         // Convert DTO to AWS SDK MessageAttributeValue
@@ -99,49 +81,52 @@ public class MessageController {
             }
         }
 
-        String messageId = messageService.sendMessage(
-                config.getQueueUrl(),
-                config.getRegion(),
-                request.getBody(),
-                awsAttributes,
-                request.getDelaySeconds());
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("messageId", messageId);
-        response.put("success", true);
-        return ResponseEntity.ok(response);
+        return asyncMessageService.sendMessage(
+                        target.getQueueUrl(),
+                        target.getRegion(),
+                        request.getBody(),
+                        awsAttributes,
+                        request.getDelaySeconds())
+                .thenApply(messageId -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("messageId", messageId);
+                    response.put("success", true);
+                    return ResponseEntity.ok(response);
+                });
     }
 
+    @SqsFeature("delete")
     @DeleteMapping
-    public ResponseEntity<Map<String, Object>> deleteMessage(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> deleteMessage(
             @PathVariable String queueId,
             @RequestParam String receiptHandle) {
 
-        QueueConfiguration config = configService.loadQueue(queueId)
+        QueueTarget target = configService.resolveQueue(queueId)
                 .orElseThrow(() -> new RuntimeException("Queue not found"));
 
-        messageService.deleteMessage(config.getQueueUrl(), config.getRegion(), receiptHandle);
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        return ResponseEntity.ok(response);
+        return asyncMessageService.deleteMessage(target.getQueueUrl(), target.getRegion(), receiptHandle)
+                .thenApply(ignored -> success());
     }
 
+    @SqsFeature("visibility")
     @PatchMapping("/visibility")
-    public ResponseEntity<Map<String, Object>> changeVisibility(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> changeVisibility(
             @PathVariable String queueId,
             @RequestParam String receiptHandle,
             @RequestBody ChangeVisibilityRequest request) {
 
-        QueueConfiguration config = configService.loadQueue(queueId)
+        QueueTarget target = configService.resolveQueue(queueId)
                 .orElseThrow(() -> new RuntimeException("Queue not found"));
 
-        messageService.changeMessageVisibility(
-                config.getQueueUrl(),
-                config.getRegion(),
-                receiptHandle,
-                request.getVisibilityTimeout());
+        return asyncMessageService.changeMessageVisibility(
+                        target.getQueueUrl(),
+                        target.getRegion(),
+                        receiptHandle,
+                        request.getVisibilityTimeout())
+                .thenApply(ignored -> success());
+    }
 
+    private ResponseEntity<Map<String, Object>> success() {
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         return ResponseEntity.ok(response);
@@ -1,39 +1,77 @@
 package com.sqstools.controller;
 
+import com.sqstools.aws.CredentialContext;
+import com.sqstools.aws.CredentialContextHolder;
+import com.sqstools.aws.SqsFeature;
 import com.sqstools.model.QueueConfiguration;
+import com.sqstools.model.QueuePage;
+import com.sqstools.model.QueueQuery;
+import com.sqstools.model.QueueTarget;
+import com.sqstools.service.AsyncMessageService;
 import com.sqstools.service.ConfigurationService;
+import com.sqstools.service.DlqTopologyService;
 import com.sqstools.service.MessageService;
+import com.sqstools.service.QueueQueryService;
 import com.sqstools.service.QueueService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/queues")
 public class QueueController {
 
+    private static final Logger logger = LoggerFactory.getLogger(QueueController.class);
+
+    // The ETag only tracks the data; JSON, CBOR and Smile (gzipped or not) share
+    // it, so caches have to key on the negotiated representation as well
+    private static final String[] VARY = {HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING};
+
     private final QueueService queueService;
     private final ConfigurationService configService;
     private final MessageService messageService;
+    private final AsyncMessageService asyncMessageService;
+    private final QueueQueryService queueQueryService;
+    private final DlqTopologyService topologyService;
 
     public QueueController(QueueService queueService, 
                           ConfigurationService configService,
-                          MessageService messageService) {
+                          MessageService messageService,
+                          AsyncMessageService asyncMessageService,
+                          QueueQueryService queueQueryService,
+                          DlqTopologyService topologyService) {
         this.queueService = queueService;
         this.configService = configService;
         this.messageService = messageService;
+        this.asyncMessageService = asyncMessageService;
+        this.queueQueryService = queueQueryService;
+        this.topologyService = topologyService;
     }
 
+    @SqsFeature("add-queue")
     @PostMapping
     public ResponseEntity<QueueConfiguration> addQueue(@RequestBody AddQueueRequest request) {
+        CredentialContext credentials = CredentialContext.of(request.getProfile(), request.getRoleArn());
+        return CredentialContextHolder.call(credentials, () -> addQueue(request, credentials));
+    }
+
+    private ResponseEntity<QueueConfiguration> addQueue(AddQueueRequest request, CredentialContext credentials) {
         try {
             String queueUrl = queueService.resolveQueueUrl(request.getIdentifier(), request.getRegion());
             String queueName = queueService.extractQueueName(queueUrl);
-            System.out.println("Received add queue request for identifier: " + request.getIdentifier() + ", region: " + request.getRegion());
+            logger.debug("Received add queue request for identifier: {}, region: {}", request.getIdentifier(), request.getRegion());
             Map<String, String> attributes = queueService.getQueueAttributes(queueUrl, request.getRegion());
             
             // Extract DLQ if present
@@ -53,27 +91,65 @@ public class QueueController {
                     dlqName,
                     null
             );
+            config.setCredentialProfile(credentials.getProfile());
+            config.setRoleArn(credentials.getRoleArn());
             
             QueueConfiguration saved = configService.saveQueue(config);
-            System.out.println("Saved queue configuration: " + saved.getQueueName() + " (ID: " + saved.getId() + ")");
+            logger.info("Saved queue configuration: {} (ID: {})", saved.getQueueName(), saved.getId());
             return ResponseEntity.ok(saved);
         } catch (Exception e) {
             throw new RuntimeException("Failed to add queue: " + e.getMessage(), e);
         }
     }
 
+    // Polled by the dashboard: answers 304 from the version alone while nothing changed
     @GetMapping
-    public ResponseEntity<List<QueueConfiguration>> getAllQueues() {
-        return ResponseEntity.ok(configService.loadAllQueues());
+    public ResponseEntity<List<QueueConfiguration>> getAllQueues(WebRequest request) {
+        if (request.checkNotModified("queues-" + configService.queuesVersion())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(VARY).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(VARY)
+                .body(configService.loadAllQueues());
+    }
+
+    // Selected instead of getAllQueues() as soon as a page is requested
+    @GetMapping(params = "page")
+    public ResponseEntity<QueuePage> queryQueues(
+            @RequestParam int page,
+            @RequestParam(required = false, defaultValue = "50") int size,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String contains,
+            @RequestParam(required = false) List<String> region,
+            @RequestParam(required = false, defaultValue = "name") String sort,
+            @RequestParam(required = false, defaultValue = "asc") String direction,
+            @RequestParam(required = false) List<String> fields) {
+
+        QueueQuery query = new QueueQuery();
+        query.setPage(page);
+        query.setSize(size);
+        query.setPrefix(prefix);
+        query.setContains(contains);
+        query.setRegions(region);
+        query.setSort(sort);
+        query.setDirection(direction);
+        query.setFields(fields);
+        return ResponseEntity.ok(queueQueryService.query(query));
     }
 
     @GetMapping("/{queueId}")
-    public ResponseEntity<QueueConfiguration> getQueue(@PathVariable String queueId) {
+    public ResponseEntity<QueueConfiguration> getQueue(@PathVariable String queueId, WebRequest request) {
+        String version = configService.queueVersion(queueId).orElse(null);
+        if (version != null && request.checkNotModified("queue-" + version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(VARY).build();
+        }
         return configService.loadQueue(queueId)
-                .map(ResponseEntity::ok)
+                .map(queue -> ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(VARY).body(queue))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @SqsFeature("refresh")
     @PostMapping("/{queueId}/refresh")
     public ResponseEntity<QueueConfiguration> refreshQueue(@PathVariable String queueId) {
         QueueConfiguration config = configService.loadQueue(queueId)
@@ -101,9 +177,11 @@ public class QueueController {
                     dlqName,
                     config.getSavedAt()
             );
+            updatedConfig.setCredentialProfile(config.getCredentialProfile());
+            updatedConfig.setRoleArn(config.getRoleArn());
 
-            // Save updated configuration
-            QueueConfiguration saved = configService.saveQueue(updatedConfig);
+            // Overwrite the stored row; saveQueue() would return it unchanged
+            QueueConfiguration saved = configService.updateQueue(queueId, updatedConfig);
             return ResponseEntity.ok(saved);
         } catch (Exception e) {
             throw new RuntimeException("Failed to refresh queue: " + e.getMessage(), e);
@@ -112,82 +190,68 @@ public class QueueController {
 
     @DeleteMapping("/{queueId}")
     public ResponseEntity<Void> removeQueue(@PathVariable String queueId) {
+        Optional<QueueTarget> removed = configService.resolveQueue(queueId);
         configService.removeQueue(queueId);
+        removed.ifPresent(target -> topologyService.forget(target.getQueueUrl()));
         return ResponseEntity.noContent().build();
     }
 
+    @SqsFeature("purge")
     @PostMapping("/{queueId}/purge")
-    public ResponseEntity<Map<String, Object>> purgeQueue(@PathVariable String queueId) {
-        QueueConfiguration config = configService.loadQueue(queueId)
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> purgeQueue(@PathVariable String queueId) {
+        QueueTarget target = configService.resolveQueue(queueId)
                 .orElseThrow(() -> new RuntimeException("Queue not found"));
         
-        messageService.purgeQueue(config.getQueueUrl(), config.getRegion());
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Queue purged successfully");
-        return ResponseEntity.ok(response);
+        return asyncMessageService.purgeQueue(target.getQueueUrl(), target.getRegion())
+                .thenApply(ignored -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("message", "Queue purged successfully");
+                    return ResponseEntity.ok(response);
+                });
     }
 
+    @SqsFeature("dlq-browse")
     @GetMapping("/{queueId}/dlq/messages")
-    public ResponseEntity<List<Map<String, Object>>> receiveDlqMessages(
+    public CompletableFuture<ResponseEntity<List<Map<String, Object>>>> receiveDlqMessages(
             @PathVariable String queueId,
             @RequestParam(required = false) Integer maxMessages,
-            @RequestParam(required = false) Integer visibilityTimeout) {
+            @RequestParam(required = false) Integer visibilityTimeout,
+            @RequestParam(required = false, defaultValue = "true") boolean formatted) {
 
-        QueueConfiguration config = configService.loadQueue(queueId)
+        QueueTarget target = configService.resolveQueue(queueId)
                 .orElseThrow(() -> new RuntimeException("Queue not found"));
 
-        if (config.getDlqUrl() == null) {
+        if (target.getDlqUrl() == null) {
             throw new RuntimeException("Queue does not have a DLQ configured");
         }
 
-        List<software.amazon.awssdk.services.sqs.model.Message> messages = messageService.receiveMessages(
-                config.getDlqUrl(),
-                config.getRegion(),
-                maxMessages,
-                visibilityTimeout,
-                null
-        );
-
-        List<Map<String, Object>> response = new java.util.ArrayList<>();
-        for (software.amazon.awssdk.services.sqs.model.Message message : messages) {
-            Map<String, Object> messageMap = new HashMap<>();
-            messageMap.put("messageId", message.messageId());
-            messageMap.put("body", message.body());
-            messageMap.put("bodyFormatted", messageService.prettyPrintJson(message.body()));
-            messageMap.put("receiptHandle", message.receiptHandle());
-            messageMap.put("attributes", message.attributes());
-
-            // Convert MessageAttributeValue to simple map
-            Map<String, Map<String, String>> simpleAttributes = new HashMap<>();
-            if (message.messageAttributes() != null) {
-                for (Map.Entry<String, software.amazon.awssdk.services.sqs.model.MessageAttributeValue> entry : message.messageAttributes().entrySet()) {
-                    Map<String, String> attrMap = new HashMap<>();
-                    attrMap.put("dataType", entry.getValue().dataType());
-                    attrMap.put("stringValue", entry.getValue().stringValue());
-                    if (entry.getValue().binaryValue() != null) {
-                        attrMap.put("binaryValue", entry.getValue().binaryValue().asUtf8String());
-                    }
-                    simpleAttributes.put(entry.getKey(), attrMap);
-                }
-            }
-            messageMap.put("messageAttributes", simpleAttributes);
-            messageMap.put("md5OfBody", message.md5OfBody());
-            response.add(messageMap);
-        }
-
-        return ResponseEntity.ok(response);
+        return asyncMessageService.receiveMessages(
+                        target.getDlqUrl(),
+                        target.getRegion(),
+                        maxMessages,
+                        visibilityTimeout,
+                        null)
+                .thenApply(messages -> ResponseEntity.ok(messageService.toResponse(messages, formatted)));
     }
 
     public static class AddQueueRequest {
         private String identifier;
         private String region;
+        private String profile;
+        private String roleArn;
 
         public String getIdentifier() { return identifier; }
         public void setIdentifier(String identifier) { this.identifier = identifier; }
 
         public String getRegion() { return region; }
         public void setRegion(String region) { this.region = region; }
+
+        // Optional; without them the queue follows the active profile
+        public String getProfile() { return profile; }
+        public void setProfile(String profile) { this.profile = profile; }
+
+        public String getRoleArn() { return roleArn; }
+        public void setRoleArn(String roleArn) { this.roleArn = roleArn; }
     }
 }
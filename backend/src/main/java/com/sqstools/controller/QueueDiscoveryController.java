@@ -0,0 +1,47 @@
+package com.sqstools.controller;
+
+import com.sqstools.aws.SqsFeature;
+import com.sqstools.aws.CredentialContext;
+import com.sqstools.model.DiscoveryResult;
+import com.sqstools.service.QueueDiscoveryService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/queues/discover")
+public class QueueDiscoveryController {
+
+    private final QueueDiscoveryService discoveryService;
+
+    public QueueDiscoveryController(QueueDiscoveryService discoveryService) {
+        this.discoveryService = discoveryService;
+    }
+
+    @SqsFeature("discovery")
+    @PostMapping
+    public ResponseEntity<DiscoveryResult> discoverQueues(@RequestBody DiscoverQueuesRequest request) {
+        return ResponseEntity.ok(discoveryService.discover(request.getRegions(), request.getPrefix(),
+                CredentialContext.of(request.getProfile(), request.getRoleArn())));
+    }
+
+    public static class DiscoverQueuesRequest {
+        private List<String> regions;
+        private String prefix;
+        private String profile;
+        private String roleArn;
+
+        public List<String> getRegions() { return regions; }
+        public void setRegions(List<String> regions) { this.regions = regions; }
+
+        public String getPrefix() { return prefix; }
+        public void setPrefix(String prefix) { this.prefix = prefix; }
+
+        public String getProfile() { return profile; }
+        public void setProfile(String profile) { this.profile = profile; }
+
+        public String getRoleArn() { return roleArn; }
+        public void setRoleArn(String roleArn) { this.roleArn = roleArn; }
+    }
+}
@@ -0,0 +1,67 @@
+package com.sqstools.controller;
+
+import com.sqstools.model.DepthPoint;
+import com.sqstools.service.ConfigurationService;
+import com.sqstools.service.DepthTimeSeriesStore;
+import com.sqstools.service.DepthTimeSeriesStore.Resolution;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/queues/{queueId}/metrics")
+public class QueueMetricsController {
+
+    private final DepthTimeSeriesStore depthStore;
+    private final ConfigurationService configService;
+
+    public QueueMetricsController(DepthTimeSeriesStore depthStore, ConfigurationService configService) {
+        this.depthStore = depthStore;
+        this.configService = configService;
+    }
+
+    @GetMapping("/depth")
+    public ResponseEntity<Map<String, Object>> getDepthHistory(
+            @PathVariable String queueId,
+            @RequestParam(required = false, defaultValue = "1m") String resolution,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+
+        configService.resolveQueue(queueId)
+                .orElseThrow(() -> new RuntimeException("Queue not found"));
+
+        Resolution res = Resolution.fromLabel(resolution);
+        Instant end = to != null ? parseInstant(to, "to") : Instant.now();
+        // Default window is whatever the resolution can hold
+        Instant start = from != null
+                ? parseInstant(from, "from")
+                : end.minus(Duration.ofMillis(res.getWidthMillis() * res.getCapacity()));
+
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+
+        List<DepthPoint> points = depthStore.query(queueId, res, start.toEpochMilli(), end.toEpochMilli());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("queueId", queueId);
+        response.put("resolution", res.getLabel());
+        response.put("from", start.toString());
+        response.put("to", end.toString());
+        response.put("points", points);
+        return ResponseEntity.ok(response);
+    }
+
+    private Instant parseInstant(String value, String name) {
+        try {
+            return Instant.parse(value);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid '" + name + "' timestamp, expected ISO-8601: " + value);
+        }
+    }
+}
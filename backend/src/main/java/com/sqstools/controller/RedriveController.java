@@ -1,58 +1,61 @@
 package com.sqstools.controller;
 
-import com.sqstools.model.QueueConfiguration;
+import com.sqstools.aws.SqsFeature;
+import com.sqstools.model.QueueTarget;
 import com.sqstools.model.RedriveResult;
+import com.sqstools.service.AsyncRedriveService;
 import com.sqstools.service.ConfigurationService;
-import com.sqstools.service.RedriveService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/queues/{queueId}/redrive")
 public class RedriveController {
 
-    private final RedriveService redriveService;
+    private final AsyncRedriveService redriveService;
     private final ConfigurationService configService;
 
-    public RedriveController(RedriveService redriveService, ConfigurationService configService) {
+    public RedriveController(AsyncRedriveService redriveService, ConfigurationService configService) {
         this.redriveService = redriveService;
         this.configService = configService;
     }
 
+    @SqsFeature("redrive")
     @PostMapping
-    public ResponseEntity<RedriveResult> redriveMessages(
+    public CompletableFuture<ResponseEntity<RedriveResult>> redriveMessages(
             @PathVariable String queueId,
             @RequestBody RedriveRequest request) {
 
-        QueueConfiguration config = configService.loadQueue(queueId)
+        QueueTarget target = configService.resolveQueue(queueId)
                 .orElseThrow(() -> new RuntimeException("Queue not found"));
 
-        if (config.getDlqUrl() == null) {
+        if (target.getDlqUrl() == null) {
             throw new RuntimeException("Queue does not have a DLQ configured");
         }
 
-        RedriveResult result = redriveService.redriveMessages(
-                config.getDlqUrl(),
-                config.getQueueUrl(),
-                config.getRegion(),
-                request.getMaxMessages(),
-                request.isRedriveAll());
-
-        return ResponseEntity.ok(result);
+        return redriveService.redriveMessages(
+                        target.getDlqUrl(),
+                        target.getQueueUrl(),
+                        target.getRegion(),
+                        request.getMaxMessages(),
+                        request.isRedriveAll())
+                .thenApply(ResponseEntity::ok);
     }
 
+    @SqsFeature("redrive-selected")
     @PostMapping("/selective")
-    public ResponseEntity<RedriveResult> redriveSelectedMessages(
+    public CompletableFuture<ResponseEntity<RedriveResult>> redriveSelectedMessages(
             @PathVariable String queueId,
             @RequestBody SelectiveRedriveRequest request) {
 
-        QueueConfiguration config = configService.loadQueue(queueId)
+        QueueTarget target = configService.resolveQueue(queueId)
                 .orElseThrow(() -> new RuntimeException("Queue not found"));
 
-        if (config.getDlqUrl() == null) {
+        if (target.getDlqUrl() == null) {
             throw new RuntimeException("Queue does not have a DLQ configured");
         }
 
@@ -67,13 +70,12 @@ public class RedriveController {
             }
         }
 
-        RedriveResult result = redriveService.redriveSelectedMessages(
-                config.getDlqUrl(),
-                config.getQueueUrl(),
-                config.getRegion(),
-                request.getMessages());
-
-        return ResponseEntity.ok(result);
+        return redriveService.redriveSelectedMessages(
+                        target.getDlqUrl(),
+                        target.getQueueUrl(),
+                        target.getRegion(),
+                        request.getMessages())
+                .thenApply(ResponseEntity::ok);
     }
 
     public static class SelectiveRedriveRequest {
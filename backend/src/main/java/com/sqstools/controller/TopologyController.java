@@ -0,0 +1,33 @@
+package com.sqstools.controller;
+
+import com.sqstools.aws.SqsFeature;
+import com.sqstools.model.DlqTopology;
+import com.sqstools.service.DlqTopologyService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/topology")
+public class TopologyController {
+
+    private final DlqTopologyService topologyService;
+
+    public TopologyController(DlqTopologyService topologyService) {
+        this.topologyService = topologyService;
+    }
+
+    @SqsFeature("topology")
+    @GetMapping
+    public ResponseEntity<DlqTopology> getTopology(@RequestParam String region) {
+        return ResponseEntity.ok(topologyService.getTopology(region));
+    }
+
+    @SqsFeature("topology")
+    @PostMapping("/refresh")
+    public ResponseEntity<DlqTopology> refreshTopology(
+            @RequestParam String region,
+            @RequestParam(required = false) String queueUrl) {
+        topologyService.invalidate(queueUrl);
+        return ResponseEntity.ok(topologyService.getTopology(region));
+    }
+}
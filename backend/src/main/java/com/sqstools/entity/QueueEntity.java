@@ -1,11 +1,19 @@
 package com.sqstools.entity;
 
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
 import java.time.Instant;
 
 @Entity
-@Table(name = "queues")
-public class QueueEntity {
+@Table(name = "queues", indexes = {
+        @Index(name = "idx_queues_region", columnList = "region"),
+        @Index(name = "idx_queues_queue_name", columnList = "queueName"),
+        @Index(name = "idx_queues_depth", columnList = "approximateNumberOfMessages"),
+        @Index(name = "idx_queues_dlq_url", columnList = "dlqUrl"),
+        @Index(name = "idx_queues_dlq_depth", columnList = "dlqApproximateNumberOfMessages")
+})
+public class QueueEntity implements Persistable<String> {
 
     @Id
     private String id;
@@ -19,15 +27,49 @@ public class QueueEntity {
     @Column(nullable = false)
     private String region;
 
+    // Full attribute map as JSON. Loaded with the row (there is no bytecode
+    // enhancement for lazy columns), but only parsed when a caller asks for it
     @Column(nullable = false, columnDefinition = "TEXT")
     private String attributes;
 
+    // Frequently used attributes, kept in typed columns so they can be
+    // filtered and sorted in SQL without deserializing the JSON above
+    private Long approximateNumberOfMessages;
+    private Long approximateNumberOfMessagesNotVisible;
+    private Long approximateNumberOfMessagesDelayed;
+    private Integer visibilityTimeout;
+    private Integer messageRetentionPeriod;
+    private Boolean fifoQueue;
+
+    @Column(columnDefinition = "TEXT")
+    private String redrivePolicy;
+
+    // Set on queues configured as a DLQ (which sources may use it)
+    @Column(columnDefinition = "TEXT")
+    private String redriveAllowPolicy;
+
+    // Depth of this queue's DLQ, copied from the DLQ's own row when it is saved too
+    private Long dlqApproximateNumberOfMessages;
+
     private String dlqUrl;
     private String dlqName;
 
     @Column(nullable = false)
     private String savedAt;
 
+    // Epoch millis of the last insert or update; drives the ETags of the queue endpoints
+    private Long updatedAt;
+
+    // Credentials used for this queue; both null means the active profile
+    private String credentialProfile;
+    private String roleArn;
+
+    // Ids are assigned by us, so Spring Data cannot tell new rows from existing
+    // ones by id alone. Tracking it here lets saveAll() insert in JDBC batches
+    // instead of issuing a select-before-merge per row.
+    @Transient
+    private boolean isNew = true;
+
     public QueueEntity() {
     }
 
@@ -43,7 +85,15 @@ public class QueueEntity {
         this.savedAt = Instant.now().toString();
     }
 
+    @Override
+    public boolean isNew() { return isNew; }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+
     // Getters and setters
+    @Override
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
 
@@ -65,6 +115,42 @@ public class QueueEntity {
     public String getDlqName() { return dlqName; }
     public void setDlqName(String dlqName) { this.dlqName = dlqName; }
 
+    public Long getApproximateNumberOfMessages() { return approximateNumberOfMessages; }
+    public void setApproximateNumberOfMessages(Long approximateNumberOfMessages) { this.approximateNumberOfMessages = approximateNumberOfMessages; }
+
+    public Long getApproximateNumberOfMessagesNotVisible() { return approximateNumberOfMessagesNotVisible; }
+    public void setApproximateNumberOfMessagesNotVisible(Long approximateNumberOfMessagesNotVisible) { this.approximateNumberOfMessagesNotVisible = approximateNumberOfMessagesNotVisible; }
+
+    public Long getApproximateNumberOfMessagesDelayed() { return approximateNumberOfMessagesDelayed; }
+    public void setApproximateNumberOfMessagesDelayed(Long approximateNumberOfMessagesDelayed) { this.approximateNumberOfMessagesDelayed = approximateNumberOfMessagesDelayed; }
+
+    public Integer getVisibilityTimeout() { return visibilityTimeout; }
+    public void setVisibilityTimeout(Integer visibilityTimeout) { this.visibilityTimeout = visibilityTimeout; }
+
+    public Integer getMessageRetentionPeriod() { return messageRetentionPeriod; }
+    public void setMessageRetentionPeriod(Integer messageRetentionPeriod) { this.messageRetentionPeriod = messageRetentionPeriod; }
+
+    public Boolean getFifoQueue() { return fifoQueue; }
+    public void setFifoQueue(Boolean fifoQueue) { this.fifoQueue = fifoQueue; }
+
+    public String getRedrivePolicy() { return redrivePolicy; }
+    public void setRedrivePolicy(String redrivePolicy) { this.redrivePolicy = redrivePolicy; }
+
+    public String getRedriveAllowPolicy() { return redriveAllowPolicy; }
+    public void setRedriveAllowPolicy(String redriveAllowPolicy) { this.redriveAllowPolicy = redriveAllowPolicy; }
+
+    public Long getDlqApproximateNumberOfMessages() { return dlqApproximateNumberOfMessages; }
+    public void setDlqApproximateNumberOfMessages(Long dlqApproximateNumberOfMessages) { this.dlqApproximateNumberOfMessages = dlqApproximateNumberOfMessages; }
+
     public String getSavedAt() { return savedAt; }
     public void setSavedAt(String savedAt) { this.savedAt = savedAt; }
+
+    public Long getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Long updatedAt) { this.updatedAt = updatedAt; }
+
+    public String getCredentialProfile() { return credentialProfile; }
+    public void setCredentialProfile(String credentialProfile) { this.credentialProfile = credentialProfile; }
+
+    public String getRoleArn() { return roleArn; }
+    public void setRoleArn(String roleArn) { this.roleArn = roleArn; }
 }
@@ -0,0 +1,84 @@
+package com.sqstools.fake;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A message held by a {@link FakeSqsQueue}. Message attributes are kept in
+ * their wire form ({@code DataType} plus {@code StringValue} or a base64
+ * {@code BinaryValue}).
+ */
+final class FakeMessage {
+
+    final String messageId;
+    final String body;
+    final Map<String, Map<String, Object>> attributes;
+    final long sentAt;
+    final String groupId;
+    final String deduplicationId;
+    final String sequenceNumber;
+
+    long visibleAt;
+    int receiveCount;
+    long firstReceivedAt;
+    String receiptHandle;
+
+    FakeMessage(String messageId, String body, Map<String, Map<String, Object>> attributes, long sentAt,
+                long visibleAt, String groupId, String deduplicationId, String sequenceNumber) {
+        this.messageId = messageId;
+        this.body = body;
+        this.attributes = attributes;
+        this.sentAt = sentAt;
+        this.visibleAt = visibleAt;
+        this.groupId = groupId;
+        this.deduplicationId = deduplicationId;
+        this.sequenceNumber = sequenceNumber;
+    }
+
+    static String md5OfBody(String body) {
+        return HexFormat.of().formatHex(md5().digest(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * MD5 over the attributes as SQS computes it (names sorted, every field
+     * length-prefixed), which the SDK checks on send and receive.
+     */
+    static String md5OfAttributes(Map<String, Map<String, Object>> attributes) {
+        if (attributes == null || attributes.isEmpty()) {
+            return null;
+        }
+        MessageDigest digest = md5();
+        for (Map.Entry<String, Map<String, Object>> entry : new TreeMap<>(attributes).entrySet()) {
+            Map<String, Object> value = entry.getValue();
+            update(digest, entry.getKey().getBytes(StandardCharsets.UTF_8));
+            update(digest, String.valueOf(value.get("DataType")).getBytes(StandardCharsets.UTF_8));
+            if (value.get("StringValue") != null) {
+                digest.update((byte) 1);
+                update(digest, value.get("StringValue").toString().getBytes(StandardCharsets.UTF_8));
+            } else if (value.get("BinaryValue") != null) {
+                digest.update((byte) 2);
+                update(digest, Base64.getDecoder().decode(value.get("BinaryValue").toString()));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, byte[] bytes) {
+        digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.sqstools.fake;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Starts the {@link FakeSqsServer} inside the backend when
+ * {@code sqstools.fake-sqs.enabled=true} (see the {@code fake-sqs} profile),
+ * so the whole app runs without AWS access.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sqstools.fake-sqs.enabled", havingValue = "true")
+public class FakeSqsConfig {
+
+    @Bean(destroyMethod = "stop")
+    public FakeSqsServer fakeSqsServer(@Value("${sqstools.fake-sqs.port:4566}") int port,
+                                       @Value("${sqstools.fake-sqs.region:us-east-1}") String region) throws IOException {
+        FakeSqsServer server = new FakeSqsServer(port, region);
+        server.start();
+        return server;
+    }
+}
@@ -0,0 +1,45 @@
+package com.sqstools.fake;
+
+/**
+ * An SQS error as the fake server returns it: the JSON-protocol error type,
+ * the legacy query error code the SDK also reads, and the HTTP status.
+ */
+class FakeSqsException extends RuntimeException {
+
+    private final String type;
+    private final String queryCode;
+    private final int status;
+
+    FakeSqsException(String type, String queryCode, int status, String message) {
+        super(message);
+        this.type = type;
+        this.queryCode = queryCode;
+        this.status = status;
+    }
+
+    static FakeSqsException queueDoesNotExist(String queue) {
+        return new FakeSqsException("QueueDoesNotExist", "AWS.SimpleQueueService.NonExistentQueue", 400,
+                "The specified queue does not exist: " + queue);
+    }
+
+    static FakeSqsException receiptHandleIsInvalid(String receiptHandle) {
+        return new FakeSqsException("ReceiptHandleIsInvalid", "ReceiptHandleIsInvalid", 400,
+                "The input receipt handle is invalid: " + receiptHandle);
+    }
+
+    static FakeSqsException invalidParameter(String message) {
+        return new FakeSqsException("InvalidParameterValue", "InvalidParameterValue", 400, message);
+    }
+
+    String getType() {
+        return type;
+    }
+
+    String getQueryCode() {
+        return queryCode;
+    }
+
+    int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,323 @@
+package com.sqstools.fake;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One queue of the {@link FakeSqsServer}: delays, visibility timeouts, long
+ * polling, receive counts with redrive to a dead-letter queue, and FIFO
+ * message groups with deduplication.
+ * <p>
+ * Uses a lock rather than {@code synchronized}, so long polls waiting on
+ * virtual threads do not pin their carrier threads.
+ */
+final class FakeSqsQueue {
+
+    static final Map<String, String> DEFAULT_ATTRIBUTES = Map.of(
+            "VisibilityTimeout", "30",
+            "DelaySeconds", "0",
+            "ReceiveMessageWaitTimeSeconds", "0",
+            "MessageRetentionPeriod", "345600",
+            "MaximumMessageSize", "262144");
+
+    private static final long DEDUPLICATION_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    final String name;
+    final String url;
+    final String arn;
+    final boolean fifo;
+    final long createdAt = System.currentTimeMillis();
+
+    private final Map<String, String> attributes = new HashMap<>(DEFAULT_ATTRIBUTES);
+    private final List<FakeMessage> messages = new ArrayList<>();
+    private final Map<String, Long> deduplication = new HashMap<>();
+    private final Map<String, FakeMessage> deduplicated = new HashMap<>();
+    private final AtomicLong ids;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private volatile long lastModifiedAt = createdAt;
+
+    FakeSqsQueue(String name, String url, String arn, Map<String, String> attributes, AtomicLong ids) {
+        this.name = name;
+        this.url = url;
+        this.arn = arn;
+        this.fifo = name.endsWith(".fifo");
+        this.ids = ids;
+        setAttributes(attributes);
+        if (fifo) {
+            this.attributes.put("FifoQueue", "true");
+        }
+    }
+
+    void setAttributes(Map<String, String> values) {
+        lock.lock();
+        try {
+            if (values != null) {
+                attributes.putAll(values);
+            }
+            lastModifiedAt = System.currentTimeMillis();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    String attribute(String attributeName) {
+        lock.lock();
+        try {
+            return attributes.get(attributeName);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Map<String, String> attributes() {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            Map<String, String> result = new LinkedHashMap<>(attributes);
+            long visible = 0;
+            long inFlight = 0;
+            long delayed = 0;
+            for (FakeMessage message : messages) {
+                if (message.receiveCount == 0 && message.visibleAt > now) {
+                    delayed++;
+                } else if (message.visibleAt > now) {
+                    inFlight++;
+                } else {
+                    visible++;
+                }
+            }
+            result.put("ApproximateNumberOfMessages", String.valueOf(visible));
+            result.put("ApproximateNumberOfMessagesNotVisible", String.valueOf(inFlight));
+            result.put("ApproximateNumberOfMessagesDelayed", String.valueOf(delayed));
+            result.put("QueueArn", arn);
+            result.put("CreatedTimestamp", String.valueOf(createdAt / 1000));
+            result.put("LastModifiedTimestamp", String.valueOf(lastModifiedAt / 1000));
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    FakeMessage send(String body, Map<String, Map<String, Object>> messageAttributes, Integer delaySeconds,
+                     String groupId, String deduplicationId) {
+        int maxSize = Integer.parseInt(attribute("MaximumMessageSize"));
+        if (body == null || body.isEmpty()) {
+            throw FakeSqsException.invalidParameter("The request must contain the parameter MessageBody.");
+        }
+        // The limit is in bytes of the UTF-8 body, not in characters
+        if (body.getBytes(StandardCharsets.UTF_8).length > maxSize) {
+            throw FakeSqsException.invalidParameter("One or more parameters are invalid. Reason: Message must be shorter than "
+                    + maxSize + " bytes.");
+        }
+        if (fifo && groupId == null) {
+            throw new FakeSqsException("MissingParameter", "MissingParameter", 400,
+                    "The request must contain the parameter MessageGroupId.");
+        }
+        if (fifo && deduplicationId == null) {
+            if (!"true".equals(attribute("ContentBasedDeduplication"))) {
+                throw FakeSqsException.invalidParameter(
+                        "The queue should either have ContentBasedDeduplication enabled or MessageDeduplicationId provided explicitly");
+            }
+            deduplicationId = FakeMessage.md5OfBody(body);
+        }
+
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            if (fifo) {
+                deduplication.values().removeIf(expiresAt -> expiresAt <= now);
+                deduplicated.keySet().retainAll(deduplication.keySet());
+                FakeMessage duplicate = deduplicated.get(deduplicationId);
+                if (duplicate != null) {
+                    return duplicate;
+                }
+            }
+            int delay = delaySeconds != null ? delaySeconds : Integer.parseInt(attributes.get("DelaySeconds"));
+            long sequence = ids.incrementAndGet();
+            FakeMessage message = new FakeMessage(uuid(sequence), body, messageAttributes, now,
+                    now + TimeUnit.SECONDS.toMillis(delay), groupId, deduplicationId,
+                    fifo ? String.format("%020d", sequence) : null);
+            messages.add(message);
+            if (fifo) {
+                deduplication.put(deduplicationId, now + DEDUPLICATION_WINDOW_MILLIS);
+                deduplicated.put(deduplicationId, message);
+            }
+            changed.signalAll();
+            return message;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Receives up to {@code max} messages, waiting up to {@code waitMillis} for
+     * the first one. Messages that have reached the redrive policy's
+     * maxReceiveCount are moved to the dead-letter queue instead.
+     */
+    List<FakeMessage> receive(int max, Integer visibilityTimeout, long waitMillis,
+                              Function<String, FakeSqsQueue> queueByArn) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + waitMillis;
+        while (true) {
+            List<FakeMessage> received = new ArrayList<>();
+            List<FakeMessage> deadLetters = new ArrayList<>();
+            RedrivePolicy redrivePolicy = RedrivePolicy.parse(attribute("RedrivePolicy"));
+            FakeSqsQueue deadLetterQueue = redrivePolicy != null ? queueByArn.apply(redrivePolicy.targetArn) : null;
+
+            lock.lock();
+            try {
+                long now = System.currentTimeMillis();
+                int timeout = visibilityTimeout != null ? visibilityTimeout : Integer.parseInt(attributes.get("VisibilityTimeout"));
+                Set<String> busyGroups = fifo ? inFlightGroups(now) : Set.of();
+                Iterator<FakeMessage> it = messages.iterator();
+                while (it.hasNext() && received.size() < max) {
+                    FakeMessage message = it.next();
+                    if (message.visibleAt > now || (message.groupId != null && busyGroups.contains(message.groupId))) {
+                        continue;
+                    }
+                    if (deadLetterQueue != null && message.receiveCount >= redrivePolicy.maxReceiveCount) {
+                        it.remove();
+                        deadLetters.add(message);
+                        continue;
+                    }
+                    message.receiveCount++;
+                    if (message.firstReceivedAt == 0) {
+                        message.firstReceivedAt = now;
+                    }
+                    message.visibleAt = now + TimeUnit.SECONDS.toMillis(timeout);
+                    message.receiptHandle = "rh-" + ids.incrementAndGet() + "-" + message.messageId;
+                    received.add(message);
+                    if (message.groupId != null) {
+                        // One batch may take several messages of a group, but no other receiver may
+                        busyGroups = new HashSet<>(busyGroups);
+                        busyGroups.add(message.groupId);
+                    }
+                }
+
+                if (received.isEmpty() && deadLetters.isEmpty()) {
+                    long remaining = deadline - now;
+                    if (remaining <= 0) {
+                        return received;
+                    }
+                    // Wake up for new messages, or to re-check messages whose delay or visibility ran out
+                    changed.await(Math.min(remaining, 100), TimeUnit.MILLISECONDS);
+                    continue;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            // Moved outside this queue's lock, so two queues never lock each other
+            for (FakeMessage deadLetter : deadLetters) {
+                deadLetterQueue.moveIn(deadLetter);
+            }
+            if (!received.isEmpty() || System.currentTimeMillis() >= deadline) {
+                return received;
+            }
+        }
+    }
+
+    private Set<String> inFlightGroups(long now) {
+        Set<String> groups = new HashSet<>();
+        for (FakeMessage message : messages) {
+            if (message.groupId != null && message.receiveCount > 0 && message.visibleAt > now) {
+                groups.add(message.groupId);
+            }
+        }
+        return groups;
+    }
+
+    private void moveIn(FakeMessage message) {
+        lock.lock();
+        try {
+            message.visibleAt = System.currentTimeMillis();
+            message.receiveCount = 0;
+            message.receiptHandle = null;
+            messages.add(message);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void delete(String receiptHandle) {
+        lock.lock();
+        try {
+            if (!messages.removeIf(message -> receiptHandle != null && receiptHandle.equals(message.receiptHandle))) {
+                throw FakeSqsException.receiptHandleIsInvalid(receiptHandle);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void changeVisibility(String receiptHandle, int visibilityTimeout) {
+        if (visibilityTimeout < 0 || visibilityTimeout > 43200) {
+            throw FakeSqsException.invalidParameter("Value " + visibilityTimeout
+                    + " for parameter VisibilityTimeout is invalid. Reason: Must be between 0 and 43200.");
+        }
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            for (FakeMessage message : messages) {
+                if (receiptHandle != null && receiptHandle.equals(message.receiptHandle)) {
+                    if (message.visibleAt <= now) {
+                        throw new FakeSqsException("MessageNotInflight", "AWS.SimpleQueueService.MessageNotInflight",
+                                400, "Message does not exist or is not available for visibility timeout change.");
+                    }
+                    message.visibleAt = now + TimeUnit.SECONDS.toMillis(visibilityTimeout);
+                    changed.signalAll();
+                    return;
+                }
+            }
+            throw FakeSqsException.receiptHandleIsInvalid(receiptHandle);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void purge() {
+        lock.lock();
+        try {
+            messages.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String uuid(long sequence) {
+        return String.format("%08x-0000-4000-8000-%012x", (int) (sequence >>> 48), sequence & 0xFFFFFFFFFFFFL);
+    }
+
+    record RedrivePolicy(String targetArn, int maxReceiveCount) {
+        // {"deadLetterTargetArn":"arn:...","maxReceiveCount":"3"} - the count may be a string or a number
+        private static final Pattern TARGET = Pattern.compile("\"deadLetterTargetArn\"\\s*:\\s*\"([^\"]+)\"");
+        private static final Pattern COUNT = Pattern.compile("\"maxReceiveCount\"\\s*:\\s*\"?(\\d+)\"?");
+
+        static RedrivePolicy parse(String policy) {
+            if (policy == null || policy.isBlank()) {
+                return null;
+            }
+            Matcher target = TARGET.matcher(policy);
+            Matcher count = COUNT.matcher(policy);
+            if (!target.find() || !count.find()) {
+                throw FakeSqsException.invalidParameter("Invalid value for the parameter RedrivePolicy: " + policy);
+            }
+            return new RedrivePolicy(target.group(1), Integer.parseInt(count.group(1)));
+        }
+    }
+}
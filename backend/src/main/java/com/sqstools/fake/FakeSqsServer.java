@@ -0,0 +1,430 @@
+package com.sqstools.fake;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SQS-compatible HTTP endpoint for offline runs and load tests. Speaks the
+ * AWS JSON 1.0 protocol the SDK uses for SQS, and covers queue management,
+ * send/receive/delete (single and batch), visibility changes, purge, long
+ * polling and redrive policies. Requests are not authenticated.
+ * <p>
+ * Queues are looked up by the last segment of the queue URL, so URLs in the
+ * AWS form ({@code https://sqs.<region>.amazonaws.com/<account>/<name>}) work
+ * as well as the ones this server hands out.
+ */
+public class FakeSqsServer {
+
+    public static final String ACCOUNT_ID = "000000000000";
+
+    private static final Logger logger = LoggerFactory.getLogger(FakeSqsServer.class);
+    private static final String CONTENT_TYPE = "application/x-amz-json-1.0";
+    private static final int MAX_BATCH_ENTRIES = 10;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, FakeSqsQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final String region;
+    private final int requestedPort;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * @param port port to listen on, or 0 for any free port
+     */
+    public FakeSqsServer(int port, String region) {
+        this.requestedPort = port;
+        this.region = region;
+    }
+
+    public synchronized void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", requestedPort), 0);
+        // Long polls block their handler thread
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("Fake SQS listening on {}", getEndpoint());
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    public String getEndpoint() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public String createQueue(String name, Map<String, String> attributes) {
+        return queues.computeIfAbsent(name, key -> new FakeSqsQueue(key,
+                getEndpoint() + "/" + ACCOUNT_ID + "/" + key,
+                "arn:aws:sqs:" + region + ":" + ACCOUNT_ID + ":" + key,
+                attributes, ids)).url;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] response;
+            int status = 200;
+            try {
+                String target = exchange.getRequestHeaders().getFirst("X-Amz-Target");
+                if (!"POST".equals(exchange.getRequestMethod()) || target == null || !target.startsWith("AmazonSQS.")) {
+                    throw new FakeSqsException("UnknownOperationException", "InvalidAction", 400,
+                            "Only the AWS JSON protocol (X-Amz-Target: AmazonSQS.<Operation>) is supported");
+                }
+                byte[] body = exchange.getRequestBody().readAllBytes();
+                @SuppressWarnings("unchecked")
+                Map<String, Object> request = body.length == 0 ? Map.of() : objectMapper.readValue(body, Map.class);
+                response = objectMapper.writeValueAsBytes(dispatch(target.substring("AmazonSQS.".length()), request));
+            } catch (FakeSqsException e) {
+                status = e.getStatus();
+                exchange.getResponseHeaders().add("x-amzn-query-error", e.getQueryCode() + ";Sender");
+                response = objectMapper.writeValueAsBytes(Map.of(
+                        "__type", "com.amazonaws.sqs#" + e.getType(),
+                        "message", e.getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                status = 500;
+                logger.warn("Fake SQS request failed", e);
+                response = objectMapper.writeValueAsBytes(Map.of(
+                        "__type", "com.amazonaws.sqs#InternalError",
+                        "message", String.valueOf(e.getMessage())));
+            }
+            exchange.getResponseHeaders().add("Content-Type", CONTENT_TYPE);
+            exchange.getResponseHeaders().add("x-amzn-RequestId", "fake-" + ids.incrementAndGet());
+            exchange.sendResponseHeaders(status, response.length);
+            exchange.getResponseBody().write(response);
+        }
+    }
+
+    private Map<String, Object> dispatch(String operation, Map<String, Object> request) throws InterruptedException {
+        return switch (operation) {
+            case "CreateQueue" -> Map.of("QueueUrl", createQueue(string(request, "QueueName"), stringMap(request, "Attributes")));
+            case "GetQueueUrl" -> Map.of("QueueUrl", queueByName(string(request, "QueueName")).url);
+            case "ListQueues" -> listQueues(request);
+            case "DeleteQueue" -> {
+                queues.remove(queue(request).name);
+                yield Map.of();
+            }
+            case "GetQueueAttributes" -> Map.of("Attributes", filterAttributes(queue(request).attributes(), list(request, "AttributeNames")));
+            case "SetQueueAttributes" -> {
+                Map<String, String> attributes = stringMap(request, "Attributes");
+                FakeSqsQueue.RedrivePolicy.parse(attributes.get("RedrivePolicy"));
+                queue(request).setAttributes(attributes);
+                yield Map.of();
+            }
+            case "ListDeadLetterSourceQueues" -> listDeadLetterSourceQueues(queue(request));
+            case "SendMessage" -> sendResult(send(queue(request), request));
+            case "SendMessageBatch" -> sendMessageBatch(queue(request), request);
+            case "ReceiveMessage" -> receiveMessage(queue(request), request);
+            case "DeleteMessage" -> {
+                queue(request).delete(string(request, "ReceiptHandle"));
+                yield Map.of();
+            }
+            case "DeleteMessageBatch" -> batch(request, (queue, entry) -> queue.delete(string(entry, "ReceiptHandle")));
+            case "ChangeMessageVisibility" -> {
+                queue(request).changeVisibility(string(request, "ReceiptHandle"), integer(request, "VisibilityTimeout"));
+                yield Map.of();
+            }
+            case "ChangeMessageVisibilityBatch" -> batch(request, (queue, entry) ->
+                    queue.changeVisibility(string(entry, "ReceiptHandle"), integer(entry, "VisibilityTimeout")));
+            case "PurgeQueue" -> {
+                queue(request).purge();
+                yield Map.of();
+            }
+            default -> throw new FakeSqsException("UnknownOperationException", "InvalidAction", 400,
+                    "Operation not supported by the fake SQS server: " + operation);
+        };
+    }
+
+    private Map<String, Object> listQueues(Map<String, Object> request) {
+        String prefix = request.get("QueueNamePrefix") != null ? string(request, "QueueNamePrefix") : "";
+        int maxResults = request.get("MaxResults") != null ? integer(request, "MaxResults") : 1000;
+        int start = request.get("NextToken") != null ? Integer.parseInt(string(request, "NextToken")) : 0;
+        List<String> urls = queues.values().stream()
+                .filter(queue -> queue.name.startsWith(prefix))
+                .map(queue -> queue.url)
+                .sorted()
+                .toList();
+        return page("QueueUrls", urls, start, maxResults);
+    }
+
+    private Map<String, Object> listDeadLetterSourceQueues(FakeSqsQueue deadLetterQueue) {
+        List<String> sources = new ArrayList<>();
+        for (FakeSqsQueue queue : queues.values()) {
+            FakeSqsQueue.RedrivePolicy policy = FakeSqsQueue.RedrivePolicy.parse(queue.attribute("RedrivePolicy"));
+            if (policy != null && policy.targetArn().equals(deadLetterQueue.arn)) {
+                sources.add(queue.url);
+            }
+        }
+        sources.sort(null);
+        // The only SQS result member that starts in lower case
+        return page("queueUrls", sources, 0, Integer.MAX_VALUE);
+    }
+
+    private Map<String, Object> page(String member, List<String> items, int start, int maxResults) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        int end = Math.min(items.size(), start + maxResults);
+        result.put(member, items.subList(Math.min(start, end), end));
+        if (end < items.size()) {
+            result.put("NextToken", String.valueOf(end));
+        }
+        return result;
+    }
+
+    private FakeMessage send(FakeSqsQueue queue, Map<String, Object> entry) {
+        return queue.send(string(entry, "MessageBody"), messageAttributes(entry),
+                entry.get("DelaySeconds") != null ? integer(entry, "DelaySeconds") : null,
+                (String) entry.get("MessageGroupId"), (String) entry.get("MessageDeduplicationId"));
+    }
+
+    private Map<String, Object> sendResult(FakeMessage message) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("MessageId", message.messageId);
+        result.put("MD5OfMessageBody", FakeMessage.md5OfBody(message.body));
+        String attributesMd5 = FakeMessage.md5OfAttributes(message.attributes);
+        if (attributesMd5 != null) {
+            result.put("MD5OfMessageAttributes", attributesMd5);
+        }
+        if (message.sequenceNumber != null) {
+            result.put("SequenceNumber", message.sequenceNumber);
+        }
+        return result;
+    }
+
+    private Map<String, Object> sendMessageBatch(FakeSqsQueue queue, Map<String, Object> request) {
+        List<Map<String, Object>> entries = entries(request);
+        List<Map<String, Object>> successful = new ArrayList<>();
+        List<Map<String, Object>> failed = new ArrayList<>();
+        for (Map<String, Object> entry : entries) {
+            try {
+                Map<String, Object> result = sendResult(send(queue, entry));
+                result.put("Id", entry.get("Id"));
+                successful.add(result);
+            } catch (FakeSqsException e) {
+                failed.add(failure(entry, e));
+            }
+        }
+        return Map.of("Successful", successful, "Failed", failed);
+    }
+
+    private Map<String, Object> receiveMessage(FakeSqsQueue queue, Map<String, Object> request)
+            throws InterruptedException {
+        int max = request.get("MaxNumberOfMessages") != null ? integer(request, "MaxNumberOfMessages") : 1;
+        if (max < 1 || max > 10) {
+            throw FakeSqsException.invalidParameter("Value " + max
+                    + " for parameter MaxNumberOfMessages is invalid. Reason: Must be between 1 and 10.");
+        }
+        int waitSeconds = request.get("WaitTimeSeconds") != null
+                ? integer(request, "WaitTimeSeconds")
+                : Integer.parseInt(queue.attribute("ReceiveMessageWaitTimeSeconds"));
+        Integer visibilityTimeout = request.get("VisibilityTimeout") != null ? integer(request, "VisibilityTimeout") : null;
+
+        List<FakeMessage> received = queue.receive(max, visibilityTimeout, TimeUnit.SECONDS.toMillis(waitSeconds),
+                this::queueByArn);
+
+        Set<String> systemAttributeNames = new HashSet<>(list(request, "AttributeNames"));
+        systemAttributeNames.addAll(list(request, "MessageSystemAttributeNames"));
+        List<String> messageAttributeNames = list(request, "MessageAttributeNames");
+        List<Map<String, Object>> messages = new ArrayList<>();
+        for (FakeMessage message : received) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("MessageId", message.messageId);
+            result.put("ReceiptHandle", message.receiptHandle);
+            result.put("MD5OfBody", FakeMessage.md5OfBody(message.body));
+            result.put("Body", message.body);
+            Map<String, String> systemAttributes = systemAttributes(message, systemAttributeNames);
+            if (!systemAttributes.isEmpty()) {
+                result.put("Attributes", systemAttributes);
+            }
+            Map<String, Map<String, Object>> attributes = selectAttributes(message.attributes, messageAttributeNames);
+            if (!attributes.isEmpty()) {
+                result.put("MessageAttributes", attributes);
+                result.put("MD5OfMessageAttributes", FakeMessage.md5OfAttributes(attributes));
+            }
+            messages.add(result);
+        }
+        return Map.of("Messages", messages);
+    }
+
+    private Map<String, String> systemAttributes(FakeMessage message, Set<String> names) {
+        Map<String, String> all = new LinkedHashMap<>();
+        all.put("SenderId", ACCOUNT_ID);
+        all.put("SentTimestamp", String.valueOf(message.sentAt));
+        all.put("ApproximateReceiveCount", String.valueOf(message.receiveCount));
+        all.put("ApproximateFirstReceiveTimestamp", String.valueOf(message.firstReceivedAt));
+        if (message.groupId != null) {
+            all.put("MessageGroupId", message.groupId);
+            all.put("MessageDeduplicationId", message.deduplicationId);
+            all.put("SequenceNumber", message.sequenceNumber);
+        }
+        return filterAttributes(all, List.copyOf(names));
+    }
+
+    private Map<String, String> filterAttributes(Map<String, String> attributes, List<String> names) {
+        if (names.contains("All")) {
+            return attributes;
+        }
+        Map<String, String> result = new LinkedHashMap<>();
+        for (String name : names) {
+            if (attributes.containsKey(name)) {
+                result.put(name, attributes.get(name));
+            }
+        }
+        return result;
+    }
+
+    private Map<String, Map<String, Object>> selectAttributes(Map<String, Map<String, Object>> attributes,
+                                                              List<String> names) {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        if (attributes == null) {
+            return result;
+        }
+        for (Map.Entry<String, Map<String, Object>> entry : attributes.entrySet()) {
+            for (String name : names) {
+                boolean matches = name.equals("All") || name.equals(".*") || name.equals(entry.getKey())
+                        || (name.endsWith(".*") && entry.getKey().startsWith(name.substring(0, name.length() - 1)));
+                if (matches) {
+                    result.put(entry.getKey(), entry.getValue());
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private interface EntryAction {
+        void apply(FakeSqsQueue queue, Map<String, Object> entry);
+    }
+
+    private Map<String, Object> batch(Map<String, Object> request, EntryAction action) {
+        FakeSqsQueue queue = queue(request);
+        List<Map<String, Object>> successful = new ArrayList<>();
+        List<Map<String, Object>> failed = new ArrayList<>();
+        for (Map<String, Object> entry : entries(request)) {
+            try {
+                action.apply(queue, entry);
+                successful.add(Map.of("Id", entry.get("Id")));
+            } catch (FakeSqsException e) {
+                failed.add(failure(entry, e));
+            }
+        }
+        return Map.of("Successful", successful, "Failed", failed);
+    }
+
+    private Map<String, Object> failure(Map<String, Object> entry, FakeSqsException e) {
+        Map<String, Object> failure = new LinkedHashMap<>();
+        failure.put("Id", entry.get("Id"));
+        failure.put("SenderFault", e.getStatus() < 500);
+        failure.put("Code", e.getType());
+        failure.put("Message", e.getMessage());
+        return failure;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> entries(Map<String, Object> request) {
+        List<Map<String, Object>> entries = (List<Map<String, Object>>) request.get("Entries");
+        if (entries == null || entries.isEmpty()) {
+            throw new FakeSqsException("EmptyBatchRequest", "AWS.SimpleQueueService.EmptyBatchRequest", 400,
+                    "There should be at least one entry in the request.");
+        }
+        if (entries.size() > MAX_BATCH_ENTRIES) {
+            throw new FakeSqsException("TooManyEntriesInBatchRequest",
+                    "AWS.SimpleQueueService.TooManyEntriesInBatchRequest", 400,
+                    "Maximum number of entries per request are " + MAX_BATCH_ENTRIES + ".");
+        }
+        Set<Object> ids = new HashSet<>();
+        for (Map<String, Object> entry : entries) {
+            if (!ids.add(entry.get("Id"))) {
+                throw new FakeSqsException("BatchEntryIdsNotDistinct",
+                        "AWS.SimpleQueueService.BatchEntryIdsNotDistinct", 400,
+                        "Id " + entry.get("Id") + " repeated.");
+            }
+        }
+        return entries;
+    }
+
+    private FakeSqsQueue queue(Map<String, Object> request) {
+        String url = string(request, "QueueUrl");
+        return queueByName(url.substring(url.lastIndexOf('/') + 1));
+    }
+
+    private FakeSqsQueue queueByName(String name) {
+        FakeSqsQueue queue = queues.get(name);
+        if (queue == null) {
+            throw FakeSqsException.queueDoesNotExist(name);
+        }
+        return queue;
+    }
+
+    private FakeSqsQueue queueByArn(String arn) {
+        return queues.get(arn.substring(arn.lastIndexOf(':') + 1));
+    }
+
+    private static String string(Map<String, Object> request, String member) {
+        Object value = request.get(member);
+        if (value == null) {
+            throw new FakeSqsException("MissingParameter", "MissingParameter", 400,
+                    "The request must contain the parameter " + member + ".");
+        }
+        return value.toString();
+    }
+
+    private static int integer(Map<String, Object> request, String member) {
+        Object value = request.get(member);
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        try {
+            return Integer.parseInt(string(request, member));
+        } catch (NumberFormatException e) {
+            throw FakeSqsException.invalidParameter("Value " + value + " for parameter " + member + " is invalid.");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> list(Map<String, Object> request, String member) {
+        Object value = request.get(member);
+        return value instanceof List<?> list ? (List<String>) list : List.of();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> stringMap(Map<String, Object> request, String member) {
+        Object value = request.get(member);
+        if (!(value instanceof Map<?, ?> map)) {
+            return Map.of();
+        }
+        Map<String, String> result = new LinkedHashMap<>();
+        ((Map<String, Object>) map).forEach((key, item) -> result.put(key, String.valueOf(item)));
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, Object>> messageAttributes(Map<String, Object> entry) {
+        Object value = entry.get("MessageAttributes");
+        return value instanceof Map<?, ?> map ? (Map<String, Map<String, Object>>) map : null;
+    }
+}
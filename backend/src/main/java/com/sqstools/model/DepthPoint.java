@@ -0,0 +1,54 @@
+package com.sqstools.model;
+
+public class DepthPoint {
+    private String timestamp;
+    private int sampleCount;
+    private double avgMessages;
+    private long maxMessages;
+    private double avgInFlight;
+    private long maxInFlight;
+    private double avgDelayed;
+    private long maxDelayed;
+
+    public DepthPoint() {
+    }
+
+    public DepthPoint(String timestamp, int sampleCount,
+                      double avgMessages, long maxMessages,
+                      double avgInFlight, long maxInFlight,
+                      double avgDelayed, long maxDelayed) {
+        this.timestamp = timestamp;
+        this.sampleCount = sampleCount;
+        this.avgMessages = avgMessages;
+        this.maxMessages = maxMessages;
+        this.avgInFlight = avgInFlight;
+        this.maxInFlight = maxInFlight;
+        this.avgDelayed = avgDelayed;
+        this.maxDelayed = maxDelayed;
+    }
+
+    // Getters and setters
+    public String getTimestamp() { return timestamp; }
+    public void setTimestamp(String timestamp) { this.timestamp = timestamp; }
+
+    public int getSampleCount() { return sampleCount; }
+    public void setSampleCount(int sampleCount) { this.sampleCount = sampleCount; }
+
+    public double getAvgMessages() { return avgMessages; }
+    public void setAvgMessages(double avgMessages) { this.avgMessages = avgMessages; }
+
+    public long getMaxMessages() { return maxMessages; }
+    public void setMaxMessages(long maxMessages) { this.maxMessages = maxMessages; }
+
+    public double getAvgInFlight() { return avgInFlight; }
+    public void setAvgInFlight(double avgInFlight) { this.avgInFlight = avgInFlight; }
+
+    public long getMaxInFlight() { return maxInFlight; }
+    public void setMaxInFlight(long maxInFlight) { this.maxInFlight = maxInFlight; }
+
+    public double getAvgDelayed() { return avgDelayed; }
+    public void setAvgDelayed(double avgDelayed) { this.avgDelayed = avgDelayed; }
+
+    public long getMaxDelayed() { return maxDelayed; }
+    public void setMaxDelayed(long maxDelayed) { this.maxDelayed = maxDelayed; }
+}
@@ -0,0 +1,108 @@
+package com.sqstools.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DiscoveryResult {
+    private List<String> regions;
+    private int discoveredCount;
+    private int addedCount;
+    private int skippedCount;
+    private int failedCount;
+    private long durationMs;
+    private List<DiscoveryError> errors;
+
+    public DiscoveryResult() {
+        this.regions = new ArrayList<>();
+        this.errors = new ArrayList<>();
+    }
+
+    public List<String> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(List<String> regions) {
+        this.regions = regions;
+    }
+
+    public int getDiscoveredCount() {
+        return discoveredCount;
+    }
+
+    public void setDiscoveredCount(int discoveredCount) {
+        this.discoveredCount = discoveredCount;
+    }
+
+    public int getAddedCount() {
+        return addedCount;
+    }
+
+    public void setAddedCount(int addedCount) {
+        this.addedCount = addedCount;
+    }
+
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    public void setSkippedCount(int skippedCount) {
+        this.skippedCount = skippedCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(int failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public List<DiscoveryError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<DiscoveryError> errors) {
+        this.errors = errors;
+    }
+
+    public void addError(String target, String error) {
+        this.errors.add(new DiscoveryError(target, error));
+    }
+
+    public static class DiscoveryError {
+        private String target;
+        private String error;
+
+        public DiscoveryError() {
+        }
+
+        public DiscoveryError(String target, String error) {
+            this.target = target;
+            this.error = error;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        public void setTarget(String target) {
+            this.target = target;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.sqstools.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class DlqTopology {
+    private String region;
+    private String generatedAt;
+    private List<Node> nodes;
+    private List<Edge> edges;
+    private List<DlqSummary> dlqs;
+    private Map<String, Long> backlogBySource;
+    private List<String> errors;
+
+    public DlqTopology() {
+        this.nodes = new ArrayList<>();
+        this.edges = new ArrayList<>();
+        this.dlqs = new ArrayList<>();
+        this.errors = new ArrayList<>();
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public String getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(String generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<Node> nodes) {
+        this.nodes = nodes;
+    }
+
+    public List<Edge> getEdges() {
+        return edges;
+    }
+
+    public void setEdges(List<Edge> edges) {
+        this.edges = edges;
+    }
+
+    public List<DlqSummary> getDlqs() {
+        return dlqs;
+    }
+
+    public void setDlqs(List<DlqSummary> dlqs) {
+        this.dlqs = dlqs;
+    }
+
+    public Map<String, Long> getBacklogBySource() {
+        return backlogBySource;
+    }
+
+    public void setBacklogBySource(Map<String, Long> backlogBySource) {
+        this.backlogBySource = backlogBySource;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    public static class Node {
+        private String queueUrl;
+        private String queueName;
+        private String queueId;
+        private boolean dlq;
+
+        public Node() {
+        }
+
+        public Node(String queueUrl, String queueName, String queueId, boolean dlq) {
+            this.queueUrl = queueUrl;
+            this.queueName = queueName;
+            this.queueId = queueId;
+            this.dlq = dlq;
+        }
+
+        public String getQueueUrl() {
+            return queueUrl;
+        }
+
+        public void setQueueUrl(String queueUrl) {
+            this.queueUrl = queueUrl;
+        }
+
+        public String getQueueName() {
+            return queueName;
+        }
+
+        public void setQueueName(String queueName) {
+            this.queueName = queueName;
+        }
+
+        // Saved queue id, or null when the queue is only known from SQS
+        public String getQueueId() {
+            return queueId;
+        }
+
+        public void setQueueId(String queueId) {
+            this.queueId = queueId;
+        }
+
+        public boolean isDlq() {
+            return dlq;
+        }
+
+        public void setDlq(boolean dlq) {
+            this.dlq = dlq;
+        }
+    }
+
+    public static class Edge {
+        private String source;
+        private String target;
+
+        public Edge() {
+        }
+
+        public Edge(String source, String target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public void setSource(String source) {
+            this.source = source;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        public void setTarget(String target) {
+            this.target = target;
+        }
+    }
+
+    public static class DlqSummary {
+        private String dlqUrl;
+        private String dlqName;
+        private Long depth;
+        private List<String> sources;
+
+        public DlqSummary() {
+        }
+
+        public DlqSummary(String dlqUrl, String dlqName, Long depth, List<String> sources) {
+            this.dlqUrl = dlqUrl;
+            this.dlqName = dlqName;
+            this.depth = depth;
+            this.sources = sources;
+        }
+
+        public String getDlqUrl() {
+            return dlqUrl;
+        }
+
+        public void setDlqUrl(String dlqUrl) {
+            this.dlqUrl = dlqUrl;
+        }
+
+        public String getDlqName() {
+            return dlqName;
+        }
+
+        public void setDlqName(String dlqName) {
+            this.dlqName = dlqName;
+        }
+
+        public Long getDepth() {
+            return depth;
+        }
+
+        public void setDepth(Long depth) {
+            this.depth = depth;
+        }
+
+        public List<String> getSources() {
+            return sources;
+        }
+
+        public void setSources(List<String> sources) {
+            this.sources = sources;
+        }
+    }
+}
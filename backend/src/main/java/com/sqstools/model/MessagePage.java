@@ -0,0 +1,47 @@
+package com.sqstools.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a message browse session. {@code cursor} addresses this page and
+ * {@code nextCursor} the next one; it is null once the queue has been drained
+ * and every buffered message has been served.
+ */
+public class MessagePage {
+    private List<Map<String, Object>> messages;
+    private String cursor;
+    private String nextCursor;
+    private int buffered;
+    private boolean complete;
+
+    public MessagePage() {
+    }
+
+    public MessagePage(List<Map<String, Object>> messages, String cursor, String nextCursor,
+                       int buffered, boolean complete) {
+        this.messages = messages;
+        this.cursor = cursor;
+        this.nextCursor = nextCursor;
+        this.buffered = buffered;
+        this.complete = complete;
+    }
+
+    // Getters and setters
+    public List<Map<String, Object>> getMessages() { return messages; }
+    public void setMessages(List<Map<String, Object>> messages) { this.messages = messages; }
+
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    // Messages held by the session so far
+    public int getBuffered() { return buffered; }
+    public void setBuffered(int buffered) { this.buffered = buffered; }
+
+    // True once the queue returned no more messages (or the session limit was reached)
+    public boolean isComplete() { return complete; }
+    public void setComplete(boolean complete) { this.complete = complete; }
+}
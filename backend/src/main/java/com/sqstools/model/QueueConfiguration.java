@@ -1,6 +1,7 @@
 package com.sqstools.model;
 
 import java.util.Map;
+import java.util.function.Supplier;
 
 public class QueueConfiguration {
     private String id;
@@ -11,6 +12,14 @@ public class QueueConfiguration {
     private String dlqUrl;
     private String dlqName;
     private String savedAt;
+    private String credentialProfile;
+    private String roleArn;
+    // Copies of the typed columns, readable without parsing the attribute map
+    private String redrivePolicy;
+    private String redriveAllowPolicy;
+
+    // Set when the attribute map has not been parsed yet; resolved on first access
+    private transient Supplier<Map<String, Object>> attributesLoader;
 
     public QueueConfiguration() {
     }
@@ -40,8 +49,25 @@ public class QueueConfiguration {
     public String getRegion() { return region; }
     public void setRegion(String region) { this.region = region; }
 
-    public Map<String, Object> getAttributes() { return attributes; }
-    public void setAttributes(Map<String, Object> attributes) { this.attributes = attributes; }
+    public Map<String, Object> getAttributes() {
+        if (attributesLoader != null) {
+            attributes = attributesLoader.get();
+            attributesLoader = null;
+        }
+        return attributes;
+    }
+    public void setAttributes(Map<String, Object> attributes) {
+        this.attributes = attributes;
+        this.attributesLoader = null;
+    }
+
+    /**
+     * Defers building the attribute map until {@link #getAttributes()} is first called.
+     */
+    public void deferAttributes(Supplier<Map<String, Object>> loader) {
+        this.attributes = null;
+        this.attributesLoader = loader;
+    }
 
     public String getDlqUrl() { return dlqUrl; }
     public void setDlqUrl(String dlqUrl) { this.dlqUrl = dlqUrl; }
@@ -51,4 +77,16 @@ public class QueueConfiguration {
 
     public String getSavedAt() { return savedAt; }
     public void setSavedAt(String savedAt) { this.savedAt = savedAt; }
+
+    public String getCredentialProfile() { return credentialProfile; }
+    public void setCredentialProfile(String credentialProfile) { this.credentialProfile = credentialProfile; }
+
+    public String getRoleArn() { return roleArn; }
+    public void setRoleArn(String roleArn) { this.roleArn = roleArn; }
+
+    public String getRedrivePolicy() { return redrivePolicy; }
+    public void setRedrivePolicy(String redrivePolicy) { this.redrivePolicy = redrivePolicy; }
+
+    public String getRedriveAllowPolicy() { return redriveAllowPolicy; }
+    public void setRedriveAllowPolicy(String redriveAllowPolicy) { this.redriveAllowPolicy = redriveAllowPolicy; }
 }
@@ -0,0 +1,39 @@
+package com.sqstools.model;
+
+import java.util.List;
+import java.util.Map;
+
+public class QueuePage {
+    private List<Map<String, Object>> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+
+    public QueuePage() {
+    }
+
+    public QueuePage(List<Map<String, Object>> content, int page, int size, long totalElements, int totalPages) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+    }
+
+    // Getters and setters
+    public List<Map<String, Object>> getContent() { return content; }
+    public void setContent(List<Map<String, Object>> content) { this.content = content; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public long getTotalElements() { return totalElements; }
+    public void setTotalElements(long totalElements) { this.totalElements = totalElements; }
+
+    public int getTotalPages() { return totalPages; }
+    public void setTotalPages(int totalPages) { this.totalPages = totalPages; }
+}
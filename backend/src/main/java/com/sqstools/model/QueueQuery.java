@@ -0,0 +1,42 @@
+package com.sqstools.model;
+
+import java.util.List;
+
+/**
+ * Paging, filtering and projection options for listing saved queues.
+ */
+public class QueueQuery {
+    private int page = 0;
+    private int size = 50;
+    private String prefix;
+    private String contains;
+    private List<String> regions;
+    private String sort = "name";
+    private String direction = "asc";
+    private List<String> fields;
+
+    // Getters and setters
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public String getPrefix() { return prefix; }
+    public void setPrefix(String prefix) { this.prefix = prefix; }
+
+    public String getContains() { return contains; }
+    public void setContains(String contains) { this.contains = contains; }
+
+    public List<String> getRegions() { return regions; }
+    public void setRegions(List<String> regions) { this.regions = regions; }
+
+    public String getSort() { return sort; }
+    public void setSort(String sort) { this.sort = sort; }
+
+    public String getDirection() { return direction; }
+    public void setDirection(String direction) { this.direction = direction; }
+
+    public List<String> getFields() { return fields; }
+    public void setFields(List<String> fields) { this.fields = fields; }
+}
@@ -0,0 +1,38 @@
+package com.sqstools.model;
+
+import com.sqstools.aws.CredentialContext;
+
+/**
+ * Immutable subset of a saved queue that is needed to issue SQS calls.
+ */
+public final class QueueTarget {
+    private final String id;
+    private final String queueUrl;
+    private final String queueName;
+    private final String region;
+    private final String dlqUrl;
+    private final CredentialContext credentials;
+
+    public QueueTarget(String id, String queueUrl, String queueName, String region, String dlqUrl,
+                       CredentialContext credentials) {
+        this.id = id;
+        this.queueUrl = queueUrl;
+        this.queueName = queueName;
+        this.region = region;
+        this.dlqUrl = dlqUrl;
+        this.credentials = credentials;
+    }
+
+    public static QueueTarget of(QueueConfiguration config) {
+        return new QueueTarget(config.getId(), config.getQueueUrl(), config.getQueueName(),
+                config.getRegion(), config.getDlqUrl(),
+                CredentialContext.of(config.getCredentialProfile(), config.getRoleArn()));
+    }
+
+    public String getId() { return id; }
+    public String getQueueUrl() { return queueUrl; }
+    public String getQueueName() { return queueName; }
+    public String getRegion() { return region; }
+    public String getDlqUrl() { return dlqUrl; }
+    public CredentialContext getCredentials() { return credentials; }
+}
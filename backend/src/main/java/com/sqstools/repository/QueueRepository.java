@@ -2,11 +2,44 @@ package com.sqstools.repository;
 
 import com.sqstools.entity.QueueEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface QueueRepository extends JpaRepository<QueueEntity, String> {
+public interface QueueRepository extends JpaRepository<QueueEntity, String>, JpaSpecificationExecutor<QueueEntity> {
     Optional<QueueEntity> findByQueueUrl(String queueUrl);
+
+    @Query("select q.queueUrl from QueueEntity q")
+    List<String> findAllQueueUrls();
+
+    @Query("select q.queueUrl from QueueEntity q where q.id = :id")
+    Optional<String> findQueueUrlById(@Param("id") String id);
+
+    List<QueueEntity> findAllByOrderByApproximateNumberOfMessagesDesc();
+
+    List<QueueEntity> findByRegionOrderByApproximateNumberOfMessagesDesc(String region);
+
+    // Copies the depth of the given DLQs onto the rows of the queues that feed them
+    // (null once the DLQ is no longer saved); uses the dlqUrl index
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update QueueEntity q set q.dlqApproximateNumberOfMessages = "
+            + "(select d.approximateNumberOfMessages from QueueEntity d where d.queueUrl = q.dlqUrl) "
+            + "where q.dlqUrl in :dlqUrls")
+    int refreshDlqDepths(@Param("dlqUrls") Collection<String> dlqUrls);
+
+    @Query("select max(q.updatedAt) from QueueEntity q")
+    Long findMaxUpdatedAt();
+
+    // Rows saved before the typed attribute columns existed
+    List<QueueEntity> findByFifoQueueIsNull();
+
+    // Rows saved before the redriveAllowPolicy column existed
+    List<QueueEntity> findByRedriveAllowPolicyIsNullAndAttributesContaining(String text);
 }
@@ -0,0 +1,33 @@
+package com.sqstools.repository;
+
+import com.sqstools.entity.QueueEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * Filters for {@link QueueRepository#findAll(Specification, org.springframework.data.domain.Pageable)}.
+ */
+public final class QueueSpecifications {
+
+    private QueueSpecifications() {
+    }
+
+    public static Specification<QueueEntity> nameStartsWith(String prefix) {
+        // Prefix matches can use idx_queues_queue_name
+        return (root, query, cb) -> cb.like(root.get("queueName"), escapeLike(prefix) + "%", '\\');
+    }
+
+    public static Specification<QueueEntity> nameContains(String substring) {
+        return (root, query, cb) -> cb.like(
+                cb.lower(root.get("queueName")), "%" + escapeLike(substring.toLowerCase()) + "%", '\\');
+    }
+
+    public static Specification<QueueEntity> regionIn(Collection<String> regions) {
+        return (root, query, cb) -> root.get("region").in(regions);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,194 @@
+package com.sqstools.service;
+
+import com.sqstools.aws.CredentialContextHolder;
+import com.sqstools.aws.SQSClientFactory;
+import com.sqstools.aws.SqsHttpTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking counterpart of {@link MessageService}. A pending call holds a
+ * connection of the async pool but no thread, so long polls do not tie up
+ * request threads.
+ * <p>
+ * The client is resolved from the caller's credential context when the method
+ * is called, not when the future completes.
+ */
+@Service
+public class AsyncMessageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncMessageService.class);
+
+    private final SQSClientFactory clientFactory;
+
+    public AsyncMessageService(SQSClientFactory clientFactory) {
+        this.clientFactory = clientFactory;
+    }
+
+    public CompletableFuture<List<Message>> receiveMessages(String queueUrl, String region,
+            Integer maxMessages, Integer visibilityTimeout,
+            Integer waitTimeSeconds) {
+        return receiveMessages(queueUrl, region, maxMessages, visibilityTimeout, waitTimeSeconds, false);
+    }
+
+    public CompletableFuture<List<Message>> receiveMessages(String queueUrl, String region,
+            Integer maxMessages, Integer visibilityTimeout,
+            Integer waitTimeSeconds, boolean shouldResetVisibility) {
+        SqsAsyncClient client = clientFactory.getAsyncClient(region);
+
+        ReceiveMessageRequest.Builder requestBuilder = ReceiveMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .maxNumberOfMessages(maxMessages != null ? maxMessages : 10)
+                .attributeNamesWithStrings("All")
+                .messageAttributeNames("All");
+
+        if (visibilityTimeout != null) {
+            requestBuilder.visibilityTimeout(visibilityTimeout);
+        }
+
+        if (waitTimeSeconds != null) {
+            requestBuilder.waitTimeSeconds(waitTimeSeconds);
+            if (waitTimeSeconds > 0) {
+                requestBuilder.overrideConfiguration(o -> o
+                        .apiCallAttemptTimeout(SqsHttpTransport.longPollTimeout(waitTimeSeconds))
+                        .apiCallTimeout(SqsHttpTransport.longPollTimeout(waitTimeSeconds)));
+            }
+        }
+
+        CompletableFuture<List<Message>> messages = client.receiveMessage(requestBuilder.build())
+                .thenApply(ReceiveMessageResponse::messages);
+        if (!shouldResetVisibility) {
+            return messages;
+        }
+
+        // The resets are issued from an SDK thread; keep them on the caller's feature and trace
+        CredentialContextHolder.Captured caller = CredentialContextHolder.capture();
+        return messages.thenCompose(received -> {
+            List<CompletableFuture<Void>> resets = new ArrayList<>();
+            for (Message message : received) {
+                resets.add(caller.call(
+                                () -> changeMessageVisibility(client, queueUrl, message.receiptHandle(), 0))
+                        .exceptionally(e -> {
+                            // Log error but continue with other messages
+                            logger.warn("Failed to reset visibility for message {}: {}",
+                                    message.messageId(), unwrap(e).getMessage());
+                            return null;
+                        }));
+            }
+            return CompletableFuture.allOf(resets.toArray(new CompletableFuture[0]))
+                    .thenApply(ignored -> received);
+        });
+    }
+
+    public CompletableFuture<String> sendMessage(String queueUrl, String region, String body,
+            Map<String, MessageAttributeValue> attributes, Integer delaySeconds) {
+        SqsAsyncClient client = clientFactory.getAsyncClient(region);
+
+        SendMessageRequest.Builder requestBuilder = SendMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .messageBody(body);
+
+        if (attributes != null && !attributes.isEmpty()) {
+            requestBuilder.messageAttributes(attributes);
+        }
+
+        if (delaySeconds != null) {
+            requestBuilder.delaySeconds(delaySeconds);
+        }
+
+        return client.sendMessage(requestBuilder.build()).thenApply(SendMessageResponse::messageId);
+    }
+
+    public CompletableFuture<Void> deleteMessage(String queueUrl, String region, String receiptHandle) {
+        SqsAsyncClient client = clientFactory.getAsyncClient(region);
+        return client.deleteMessage(DeleteMessageRequest.builder()
+                        .queueUrl(queueUrl)
+                        .receiptHandle(receiptHandle)
+                        .build())
+                .thenApply(response -> null);
+    }
+
+    public CompletableFuture<Void> changeMessageVisibility(String queueUrl, String region,
+            String receiptHandle, Integer visibilityTimeout) {
+        if (visibilityTimeout < 0 || visibilityTimeout > 43200) {
+            throw new IllegalArgumentException("Visibility timeout must be between 0 and 43200 seconds");
+        }
+        return changeMessageVisibility(clientFactory.getAsyncClient(region), queueUrl, receiptHandle, visibilityTimeout);
+    }
+
+    private CompletableFuture<Void> changeMessageVisibility(SqsAsyncClient client, String queueUrl,
+            String receiptHandle, int visibilityTimeout) {
+        return client.changeMessageVisibility(ChangeMessageVisibilityRequest.builder()
+                        .queueUrl(queueUrl)
+                        .receiptHandle(receiptHandle)
+                        .visibilityTimeout(visibilityTimeout)
+                        .build())
+                .thenApply(response -> null);
+    }
+
+    /**
+     * Changes the visibility of many messages, 10 per ChangeMessageVisibilityBatch
+     * call, all sent at once. Completes with the receipt handles SQS rejected,
+     * e.g. for messages that were deleted or whose handle has lapsed.
+     */
+    public CompletableFuture<List<String>> changeMessageVisibilityBatch(String queueUrl, String region,
+            List<String> receiptHandles, int visibilityTimeout) {
+        if (visibilityTimeout < 0 || visibilityTimeout > 43200) {
+            throw new IllegalArgumentException("Visibility timeout must be between 0 and 43200 seconds");
+        }
+
+        SqsAsyncClient client = clientFactory.getAsyncClient(region);
+        List<CompletableFuture<List<String>>> batches = new ArrayList<>();
+        for (int start = 0; start < receiptHandles.size(); start += 10) {
+            List<String> chunk = receiptHandles.subList(start, Math.min(start + 10, receiptHandles.size()));
+            List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                        .id(String.valueOf(i))
+                        .receiptHandle(chunk.get(i))
+                        .visibilityTimeout(visibilityTimeout)
+                        .build());
+            }
+            batches.add(client.changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest.builder()
+                            .queueUrl(queueUrl)
+                            .entries(entries)
+                            .build())
+                    .thenApply(response -> response.failed().stream()
+                            .map(error -> chunk.get(Integer.parseInt(error.id())))
+                            .toList()));
+        }
+        return CompletableFuture.allOf(batches.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> batches.stream().flatMap(batch -> batch.join().stream()).toList());
+    }
+
+    public CompletableFuture<Void> purgeQueue(String queueUrl, String region) {
+        SqsAsyncClient client = clientFactory.getAsyncClient(region);
+        return client.purgeQueue(PurgeQueueRequest.builder()
+                        .queueUrl(queueUrl)
+                        .build())
+                .handle((response, e) -> {
+                    if (e == null) {
+                        return null;
+                    }
+                    Throwable cause = unwrap(e);
+                    if (cause instanceof PurgeQueueInProgressException) {
+                        throw new RuntimeException(
+                                "Queue was recently purged. AWS allows purge operations once every 60 seconds.", cause);
+                    }
+                    throw e instanceof CompletionException completion ? completion : new CompletionException(cause);
+                });
+    }
+
+    static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+}
@@ -0,0 +1,144 @@
+package com.sqstools.service;
+
+import com.sqstools.aws.CredentialContextHolder;
+import com.sqstools.controller.RedriveController.MessageDetails;
+import com.sqstools.model.RedriveResult;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking counterpart of {@link RedriveService}. Messages of a batch are
+ * moved concurrently; as before, a message is only deleted from the DLQ after
+ * it was sent to the main queue.
+ */
+@Service
+public class AsyncRedriveService {
+
+    private final AsyncMessageService messageService;
+
+    public AsyncRedriveService(AsyncMessageService messageService) {
+        this.messageService = messageService;
+    }
+
+    public CompletableFuture<RedriveResult> redriveMessages(String dlqUrl, String mainQueueUrl,
+            String region, Integer maxMessages, boolean redriveAll) {
+        int messagesToProcess = redriveAll ? Integer.MAX_VALUE : (maxMessages != null ? maxMessages : 1);
+        // Later batches are started from SDK threads, which do not carry the caller's context
+        CredentialContextHolder.Captured caller = CredentialContextHolder.capture();
+        return redriveBatches(dlqUrl, mainQueueUrl, region, messagesToProcess, new RedriveResult(), caller);
+    }
+
+    private CompletableFuture<RedriveResult> redriveBatches(String dlqUrl, String mainQueueUrl, String region,
+            int messagesToProcess, RedriveResult result, CredentialContextHolder.Captured caller) {
+        int remaining = messagesToProcess - result.getProcessedCount();
+        if (remaining <= 0) {
+            return CompletableFuture.completedFuture(result);
+        }
+
+        ProfilingEvents.RedriveBatch event = new ProfilingEvents.RedriveBatch();
+        event.begin();
+        return inContext(caller, () -> messageService.receiveMessages(
+                        dlqUrl, region, Math.min(10, remaining), null, 0))
+                .thenCompose(messages -> {
+                    if (messages.isEmpty()) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+
+                    List<CompletableFuture<Outcome>> moves = new ArrayList<>();
+                    for (Message message : messages) {
+                        if (event.isEnabled()) {
+                            event.payloadBytes += ProfilingEvents.utf8Bytes(message.body());
+                        }
+                        moves.add(move(dlqUrl, mainQueueUrl, region, message.messageId(), message.body(),
+                                message.messageAttributes(), message.receiptHandle(), caller));
+                    }
+                    return collect(moves, result, dlqUrl, event)
+                            .thenCompose(updated -> redriveBatches(dlqUrl, mainQueueUrl, region,
+                                    messagesToProcess, updated, caller));
+                });
+    }
+
+    public CompletableFuture<RedriveResult> redriveSelectedMessages(String dlqUrl, String mainQueueUrl,
+            String region, List<MessageDetails> messages) {
+        CredentialContextHolder.Captured caller = CredentialContextHolder.capture();
+
+        ProfilingEvents.RedriveBatch event = new ProfilingEvents.RedriveBatch();
+        event.begin();
+
+        // Use receipt handles from the request directly (no need to re-receive from DLQ)
+        List<CompletableFuture<Outcome>> moves = new ArrayList<>();
+        for (MessageDetails messageDetails : messages) {
+            if (event.isEnabled()) {
+                event.payloadBytes += ProfilingEvents.utf8Bytes(messageDetails.getBody());
+            }
+            moves.add(move(dlqUrl, mainQueueUrl, region, messageDetails.getMessageId(), messageDetails.getBody(),
+                    RedriveService.convertMessageAttributes(messageDetails.getMessageAttributes()),
+                    messageDetails.getReceiptHandle(), caller));
+        }
+        return collect(moves, new RedriveResult(), dlqUrl, event);
+    }
+
+    private CompletableFuture<Outcome> move(String dlqUrl, String mainQueueUrl, String region,
+            String messageId, String body, Map<String, MessageAttributeValue> attributes,
+            String receiptHandle, CredentialContextHolder.Captured caller) {
+        return inContext(caller, () -> messageService.sendMessage(mainQueueUrl, region, body, attributes, null))
+                // Delete from DLQ only if send succeeded
+                .thenCompose(sentId -> inContext(caller,
+                        () -> messageService.deleteMessage(dlqUrl, region, receiptHandle)))
+                .handle((ignored, e) -> e == null
+                        ? new Outcome(messageId, null)
+                        : new Outcome(messageId, AsyncMessageService.unwrap(e).getMessage()));
+    }
+
+    // Applies the outcomes in message order, so the result reads like the blocking variant's
+    private CompletableFuture<RedriveResult> collect(List<CompletableFuture<Outcome>> moves, RedriveResult result,
+            String dlqUrl, ProfilingEvents.RedriveBatch event) {
+        return CompletableFuture.allOf(moves.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    for (CompletableFuture<Outcome> move : moves) {
+                        Outcome outcome = move.join();
+                        result.setProcessedCount(result.getProcessedCount() + 1);
+                        if (outcome.error == null) {
+                            result.setSuccessCount(result.getSuccessCount() + 1);
+                            result.addSuccess(outcome.messageId);
+                            event.succeeded++;
+                        } else {
+                            result.setFailureCount(result.getFailureCount() + 1);
+                            result.addError(outcome.messageId, outcome.error);
+                            event.failed++;
+                        }
+                    }
+                    // Begun on the request thread, committed on the SDK thread that finished the batch
+                    event.queueUrl = dlqUrl;
+                    event.messages = moves.size();
+                    event.commit();
+                    return result;
+                });
+    }
+
+    private static <T> CompletableFuture<T> inContext(CredentialContextHolder.Captured caller,
+            Supplier<CompletableFuture<T>> call) {
+        try {
+            return caller.call(call);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static final class Outcome {
+        private final String messageId;
+        private final String error;
+
+        private Outcome(String messageId, String error) {
+            this.messageId = messageId;
+            this.error = error;
+        }
+    }
+}
@@ -5,24 +5,50 @@ import tools.jackson.databind.ObjectMapper;
 import com.sqstools.entity.QueueEntity;
 import com.sqstools.entity.PreferenceEntity;
 import com.sqstools.model.QueueConfiguration;
+import com.sqstools.model.QueueTarget;
 import com.sqstools.repository.QueueRepository;
 import com.sqstools.repository.PreferenceRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
 public class ConfigurationService {
 
+    private static final int DLQ_REFRESH_CHUNK = 500;
+
     private final QueueRepository queueRepository;
     private final PreferenceRepository preferenceRepository;
     private final ObjectMapper objectMapper;
 
+    // Read-through cache of saved queues, keyed by queue id. Entries are evicted
+    // on save, update and remove; the database stays the source of truth.
+    private final Map<String, CachedQueue> queueCache = new ConcurrentHashMap<>();
+
+    // Bumped by every eviction. A reader whose load overlapped an eviction may
+    // hold a row from before the write, so it does not keep it in the cache.
+    private final AtomicLong cacheGeneration = new AtomicLong();
+
+    // Last updatedAt handed out; kept strictly increasing so two writes in the
+    // same millisecond still get different versions
+    private final AtomicLong lastVersion = new AtomicLong();
+
     public ConfigurationService(QueueRepository queueRepository,
                                 PreferenceRepository preferenceRepository,
                                 ObjectMapper objectMapper) {
@@ -53,14 +79,66 @@ public class ConfigurationService {
                     config.getDlqUrl(),
                     config.getDlqName()
             );
+            entity.setCredentialProfile(config.getCredentialProfile());
+            entity.setRoleArn(config.getRoleArn());
+            entity.setUpdatedAt(nextVersion());
+            applyTypedAttributes(entity, config.getAttributes());
 
             QueueEntity saved = queueRepository.save(entity);
+            refreshDlqDepths(List.of(saved));
+            evict(saved.getId());
             return entityToModel(saved);
         } catch (JacksonException e) {
             throw new RuntimeException("Failed to serialize queue attributes", e);
         }
     }
 
+    /**
+     * Inserts many queues in one transaction, skipping URLs that are already
+     * saved. Returns the configurations that were actually inserted.
+     */
+    @Transactional
+    public List<QueueConfiguration> saveQueues(List<QueueConfiguration> configs) {
+        Set<String> existingUrls = new HashSet<>(queueRepository.findAllQueueUrls());
+        List<QueueEntity> entities = new ArrayList<>();
+
+        try {
+            for (QueueConfiguration config : configs) {
+                if (!existingUrls.add(config.getQueueUrl())) {
+                    continue;
+                }
+                String id = config.getId() != null ? config.getId() : UUID.randomUUID().toString();
+                QueueEntity entity = new QueueEntity(
+                        id,
+                        config.getQueueUrl(),
+                        config.getQueueName(),
+                        config.getRegion(),
+                        objectMapper.writeValueAsString(config.getAttributes()),
+                        config.getDlqUrl(),
+                        config.getDlqName()
+                );
+                entity.setCredentialProfile(config.getCredentialProfile());
+                entity.setRoleArn(config.getRoleArn());
+                entity.setUpdatedAt(nextVersion());
+                applyTypedAttributes(entity, config.getAttributes());
+                entities.add(entity);
+            }
+        } catch (JacksonException e) {
+            throw new RuntimeException("Failed to serialize queue attributes", e);
+        }
+
+        List<QueueEntity> saved = queueRepository.saveAll(entities);
+        refreshDlqDepths(saved);
+        saved.forEach(entity -> evict(entity.getId()));
+        return saved.stream()
+                .map(this::entityToModel)
+                .collect(Collectors.toList());
+    }
+
+    public Set<String> loadSavedQueueUrls() {
+        return new HashSet<>(queueRepository.findAllQueueUrls());
+    }
+
     public List<QueueConfiguration> loadAllQueues() {
         return queueRepository.findAll().stream()
                 .map(this::entityToModel)
@@ -68,13 +146,64 @@ public class ConfigurationService {
     }
 
     public Optional<QueueConfiguration> loadQueue(String id) {
-        return queueRepository.findById(id)
-                .map(this::entityToModel);
+        return loadCached(id).map(CachedQueue::toModel);
+    }
+
+    /**
+     * Resolves the URL, region and DLQ of a saved queue. Served from memory after
+     * the first lookup, without touching the database or parsing attributes.
+     */
+    public Optional<QueueTarget> resolveQueue(String id) {
+        return loadCached(id).map(cached -> cached.target);
+    }
+
+    /**
+     * Version of the whole saved-queue list, for the ETag of {@code GET /api/queues}.
+     * Inserts and updates raise the latest updatedAt and removals lower the count,
+     * so any change yields a new value without loading a single row.
+     */
+    @Transactional(readOnly = true)
+    public String queuesVersion() {
+        Long latest = queueRepository.findMaxUpdatedAt();
+        return queueRepository.count() + "-" + (latest != null ? latest : 0);
+    }
+
+    /**
+     * Version of one saved queue, for the ETag of {@code GET /api/queues/{id}}.
+     * Served from the cache like {@link #loadQueue(String)}.
+     */
+    public Optional<String> queueVersion(String id) {
+        return loadCached(id).map(cached -> cached.version);
+    }
+
+    /**
+     * Fills the typed attribute columns of rows saved before they existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillTypedAttributes() {
+        List<QueueEntity> pending = new ArrayList<>(queueRepository.findByFifoQueueIsNull());
+        // DLQs saved before the redriveAllowPolicy column existed
+        Set<String> pendingIds = pending.stream().map(QueueEntity::getId).collect(Collectors.toSet());
+        queueRepository.findByRedriveAllowPolicyIsNullAndAttributesContaining("RedriveAllowPolicy").stream()
+                .filter(entity -> pendingIds.add(entity.getId()))
+                .forEach(pending::add);
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (QueueEntity entity : pending) {
+            applyTypedAttributes(entity, parseAttributes(entity.getAttributes()));
+        }
+        queueRepository.saveAll(pending);
     }
 
     @Transactional
     public void removeQueue(String id) {
+        Optional<String> queueUrl = queueRepository.findQueueUrlById(id);
         queueRepository.deleteById(id);
+        // Sources of a removed DLQ no longer have a known DLQ depth
+        queueUrl.ifPresent(url -> queueRepository.refreshDlqDepths(List.of(url)));
+        evict(id);
     }
 
     @Transactional
@@ -88,11 +217,21 @@ public class ConfigurationService {
             if (config.getRegion() != null) entity.setRegion(config.getRegion());
             if (config.getAttributes() != null) {
                 entity.setAttributes(objectMapper.writeValueAsString(config.getAttributes()));
+                applyTypedAttributes(entity, config.getAttributes());
             }
             if (config.getDlqUrl() != null) entity.setDlqUrl(config.getDlqUrl());
             if (config.getDlqName() != null) entity.setDlqName(config.getDlqName());
-            
+            if (config.getCredentialProfile() != null) {
+                entity.setCredentialProfile(config.getCredentialProfile().isBlank() ? null : config.getCredentialProfile());
+            }
+            if (config.getRoleArn() != null) {
+                entity.setRoleArn(config.getRoleArn().isBlank() ? null : config.getRoleArn());
+            }
+            entity.setUpdatedAt(nextVersion());
+
             QueueEntity updated = queueRepository.save(entity);
+            refreshDlqDepths(List.of(updated));
+            evict(id);
             return entityToModel(updated);
         } catch (JacksonException e) {
             throw new RuntimeException("Failed to serialize queue attributes", e);
@@ -108,22 +247,176 @@ public class ConfigurationService {
                 .map(PreferenceEntity::getValue);
     }
 
-    @SuppressWarnings("unchecked")
+    // A written queue affects the rows that use it as their DLQ, and its own row
+    // through its DLQ. Chunked to stay below SQLite's bound-parameter limit.
+    private void refreshDlqDepths(List<QueueEntity> written) {
+        Set<String> dlqUrls = new LinkedHashSet<>();
+        for (QueueEntity entity : written) {
+            dlqUrls.add(entity.getQueueUrl());
+            if (entity.getDlqUrl() != null) {
+                dlqUrls.add(entity.getDlqUrl());
+            }
+        }
+        List<String> urls = new ArrayList<>(dlqUrls);
+        for (int from = 0; from < urls.size(); from += DLQ_REFRESH_CHUNK) {
+            queueRepository.refreshDlqDepths(urls.subList(from, Math.min(urls.size(), from + DLQ_REFRESH_CHUNK)));
+        }
+    }
+
+    private Optional<CachedQueue> loadCached(String id) {
+        CachedQueue cached = queueCache.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long generation = cacheGeneration.get();
+        Optional<CachedQueue> loaded = queueRepository.findById(id).map(this::toCachedQueue);
+        loaded.ifPresent(entry -> {
+            queueCache.put(id, entry);
+            // Checked after the put: an eviction either sees the entry and removes
+            // it, or bumps the generation first and the entry is removed here
+            if (cacheGeneration.get() != generation) {
+                queueCache.remove(id, entry);
+            }
+        });
+        return loaded;
+    }
+
+    private void evict(String id) {
+        cacheGeneration.incrementAndGet();
+        queueCache.remove(id);
+        // A concurrent reader may repopulate the cache from the pre-commit row,
+        // so evict once more when the surrounding transaction commits.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cacheGeneration.incrementAndGet();
+                    queueCache.remove(id);
+                }
+            });
+        }
+    }
+
+    private void applyTypedAttributes(QueueEntity entity, Map<String, Object> attributes) {
+        if (attributes == null) {
+            attributes = Map.of();
+        }
+        entity.setApproximateNumberOfMessages(toLong(attributes.get("ApproximateNumberOfMessages")));
+        entity.setApproximateNumberOfMessagesNotVisible(toLong(attributes.get("ApproximateNumberOfMessagesNotVisible")));
+        entity.setApproximateNumberOfMessagesDelayed(toLong(attributes.get("ApproximateNumberOfMessagesDelayed")));
+        Long visibilityTimeout = toLong(attributes.get("VisibilityTimeout"));
+        entity.setVisibilityTimeout(visibilityTimeout != null ? visibilityTimeout.intValue() : null);
+        Long retention = toLong(attributes.get("MessageRetentionPeriod"));
+        entity.setMessageRetentionPeriod(retention != null ? retention.intValue() : null);
+        entity.setFifoQueue(Boolean.parseBoolean(String.valueOf(attributes.get("FifoQueue"))));
+        Object redrivePolicy = attributes.get("RedrivePolicy");
+        entity.setRedrivePolicy(redrivePolicy != null ? redrivePolicy.toString() : null);
+        Object redriveAllowPolicy = attributes.get("RedriveAllowPolicy");
+        entity.setRedriveAllowPolicy(redriveAllowPolicy != null ? redriveAllowPolicy.toString() : null);
+    }
+
+    private Long toLong(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     private QueueConfiguration entityToModel(QueueEntity entity) {
+        QueueConfiguration config = new QueueConfiguration(
+                entity.getId(),
+                entity.getQueueUrl(),
+                entity.getQueueName(),
+                entity.getRegion(),
+                null,
+                entity.getDlqUrl(),
+                entity.getDlqName(),
+                entity.getSavedAt()
+        );
+        config.setCredentialProfile(entity.getCredentialProfile());
+        config.setRoleArn(entity.getRoleArn());
+        config.setRedrivePolicy(entity.getRedrivePolicy());
+        config.setRedriveAllowPolicy(entity.getRedriveAllowPolicy());
+        String attributesJson = entity.getAttributes();
+        config.deferAttributes(() -> parseAttributes(attributesJson));
+        return config;
+    }
+
+    private CachedQueue toCachedQueue(QueueEntity entity) {
+        // Rows written before updatedAt existed fall back to their save time
+        String version = entity.getUpdatedAt() != null ? entity.getUpdatedAt().toString() : entity.getSavedAt();
+        return new CachedQueue(entityToModel(entity), entity.getAttributes(), version);
+    }
+
+    private long nextVersion() {
+        long now = System.currentTimeMillis();
+        return lastVersion.updateAndGet(last -> Math.max(last + 1, now));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> parseAttributes(String attributesJson) {
         try {
-            Map<String, Object> attributes = objectMapper.readValue(entity.getAttributes(), Map.class);
-            return new QueueConfiguration(
-                    entity.getId(),
-                    entity.getQueueUrl(),
-                    entity.getQueueName(),
-                    entity.getRegion(),
-                    attributes,
-                    entity.getDlqUrl(),
-                    entity.getDlqName(),
-                    entity.getSavedAt()
-            );
+            return objectMapper.readValue(attributesJson, Map.class);
         } catch (JacksonException e) {
             throw new RuntimeException("Failed to deserialize queue attributes", e);
         }
     }
+
+    /**
+     * Cache entry. The attribute JSON is parsed at most once and only when a
+     * caller actually needs the map; every caller gets its own copy.
+     */
+    private final class CachedQueue {
+        private final QueueConfiguration snapshot;
+        private final QueueTarget target;
+        private final String attributesJson;
+        private final String version;
+        private volatile Map<String, Object> attributes;
+
+        private CachedQueue(QueueConfiguration snapshot, String attributesJson, String version) {
+            this.snapshot = snapshot;
+            this.target = QueueTarget.of(snapshot);
+            this.attributesJson = attributesJson;
+            this.version = version;
+        }
+
+        private Map<String, Object> attributes() {
+            Map<String, Object> parsed = attributes;
+            if (parsed == null) {
+                parsed = parseAttributes(attributesJson);
+                attributes = parsed;
+            }
+            return parsed;
+        }
+
+        private QueueConfiguration toModel() {
+            QueueConfiguration config = new QueueConfiguration(
+                    snapshot.getId(),
+                    snapshot.getQueueUrl(),
+                    snapshot.getQueueName(),
+                    snapshot.getRegion(),
+                    null,
+                    snapshot.getDlqUrl(),
+                    snapshot.getDlqName(),
+                    snapshot.getSavedAt()
+            );
+            config.setCredentialProfile(snapshot.getCredentialProfile());
+            config.setRoleArn(snapshot.getRoleArn());
+            config.setRedrivePolicy(snapshot.getRedrivePolicy());
+            config.setRedriveAllowPolicy(snapshot.getRedriveAllowPolicy());
+            // Callers may mutate the returned model, so never hand out the cached map
+            config.deferAttributes(() -> {
+                Map<String, Object> parsed = attributes();
+                return parsed != null ? new HashMap<>(parsed) : null;
+            });
+            return config;
+        }
+    }
 }
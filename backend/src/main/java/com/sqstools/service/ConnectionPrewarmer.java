@@ -0,0 +1,96 @@
+package com.sqstools.service;
+
+import com.sqstools.aws.CredentialContext;
+import com.sqstools.aws.CredentialContextHolder;
+import com.sqstools.aws.SqsFeatureHolder;
+import com.sqstools.config.TaskExecutors;
+import com.sqstools.model.QueueConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Opens connections to the SQS endpoints of the saved queues at startup, so
+ * the first page load does not pay for TLS handshakes and credential lookups.
+ * Runs in the background; failures are only logged.
+ */
+@Service
+public class ConnectionPrewarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPrewarmer.class);
+
+    private final ConfigurationService configService;
+    private final QueueService queueService;
+    private final TaskExecutors taskExecutors;
+    private final boolean enabled;
+    private final int connectionsPerEndpoint;
+
+    public ConnectionPrewarmer(ConfigurationService configService,
+                               QueueService queueService,
+                               TaskExecutors taskExecutors,
+                               @Value("${sqstools.http.prewarm.enabled:true}") boolean enabled,
+                               @Value("${sqstools.http.prewarm.connections-per-endpoint:4}") int connectionsPerEndpoint) {
+        this.configService = configService;
+        this.queueService = queueService;
+        this.taskExecutors = taskExecutors;
+        this.enabled = enabled;
+        this.connectionsPerEndpoint = connectionsPerEndpoint;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled || connectionsPerEndpoint < 1) {
+            return;
+        }
+        taskExecutors.startDaemon("sqs-prewarm", this::prewarm);
+    }
+
+    void prewarm() {
+        long started = System.currentTimeMillis();
+
+        // One group per pooled client: same credentials, same region
+        Map<String, List<QueueConfiguration>> groups = new LinkedHashMap<>();
+        for (QueueConfiguration queue : configService.loadAllQueues()) {
+            CredentialContext credentials = CredentialContext.of(queue.getCredentialProfile(), queue.getRoleArn());
+            groups.computeIfAbsent(credentials + "@" + queue.getRegion(), key -> new ArrayList<>()).add(queue);
+        }
+        if (groups.isEmpty()) {
+            return;
+        }
+
+        ExecutorService executor = taskExecutors.bounded("sqs-prewarm", Math.min(64, groups.size() * connectionsPerEndpoint));
+        try {
+            List<CompletableFuture<Void>> calls = new ArrayList<>();
+            for (List<QueueConfiguration> queues : groups.values()) {
+                // Concurrent calls force the pool to open that many connections; they
+                // bypass read coalescing, which would merge them into one call
+                for (int i = 0; i < connectionsPerEndpoint; i++) {
+                    QueueConfiguration queue = queues.get(i % queues.size());
+                    CredentialContext credentials = CredentialContext.of(queue.getCredentialProfile(), queue.getRoleArn());
+                    calls.add(CompletableFuture.runAsync(() -> SqsFeatureHolder.run("prewarm",
+                            () -> CredentialContextHolder.run(credentials, () -> {
+                        try {
+                            queueService.fetchQueueDepthAttributes(queue.getQueueUrl(), queue.getRegion());
+                        } catch (Exception e) {
+                            logger.debug("Prewarm call for {} failed: {}", queue.getQueueName(), e.getMessage());
+                        }
+                    })), executor));
+                }
+            }
+            CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).join();
+            logger.info("Prewarmed {} SQS endpoints in {} ms", groups.size(), System.currentTimeMillis() - started);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
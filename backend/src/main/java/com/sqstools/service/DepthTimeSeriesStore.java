@@ -0,0 +1,195 @@
+package com.sqstools.service;
+
+import com.sqstools.model.DepthPoint;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory queue depth history. Each queue keeps one fixed-size ring buffer
+ * per resolution, so memory use is bounded by the number of saved queues no
+ * matter how long the sampler runs.
+ */
+@Component
+public class DepthTimeSeriesStore {
+
+    public enum Resolution {
+        MINUTE("1m", 60_000L, 1440),     // 24 hours
+        HOUR("1h", 3_600_000L, 720),     // 30 days
+        DAY("1d", 86_400_000L, 365);     // 1 year
+
+        private final String label;
+        private final long widthMillis;
+        private final int capacity;
+
+        Resolution(String label, long widthMillis, int capacity) {
+            this.label = label;
+            this.widthMillis = widthMillis;
+            this.capacity = capacity;
+        }
+
+        public String getLabel() { return label; }
+        public long getWidthMillis() { return widthMillis; }
+        public int getCapacity() { return capacity; }
+
+        public static Resolution fromLabel(String label) {
+            for (Resolution resolution : values()) {
+                if (resolution.label.equalsIgnoreCase(label)) {
+                    return resolution;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported resolution: " + label + " (expected 1m, 1h or 1d)");
+        }
+    }
+
+    private final Map<String, Map<Resolution, RingBuffer>> series = new ConcurrentHashMap<>();
+
+    public void record(String queueId, long timestampMillis, long messages, long inFlight, long delayed) {
+        Map<Resolution, RingBuffer> buffers = series.computeIfAbsent(queueId, id -> {
+            Map<Resolution, RingBuffer> created = new EnumMap<>(Resolution.class);
+            for (Resolution resolution : Resolution.values()) {
+                created.put(resolution, new RingBuffer(resolution));
+            }
+            return created;
+        });
+        for (RingBuffer buffer : buffers.values()) {
+            buffer.add(timestampMillis, messages, inFlight, delayed);
+        }
+    }
+
+    public List<DepthPoint> query(String queueId, Resolution resolution, long fromMillis, long toMillis) {
+        Map<Resolution, RingBuffer> buffers = series.get(queueId);
+        if (buffers == null) {
+            return List.of();
+        }
+        return buffers.get(resolution).range(fromMillis, toMillis);
+    }
+
+    /**
+     * Drops the history of queues that are no longer saved.
+     */
+    public void retainQueues(Collection<String> queueIds) {
+        series.keySet().retainAll(queueIds);
+    }
+
+    public void removeQueue(String queueId) {
+        series.remove(queueId);
+    }
+
+    /**
+     * Fixed-capacity buffer of aggregated buckets. Slots are reused in place;
+     * the bucket start time identifies whether a slot is still current.
+     */
+    static class RingBuffer {
+        private final long width;
+        private final int capacity;
+        private final long[] bucketStart;
+        private final int[] count;
+        private final long[] sumMessages;
+        private final long[] maxMessages;
+        private final long[] sumInFlight;
+        private final long[] maxInFlight;
+        private final long[] sumDelayed;
+        private final long[] maxDelayed;
+        private int head = -1;
+
+        RingBuffer(Resolution resolution) {
+            this.width = resolution.getWidthMillis();
+            this.capacity = resolution.getCapacity();
+            this.bucketStart = new long[capacity];
+            this.count = new int[capacity];
+            this.sumMessages = new long[capacity];
+            this.maxMessages = new long[capacity];
+            this.sumInFlight = new long[capacity];
+            this.maxInFlight = new long[capacity];
+            this.sumDelayed = new long[capacity];
+            this.maxDelayed = new long[capacity];
+            Arrays.fill(bucketStart, Long.MIN_VALUE);
+        }
+
+        synchronized void add(long timestamp, long messages, long inFlight, long delayed) {
+            long start = timestamp - Math.floorMod(timestamp, width);
+            int slot;
+            if (head < 0) {
+                head = 0;
+                slot = resetSlot(0, start);
+            } else if (start > bucketStart[head]) {
+                long steps = (start - bucketStart[head]) / width;
+                if (steps >= capacity) {
+                    Arrays.fill(bucketStart, Long.MIN_VALUE);
+                    Arrays.fill(count, 0);
+                }
+                head = (int) ((head + steps) % capacity);
+                slot = resetSlot(head, start);
+            } else {
+                // Late sample: only accepted while its bucket is still in the buffer
+                long stepsBack = (bucketStart[head] - start) / width;
+                if (stepsBack >= capacity) {
+                    return;
+                }
+                slot = Math.floorMod(head - (int) stepsBack, capacity);
+                if (bucketStart[slot] != start) {
+                    resetSlot(slot, start);
+                }
+            }
+
+            count[slot]++;
+            sumMessages[slot] += messages;
+            maxMessages[slot] = Math.max(maxMessages[slot], messages);
+            sumInFlight[slot] += inFlight;
+            maxInFlight[slot] = Math.max(maxInFlight[slot], inFlight);
+            sumDelayed[slot] += delayed;
+            maxDelayed[slot] = Math.max(maxDelayed[slot], delayed);
+        }
+
+        synchronized List<DepthPoint> range(long from, long to) {
+            List<DepthPoint> points = new ArrayList<>();
+            if (head < 0) {
+                return points;
+            }
+            // Oldest slot first
+            for (int i = 1; i <= capacity; i++) {
+                int slot = (head + i) % capacity;
+                long start = bucketStart[slot];
+                if (start == Long.MIN_VALUE || count[slot] == 0) {
+                    continue;
+                }
+                if (start + width <= from || start > to) {
+                    continue;
+                }
+                // Skip slots left over from before a wrap-around
+                if (bucketStart[head] - start >= (long) capacity * width) {
+                    continue;
+                }
+                int n = count[slot];
+                points.add(new DepthPoint(
+                        Instant.ofEpochMilli(start).toString(),
+                        n,
+                        (double) sumMessages[slot] / n, maxMessages[slot],
+                        (double) sumInFlight[slot] / n, maxInFlight[slot],
+                        (double) sumDelayed[slot] / n, maxDelayed[slot]
+                ));
+            }
+            return points;
+        }
+
+        private int resetSlot(int slot, long start) {
+            bucketStart[slot] = start;
+            count[slot] = 0;
+            sumMessages[slot] = 0;
+            maxMessages[slot] = 0;
+            sumInFlight[slot] = 0;
+            maxInFlight[slot] = 0;
+            sumDelayed[slot] = 0;
+            maxDelayed[slot] = 0;
+            return slot;
+        }
+    }
+}
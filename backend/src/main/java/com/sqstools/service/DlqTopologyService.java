@@ -0,0 +1,254 @@
+package com.sqstools.service;
+
+import com.sqstools.aws.CredentialContext;
+import com.sqstools.aws.CredentialContextHolder;
+import com.sqstools.config.TaskExecutors;
+import com.sqstools.model.DlqTopology;
+import com.sqstools.model.QueueConfiguration;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Builds the source/DLQ graph for a region. Forward edges come from the saved
+ * queues' redrive policies, reverse edges from ListDeadLetterSourceQueues, so
+ * sources that were never added to the tool still show up.
+ * <p>
+ * Every SQS lookup is cached per queue with its own expiry. A view only
+ * re-fetches the entries that expired since the last one, which keeps the
+ * number of calls per view small once the graph is warm.
+ */
+@Service
+public class DlqTopologyService {
+
+    private final ConfigurationService configService;
+    private final QueueService queueService;
+    private final ExecutorService executor;
+    private final long sourcesTtlMillis;
+    private final long depthTtlMillis;
+
+    // ARN to URL never changes for the lifetime of a queue
+    private final Map<String, String> urlByArn = new ConcurrentHashMap<>();
+    private final Map<String, CacheEntry<List<String>>> sourcesByQueue = new ConcurrentHashMap<>();
+    private final Map<String, CacheEntry<Long>> depthByDlq = new ConcurrentHashMap<>();
+
+    public DlqTopologyService(ConfigurationService configService,
+                              QueueService queueService,
+                              TaskExecutors taskExecutors,
+                              @Value("${sqstools.topology.parallelism:8}") int parallelism,
+                              @Value("${sqstools.topology.sources-ttl-ms:600000}") long sourcesTtlMillis,
+                              @Value("${sqstools.topology.depth-ttl-ms:60000}") long depthTtlMillis) {
+        this.configService = configService;
+        this.queueService = queueService;
+        this.executor = taskExecutors.bounded("dlq-topology", parallelism);
+        this.sourcesTtlMillis = sourcesTtlMillis;
+        this.depthTtlMillis = depthTtlMillis;
+    }
+
+    public DlqTopology getTopology(String region) {
+        if (region == null || region.isBlank()) {
+            throw new IllegalArgumentException("Region is required");
+        }
+
+        DlqTopology topology = new DlqTopology();
+        topology.setRegion(region);
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+        List<QueueConfiguration> saved = configService.loadAllQueues().stream()
+                .filter(queue -> region.equals(queue.getRegion()))
+                .toList();
+        Map<String, QueueConfiguration> savedByUrl = new HashMap<>();
+        saved.forEach(queue -> savedByUrl.put(queue.getQueueUrl(), queue));
+
+        // 1. Forward edges from the saved queues' redrive policies (typed column, no JSON parsing).
+        // Candidates for reverse lookups are redrive targets, queues that carry a
+        // RedriveAllowPolicy, and saved queues without a RedrivePolicy: SQS leaves the
+        // allow policy out by default, so any of those may be a DLQ whose sources were
+        // never added. Their lookups are cached like the others.
+        Map<String, Set<String>> sourcesByDlq = new LinkedHashMap<>();
+        Set<String> dlqCandidates = new LinkedHashSet<>();
+        for (QueueConfiguration queue : saved) {
+            if (queue.getRedriveAllowPolicy() != null || queue.getRedrivePolicy() == null) {
+                dlqCandidates.add(queue.getQueueUrl());
+            }
+            String redrivePolicy = queue.getRedrivePolicy();
+            if (redrivePolicy == null) {
+                continue;
+            }
+            String dlqUrl = queueService.extractDlqArn(Map.of("RedrivePolicy", redrivePolicy))
+                    .map(arn -> CredentialContextHolder.call(credentialsOf(queue),
+                            () -> resolveUrl(arn, queue.getDlqUrl(), errors)))
+                    .orElse(queue.getDlqUrl());
+            if (dlqUrl != null) {
+                sourcesByDlq.computeIfAbsent(dlqUrl, url -> new LinkedHashSet<>()).add(queue.getQueueUrl());
+                dlqCandidates.add(dlqUrl);
+            }
+        }
+
+        // 2. Reverse edges, only re-fetched for expired entries
+        long now = System.currentTimeMillis();
+        CredentialContextHolder.Captured caller = CredentialContextHolder.capture();
+        runAll(dlqCandidates.stream()
+                .filter(url -> isExpired(sourcesByQueue.get(url), now))
+                .map(url -> withCredentials(url, savedByUrl, caller, () -> {
+                    try {
+                        List<String> sources = queueService.listDeadLetterSourceQueues(url, region);
+                        sourcesByQueue.put(url, new CacheEntry<>(List.copyOf(sources),
+                                now + jittered(sourcesTtlMillis)));
+                    } catch (Exception e) {
+                        errors.add(url + ": " + e.getMessage());
+                    }
+                }))
+                .toList());
+
+        for (String candidate : dlqCandidates) {
+            CacheEntry<List<String>> entry = sourcesByQueue.get(candidate);
+            if (entry != null && !entry.value.isEmpty()) {
+                sourcesByDlq.computeIfAbsent(candidate, url -> new LinkedHashSet<>()).addAll(entry.value);
+            }
+        }
+
+        // 3. DLQ depths, again only for expired entries
+        runAll(sourcesByDlq.keySet().stream()
+                .filter(url -> isExpired(depthByDlq.get(url), now))
+                .map(url -> withCredentials(url, savedByUrl, caller, () -> {
+                    try {
+                        String depth = queueService.getQueueDepthAttributes(url, region)
+                                .get("ApproximateNumberOfMessages");
+                        depthByDlq.put(url, new CacheEntry<>(depth != null ? Long.parseLong(depth) : 0L,
+                                now + jittered(depthTtlMillis)));
+                    } catch (Exception e) {
+                        errors.add(url + ": " + e.getMessage());
+                    }
+                }))
+                .toList());
+
+        // 4. Assemble the graph
+        Map<String, DlqTopology.Node> nodes = new LinkedHashMap<>();
+        Map<String, Long> backlogBySource = new TreeMap<>();
+        for (Map.Entry<String, Set<String>> entry : sourcesByDlq.entrySet()) {
+            String dlqUrl = entry.getKey();
+            CacheEntry<Long> depthEntry = depthByDlq.get(dlqUrl);
+            Long depth = depthEntry != null ? depthEntry.value : null;
+
+            nodes.put(dlqUrl, node(dlqUrl, savedByUrl, true));
+            for (String sourceUrl : entry.getValue()) {
+                nodes.putIfAbsent(sourceUrl, node(sourceUrl, savedByUrl, false));
+                topology.getEdges().add(new DlqTopology.Edge(sourceUrl, dlqUrl));
+                backlogBySource.merge(sourceUrl, depth != null ? depth : 0L, Long::sum);
+            }
+            topology.getDlqs().add(new DlqTopology.DlqSummary(
+                    dlqUrl, queueService.extractQueueName(dlqUrl), depth, new ArrayList<>(entry.getValue())));
+        }
+        for (QueueConfiguration queue : saved) {
+            nodes.putIfAbsent(queue.getQueueUrl(), node(queue.getQueueUrl(), savedByUrl, false));
+        }
+
+        topology.setNodes(new ArrayList<>(nodes.values()));
+        topology.setBacklogBySource(backlogBySource);
+        topology.setErrors(new ArrayList<>(errors));
+        topology.setGeneratedAt(Instant.ofEpochMilli(now).toString());
+        return topology;
+    }
+
+    /**
+     * Forces the next view to re-fetch one queue, or everything when queueUrl is null.
+     */
+    public void invalidate(String queueUrl) {
+        if (queueUrl == null) {
+            sourcesByQueue.clear();
+            depthByDlq.clear();
+        } else {
+            sourcesByQueue.remove(queueUrl);
+            depthByDlq.remove(queueUrl);
+        }
+    }
+
+    /**
+     * Drops everything cached for a queue that is no longer saved.
+     */
+    public void forget(String queueUrl) {
+        sourcesByQueue.remove(queueUrl);
+        depthByDlq.remove(queueUrl);
+        urlByArn.values().removeIf(queueUrl::equals);
+    }
+
+    private String resolveUrl(String arn, String fallbackUrl, List<String> errors) {
+        String cached = urlByArn.get(arn);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            String url = queueService.resolveQueueUrlFromArn(arn);
+            urlByArn.put(arn, url);
+            return url;
+        } catch (Exception e) {
+            errors.add(arn + ": " + e.getMessage());
+            return fallbackUrl;
+        }
+    }
+
+    private CredentialContext credentialsOf(QueueConfiguration queue) {
+        return CredentialContext.of(queue.getCredentialProfile(), queue.getRoleArn());
+    }
+
+    // Saved queues use their own credentials, queues only known from SQS the caller's
+    private Runnable withCredentials(String queueUrl, Map<String, QueueConfiguration> savedByUrl,
+                                     CredentialContextHolder.Captured caller, Runnable task) {
+        QueueConfiguration saved = savedByUrl.get(queueUrl);
+        CredentialContext credentials = saved != null ? credentialsOf(saved) : caller.getCredentials();
+        return () -> caller.run(() -> CredentialContextHolder.run(credentials, task));
+    }
+
+    private DlqTopology.Node node(String queueUrl, Map<String, QueueConfiguration> savedByUrl, boolean dlq) {
+        QueueConfiguration saved = savedByUrl.get(queueUrl);
+        return new DlqTopology.Node(queueUrl, queueService.extractQueueName(queueUrl),
+                saved != null ? saved.getId() : null, dlq);
+    }
+
+    // Spreads expiry over 80-100% of the TTL so entries cached together do not all refresh together
+    private long jittered(long ttlMillis) {
+        return ttlMillis - ThreadLocalRandom.current().nextLong(ttlMillis / 5 + 1);
+    }
+
+    private boolean isExpired(CacheEntry<?> entry, long now) {
+        return entry == null || entry.expiresAt <= now;
+    }
+
+    private void runAll(List<Runnable> tasks) {
+        CompletableFuture.allOf(tasks.stream()
+                        .map(task -> CompletableFuture.runAsync(task, executor))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static class CacheEntry<T> {
+        private final T value;
+        private final long expiresAt;
+
+        private CacheEntry(T value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
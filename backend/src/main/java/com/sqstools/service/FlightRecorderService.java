@@ -0,0 +1,181 @@
+package com.sqstools.service;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Starts and stops Java Flight Recorder recordings on demand, so a running
+ * container can be profiled without attaching tools. Recordings are kept on
+ * disk with a size and age cap, and dumped to a temporary file for download.
+ * Recordings that stopped on their own (a duration was given) stay available
+ * for a while and are then closed, which deletes their data on disk.
+ */
+@Service
+public class FlightRecorderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorderService.class);
+
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+    private final int maxRecordings;
+    private final long maxSizeBytes;
+    private final Duration maxAge;
+    private final Duration finishedRetention;
+
+    public FlightRecorderService(@Value("${sqstools.jfr.max-recordings:2}") int maxRecordings,
+                                 @Value("${sqstools.jfr.max-size-mb:100}") long maxSizeMb,
+                                 @Value("${sqstools.jfr.max-age-minutes:30}") long maxAgeMinutes,
+                                 @Value("${sqstools.jfr.finished-retention-minutes:10}") long finishedRetentionMinutes) {
+        this.maxRecordings = maxRecordings;
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.finishedRetention = Duration.ofMinutes(finishedRetentionMinutes);
+    }
+
+    /**
+     * @param settings JFR settings, {@code default} (low overhead) or {@code profile}
+     * @param duration stops the recording automatically when set
+     */
+    public synchronized Map<String, Object> start(String settings, Duration duration) {
+        if (recordings.values().stream().filter(r -> r.getState() == RecordingState.RUNNING).count() >= maxRecordings) {
+            throw new IllegalArgumentException("At most " + maxRecordings + " recordings can run at the same time");
+        }
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings != null ? settings : "profile");
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + settings);
+        }
+
+        Recording recording = new Recording(configuration);
+        // Both settings record the JVM's environment and system properties at
+        // startup, which include the AWS credentials passed to the container
+        recording.disable("jdk.InitialEnvironmentVariable");
+        recording.disable("jdk.InitialSystemProperty");
+        recording.setName("sqs-tools-" + System.currentTimeMillis());
+        recording.setToDisk(true);
+        recording.setMaxSize(maxSizeBytes);
+        recording.setMaxAge(maxAge);
+        if (duration != null) {
+            recording.setDuration(duration);
+        }
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        logger.info("Started JFR recording {} with settings {}", recording.getId(), configuration.getName());
+        return describe(recording);
+    }
+
+    public List<Map<String, Object>> list() {
+        pruneFinished(Instant.now());
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Recording recording : recordings.values()) {
+            result.add(describe(recording));
+        }
+        return result;
+    }
+
+    /**
+     * Writes what has been recorded so far to a temporary file; the recording
+     * keeps running. The caller deletes the file.
+     */
+    public Path dump(long id) {
+        return dumpToFile(find(id));
+    }
+
+    /**
+     * Stops the recording (if it has not stopped on its own), writes it to a
+     * temporary file and discards it. The caller deletes the file.
+     */
+    public Path stop(long id) {
+        Recording recording = find(id);
+        try {
+            if (recording.getState() == RecordingState.RUNNING || recording.getState() == RecordingState.DELAYED) {
+                recording.stop();
+            }
+            return dumpToFile(recording);
+        } finally {
+            recordings.remove(id);
+            recording.close();
+            logger.info("Stopped JFR recording {}", id);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sqstools.jfr.prune-interval-ms:60000}")
+    public void pruneFinished() {
+        pruneFinished(Instant.now());
+    }
+
+    /**
+     * Closes recordings that stopped more than the retention period before
+     * {@code now}. Closing removes the recording's chunk files from the JFR
+     * repository.
+     */
+    synchronized void pruneFinished(Instant now) {
+        Iterator<Recording> it = recordings.values().iterator();
+        while (it.hasNext()) {
+            Recording recording = it.next();
+            RecordingState state = recording.getState();
+            boolean expired = state == RecordingState.STOPPED && recording.getStopTime() != null
+                    && !recording.getStopTime().plus(finishedRetention).isAfter(now);
+            if (expired || state == RecordingState.CLOSED) {
+                it.remove();
+                recording.close();
+                logger.info("Discarded finished JFR recording {}", recording.getId());
+            }
+        }
+    }
+
+    private Recording find(long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            throw new RuntimeException("Recording not found: " + id);
+        }
+        return recording;
+    }
+
+    private Path dumpToFile(Recording recording) {
+        try {
+            Path file = Files.createTempFile("sqs-tools-" + recording.getId() + "-", ".jfr");
+            recording.dump(file);
+            return file;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write JFR recording " + recording.getId() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private Map<String, Object> describe(Recording recording) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("id", recording.getId());
+        description.put("name", recording.getName());
+        description.put("state", recording.getState().name());
+        description.put("startTime", recording.getStartTime() != null ? recording.getStartTime().toString() : null);
+        description.put("duration", recording.getDuration() != null ? recording.getDuration().toSeconds() : null);
+        description.put("size", recording.getSize());
+        return description;
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+}
@@ -0,0 +1,431 @@
+package com.sqstools.service;
+
+import com.sqstools.aws.CredentialContext;
+import com.sqstools.aws.CredentialContextHolder;
+import com.sqstools.aws.SqsFeatureHolder;
+import com.sqstools.model.MessagePage;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cursor-based browsing over a server-side buffer of received messages.
+ * <p>
+ * The first page opens a session that receives messages only as far as the
+ * requested page needs; later pages are served from the buffer, so a large
+ * queue never crosses the wire in one response. Buffered messages stay
+ * in flight: their visibility is extended while the session is in use, and
+ * released again when the session is closed or left idle. While they are in
+ * flight, consumers of the queue cannot receive them, so sessions on source
+ * queues are kept smaller and shorter-lived than on DLQs.
+ * <p>
+ * SQS calls go through {@link AsyncMessageService}. The steps of a session
+ * (fill, extend, release) run one after another, chained on the previous
+ * step's future, so no thread waits on a lock or a long poll.
+ * <p>
+ * Cursors are opaque and encode the session and a position in its buffer.
+ * Messages deleted elsewhere, or whose receipt handle could not be extended,
+ * are skipped without shifting the positions of the others.
+ */
+@Service
+public class MessageBrowseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageBrowseService.class);
+
+    // Long poll for a second per receive so an empty result means the queue has nothing visible left
+    private static final int RECEIVE_WAIT_SECONDS = 1;
+
+    private final AsyncMessageService asyncMessageService;
+    private final MessageService messageService;
+    private final int visibilityTimeoutSeconds;
+    private final Limits sourceLimits;
+    private final Limits dlqLimits;
+    private final int maxSessions;
+    private final int maxPageSize;
+    private final Map<String, BrowseSession> sessions = new ConcurrentHashMap<>();
+    // One permit per open session, so concurrent opens cannot overshoot the cap
+    private final Semaphore sessionPermits;
+
+    public MessageBrowseService(AsyncMessageService asyncMessageService,
+                                MessageService messageService,
+                                @Value("${sqstools.browse.visibility-timeout-seconds:120}") int visibilityTimeoutSeconds,
+                                @Value("${sqstools.browse.idle-timeout-ms:60000}") long idleTimeoutMillis,
+                                @Value("${sqstools.browse.max-messages:100}") int maxMessages,
+                                @Value("${sqstools.browse.dlq.idle-timeout-ms:300000}") long dlqIdleTimeoutMillis,
+                                @Value("${sqstools.browse.dlq.max-messages:1000}") int dlqMaxMessages,
+                                @Value("${sqstools.browse.max-sessions:20}") int maxSessions,
+                                @Value("${sqstools.browse.max-page-size:100}") int maxPageSize) {
+        this.asyncMessageService = asyncMessageService;
+        this.messageService = messageService;
+        this.visibilityTimeoutSeconds = visibilityTimeoutSeconds;
+        this.sourceLimits = new Limits(idleTimeoutMillis, maxMessages);
+        this.dlqLimits = new Limits(dlqIdleTimeoutMillis, dlqMaxMessages);
+        this.maxSessions = maxSessions;
+        this.maxPageSize = maxPageSize;
+        this.sessionPermits = new Semaphore(maxSessions);
+    }
+
+    /**
+     * Serves the page at {@code cursor}, or opens a new session and serves its
+     * first page when no cursor is given. Runs with the caller's credentials.
+     *
+     * @param dlq whether {@code queueUrl} is a DLQ; only used to pick the
+     *            limits of a new session
+     */
+    public CompletableFuture<MessagePage> browse(String queueUrl, String region, boolean dlq,
+                                                 String cursor, int size, boolean formatted) {
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+
+        BrowseSession session;
+        int position;
+        boolean opened = cursor == null || cursor.isBlank();
+        if (opened) {
+            session = open(queueUrl, region, dlq ? dlqLimits : sourceLimits);
+            position = 0;
+        } else {
+            Cursor decoded = Cursor.decode(cursor);
+            session = existingSession(decoded.sessionId(), queueUrl);
+            position = decoded.position();
+        }
+
+        CredentialContextHolder.Captured requester = CredentialContextHolder.capture();
+        CompletableFuture<MessagePage> page = session.enqueue(requester, () -> {
+            if (session.closed.get()) {
+                throw expired();
+            }
+            session.lastAccess = System.currentTimeMillis();
+            CredentialContextHolder.Captured caller = CredentialContextHolder.capture();
+            return fill(session, caller, position, size)
+                    .thenCompose(ignored -> caller.call(() -> extendQuietly(session, System.currentTimeMillis())))
+                    .thenApply(ignored -> page(session, position, size, formatted));
+        });
+        if (!opened) {
+            return page;
+        }
+        // No cursor reached the client, so nobody else can close a session whose
+        // first page failed; release its slot and whatever it received right away
+        return page.<CompletableFuture<MessagePage>>handle((result, e) -> e == null
+                        ? CompletableFuture.completedFuture(result)
+                        : close(session, requester).thenCompose(ignored -> CompletableFuture.<MessagePage>failedFuture(e)))
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Ends the session the cursor belongs to and makes its messages visible again.
+     */
+    public CompletableFuture<Void> close(String queueUrl, String cursor) {
+        BrowseSession session = existingSession(Cursor.decode(cursor).sessionId(), queueUrl);
+        return close(session, CredentialContextHolder.capture());
+    }
+
+    /**
+     * Extends the visibility of messages that are about to become visible again,
+     * and closes sessions that have not been used for the idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${sqstools.browse.keepalive-interval-ms:30000}")
+    public void keepAlive() {
+        keepAlive(System.currentTimeMillis());
+    }
+
+    void keepAlive(long now) {
+        for (BrowseSession session : sessions.values()) {
+            CredentialContextHolder.run(session.credentials, () -> SqsFeatureHolder.run("browse-keepalive", () -> {
+                CredentialContextHolder.Captured caller = CredentialContextHolder.capture();
+                if (now - session.lastAccess > session.limits.idleTimeoutMillis()) {
+                    close(session, caller);
+                    return;
+                }
+                // A keep-alive still queued behind a slow page covers this round too
+                if (session.keepAlivePending.compareAndSet(false, true)) {
+                    session.enqueue(caller, () -> session.closed.get()
+                                    ? CompletableFuture.<Void>completedFuture(null)
+                                    : extendQuietly(session, now))
+                            .whenComplete((ignored, e) -> session.keepAlivePending.set(false));
+                }
+            }));
+        }
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        List<CompletableFuture<Void>> closing = new ArrayList<>();
+        for (BrowseSession session : sessions.values()) {
+            closing.add(CredentialContextHolder.call(session.credentials,
+                    () -> close(session, CredentialContextHolder.capture())));
+        }
+        try {
+            CompletableFuture.allOf(closing.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // The messages become visible on their own once the visibility timeout passes
+            logger.warn("Failed to release all browse sessions on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private BrowseSession open(String queueUrl, String region, Limits limits) {
+        // Sessions belong to other users; they end when closed or idle, never to make room
+        if (!sessionPermits.tryAcquire()) {
+            throw new IllegalArgumentException("At most " + maxSessions
+                    + " browse sessions can be open at the same time; close one or try again later");
+        }
+        BrowseSession session = new BrowseSession(UUID.randomUUID().toString(), queueUrl, region,
+                CredentialContextHolder.get(), limits);
+        sessions.put(session.id, session);
+        return session;
+    }
+
+    private BrowseSession existingSession(String sessionId, String queueUrl) {
+        BrowseSession session = sessions.get(sessionId);
+        if (session == null || !session.queueUrl.equals(queueUrl)) {
+            throw expired();
+        }
+        return session;
+    }
+
+    // Frees the slot right away; the messages are released once the step in progress is done
+    private CompletableFuture<Void> close(BrowseSession session, CredentialContextHolder.Captured caller) {
+        if (!session.closed.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        sessions.remove(session.id);
+        sessionPermits.release();
+        return session.enqueue(caller, () -> {
+                    List<String> receiptHandles = session.entries.stream()
+                            .filter(entry -> !entry.dropped)
+                            .map(entry -> entry.message.receiptHandle())
+                            .toList();
+                    if (receiptHandles.isEmpty()) {
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    return asyncMessageService.changeMessageVisibilityBatch(
+                                    session.queueUrl, session.region, receiptHandles, 0)
+                            .thenApply(failed -> (Void) null);
+                })
+                .exceptionally(e -> {
+                    // The messages become visible on their own once the visibility timeout passes
+                    logger.warn("Failed to release messages of browse session {}: {}", session.id, e.getMessage());
+                    return null;
+                });
+    }
+
+    // Receives until the page starting at position is full, the queue is drained or the session is full
+    private CompletableFuture<Void> fill(BrowseSession session, CredentialContextHolder.Captured caller,
+                                        int position, int size) {
+        if (session.closed.get() || session.exhausted || session.liveFrom(position) >= size) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (session.entries.size() >= session.limits.maxMessages()) {
+            logger.info("Browse session {} reached its limit of {} messages", session.id, session.limits.maxMessages());
+            session.exhausted = true;
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long receivedAt = System.currentTimeMillis();
+        return asyncMessageService.receiveMessages(session.queueUrl, session.region,
+                        10, visibilityTimeoutSeconds, RECEIVE_WAIT_SECONDS)
+                .thenCompose(received -> {
+                    if (received.isEmpty()) {
+                        session.exhausted = true;
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    buffer(session, received, receivedAt + visibilityTimeoutSeconds * 1000L);
+                    // Continues on an SDK thread; the next receive needs the caller's credentials
+                    return caller.call(() -> fill(session, caller, position, size));
+                });
+    }
+
+    private static void buffer(BrowseSession session, List<Message> received, long heldUntil) {
+        for (Message message : received) {
+            Entry existing = session.byMessageId.get(message.messageId());
+            if (existing != null) {
+                // Received again after its visibility lapsed; only the new handle is valid
+                existing.message = message;
+                existing.heldUntil = heldUntil;
+                existing.dropped = false;
+            } else {
+                Entry entry = new Entry(message, heldUntil);
+                session.entries.add(entry);
+                session.byMessageId.put(message.messageId(), entry);
+            }
+        }
+    }
+
+    // Serving the page matters more than the extension; the keep-alive retries shortly
+    private CompletableFuture<Void> extendQuietly(BrowseSession session, long now) {
+        CompletableFuture<Void> extended;
+        try {
+            extended = extend(session, now);
+        } catch (RuntimeException e) {
+            extended = CompletableFuture.failedFuture(e);
+        }
+        return extended.exceptionally(e -> {
+            logger.warn("Failed to extend browse session {}: {}", session.id,
+                    AsyncMessageService.unwrap(e).getMessage());
+            return null;
+        });
+    }
+
+    // Extends handles with less than half of the visibility timeout left; rejected ones are dropped
+    private CompletableFuture<Void> extend(BrowseSession session, long now) {
+        long margin = visibilityTimeoutSeconds * 500L;
+        List<Entry> expiring = session.entries.stream()
+                .filter(entry -> !entry.dropped && entry.heldUntil - now < margin)
+                .toList();
+        if (expiring.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long extendedAt = System.currentTimeMillis();
+        return asyncMessageService.changeMessageVisibilityBatch(session.queueUrl, session.region,
+                        expiring.stream().map(entry -> entry.message.receiptHandle()).toList(),
+                        visibilityTimeoutSeconds)
+                .thenAccept(failed -> {
+                    for (Entry entry : expiring) {
+                        if (failed.contains(entry.message.receiptHandle())) {
+                            entry.dropped = true;
+                        } else {
+                            entry.heldUntil = extendedAt + visibilityTimeoutSeconds * 1000L;
+                        }
+                    }
+                });
+    }
+
+    private MessagePage page(BrowseSession session, int position, int size, boolean formatted) {
+        List<Message> page = new ArrayList<>();
+        int next = position;
+        while (next < session.entries.size() && page.size() < size) {
+            Entry entry = session.entries.get(next++);
+            if (!entry.dropped) {
+                page.add(entry.message);
+            }
+        }
+        boolean more = next < session.entries.size() || !session.exhausted;
+        return new MessagePage(
+                messageService.toResponse(page, formatted),
+                Cursor.encode(session.id, position),
+                more ? Cursor.encode(session.id, next) : null,
+                session.live(),
+                session.exhausted);
+    }
+
+    private static IllegalArgumentException expired() {
+        return new IllegalArgumentException("Browse cursor has expired; start again without a cursor");
+    }
+
+    private record Limits(long idleTimeoutMillis, int maxMessages) {
+    }
+
+    private static final class BrowseSession {
+        private final String id;
+        private final String queueUrl;
+        private final String region;
+        private final CredentialContext credentials;
+        private final Limits limits;
+        // Completes when the last queued step has; steps never overlap, so the buffer needs no lock
+        private final AtomicReference<CompletableFuture<Void>> tail =
+                new AtomicReference<>(CompletableFuture.completedFuture(null));
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean keepAlivePending = new AtomicBoolean();
+        private final List<Entry> entries = new ArrayList<>();
+        private final Map<String, Entry> byMessageId = new HashMap<>();
+        private boolean exhausted;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private BrowseSession(String id, String queueUrl, String region, CredentialContext credentials, Limits limits) {
+            this.id = id;
+            this.queueUrl = queueUrl;
+            this.region = region;
+            this.credentials = credentials;
+            this.limits = limits;
+        }
+
+        // Runs step once every step queued before it has finished, successfully or not
+        private <T> CompletableFuture<T> enqueue(CredentialContextHolder.Captured caller,
+                                                 Supplier<CompletableFuture<T>> step) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            CompletableFuture<Void> previous = tail.getAndSet(result.handle((value, e) -> (Void) null));
+            previous.thenCompose(ignored -> caller.call(step)).whenComplete((value, e) -> {
+                if (e != null) {
+                    result.completeExceptionally(AsyncMessageService.unwrap(e));
+                } else {
+                    result.complete(value);
+                }
+            });
+            return result;
+        }
+
+        private int liveFrom(int position) {
+            int live = 0;
+            for (int i = position; i < entries.size(); i++) {
+                if (!entries.get(i).dropped) {
+                    live++;
+                }
+            }
+            return live;
+        }
+
+        private int live() {
+            return liveFrom(0);
+        }
+    }
+
+    private static final class Entry {
+        private Message message;
+        private long heldUntil;
+        private boolean dropped;
+
+        private Entry(Message message, long heldUntil) {
+            this.message = message;
+            this.heldUntil = heldUntil;
+        }
+    }
+
+    private record Cursor(String sessionId, int position) {
+
+        private static String encode(String sessionId, int position) {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((sessionId + ":" + position).getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static Cursor decode(String cursor) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.lastIndexOf(':');
+                int position = Integer.parseInt(decoded.substring(separator + 1));
+                if (separator <= 0 || position < 0) {
+                    throw new IllegalArgumentException("Invalid browse cursor");
+                }
+                return new Cursor(decoded.substring(0, separator), position);
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid browse cursor", e);
+            }
+        }
+    }
+}
@@ -2,10 +2,14 @@ package com.sqstools.service;
 
 import tools.jackson.databind.ObjectMapper;
 import com.sqstools.aws.SQSClientFactory;
+import com.sqstools.aws.SqsHttpTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -13,6 +17,8 @@ import java.util.Map;
 @Service
 public class MessageService {
 
+    private static final Logger logger = LoggerFactory.getLogger(MessageService.class);
+
     private final SQSClientFactory clientFactory;
     private final ObjectMapper objectMapper;
 
@@ -44,6 +50,12 @@ public class MessageService {
 
         if (waitTimeSeconds != null) {
             requestBuilder.waitTimeSeconds(waitTimeSeconds);
+            if (waitTimeSeconds > 0) {
+                // The client-wide timeouts are sized for short calls
+                requestBuilder.overrideConfiguration(o -> o
+                        .apiCallAttemptTimeout(SqsHttpTransport.longPollTimeout(waitTimeSeconds))
+                        .apiCallTimeout(SqsHttpTransport.longPollTimeout(waitTimeSeconds)));
+            }
         }
 
         ReceiveMessageResponse response = client.receiveMessage(requestBuilder.build());
@@ -55,8 +67,7 @@ public class MessageService {
                     changeMessageVisibility(queueUrl, region, message.receiptHandle(), 0);
                 } catch (Exception e) {
                     // Log error but continue with other messages
-                    System.err.println(
-                            "Failed to reset visibility for message " + message.messageId() + ": " + e.getMessage());
+                    logger.warn("Failed to reset visibility for message {}: {}", message.messageId(), e.getMessage());
                 }
             }
         }
@@ -118,13 +129,73 @@ public class MessageService {
         }
     }
 
+    /**
+     * Maps received messages to the API response shape, with a pretty-printed
+     * copy of JSON bodies and message attributes flattened to strings.
+     */
+    public List<Map<String, Object>> toResponse(List<Message> messages) {
+        return toResponse(messages, true);
+    }
+
+    /**
+     * As {@link #toResponse(List)}; without {@code includeFormatted} the
+     * pretty-printed copy, which nearly doubles the payload, is left out.
+     */
+    public List<Map<String, Object>> toResponse(List<Message> messages, boolean includeFormatted) {
+        List<Map<String, Object>> response = new ArrayList<>();
+        ProfilingEvents.MessageMapping event = new ProfilingEvents.MessageMapping();
+        event.begin();
+        for (Message message : messages) {
+            if (event.isEnabled()) {
+                event.payloadBytes += ProfilingEvents.utf8Bytes(message.body());
+            }
+            Map<String, Object> messageMap = new HashMap<>();
+            messageMap.put("messageId", message.messageId());
+            messageMap.put("body", message.body());
+            if (includeFormatted) {
+                messageMap.put("bodyFormatted", prettyPrintJson(message.body()));
+            }
+            messageMap.put("receiptHandle", message.receiptHandle());
+            messageMap.put("attributes", message.attributes());
+
+            // Convert MessageAttributeValue to simple map
+            Map<String, Map<String, String>> simpleAttributes = new HashMap<>();
+            if (message.messageAttributes() != null) {
+                for (Map.Entry<String, MessageAttributeValue> entry : message.messageAttributes().entrySet()) {
+                    Map<String, String> attrMap = new HashMap<>();
+                    attrMap.put("dataType", entry.getValue().dataType());
+                    attrMap.put("stringValue", entry.getValue().stringValue());
+                    if (entry.getValue().binaryValue() != null) {
+                        attrMap.put("binaryValue", entry.getValue().binaryValue().asUtf8String());
+                    }
+                    simpleAttributes.put(entry.getKey(), attrMap);
+                }
+            }
+            messageMap.put("messageAttributes", simpleAttributes);
+            messageMap.put("md5OfBody", message.md5OfBody());
+            response.add(messageMap);
+        }
+        event.messages = messages.size();
+        event.commit();
+        return response;
+    }
+
     public String prettyPrintJson(String body) {
+        ProfilingEvents.JsonFormat event = new ProfilingEvents.JsonFormat();
+        event.begin();
         try {
             Object json = objectMapper.readValue(body, Object.class);
-            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(json);
+            String formatted = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(json);
+            event.validJson = true;
+            return formatted;
         } catch (Exception e) {
             // Not valid JSON, return as-is
             return body;
+        } finally {
+            if (event.shouldCommit()) {
+                event.payloadBytes = ProfilingEvents.utf8Bytes(body);
+                event.commit();
+            }
         }
     }
 
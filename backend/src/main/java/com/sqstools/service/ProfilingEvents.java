@@ -0,0 +1,78 @@
+package com.sqstools.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Flight Recorder events for the backend's own hot paths, so a recording taken
+ * through {@link FlightRecorderService} shows them with message counts and
+ * payload sizes. Events are only written while a recording is running.
+ */
+public final class ProfilingEvents {
+
+    private ProfilingEvents() {
+    }
+
+    // Only worth computing when {@link Event#isEnabled()}, i.e. while recording
+    public static long utf8Bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8).length : 0;
+    }
+
+    @Name("com.sqstools.RedriveBatch")
+    @Label("Redrive Batch")
+    @Category({"SQS Tools", "Redrive"})
+    @Description("One batch of messages moved from a DLQ back to its source queue")
+    @StackTrace(false)
+    public static final class RedriveBatch extends Event {
+        @Label("Queue URL")
+        public String queueUrl;
+
+        @Label("Messages")
+        public int messages;
+
+        @Label("Succeeded")
+        public int succeeded;
+
+        @Label("Failed")
+        public int failed;
+
+        @Label("Payload")
+        @DataAmount
+        public long payloadBytes;
+    }
+
+    @Name("com.sqstools.MessageMapping")
+    @Label("Message Mapping")
+    @Category({"SQS Tools", "Messages"})
+    @Description("Received SQS messages mapped to the API response, including JSON formatting")
+    @StackTrace(false)
+    public static final class MessageMapping extends Event {
+        @Label("Messages")
+        public int messages;
+
+        @Label("Payload")
+        @DataAmount
+        public long payloadBytes;
+    }
+
+    @Name("com.sqstools.JsonFormat")
+    @Label("JSON Format")
+    @Category({"SQS Tools", "Messages"})
+    @Description("Pretty-printing of one message body")
+    @StackTrace(false)
+    public static final class JsonFormat extends Event {
+        @Label("Payload")
+        @DataAmount
+        public long payloadBytes;
+
+        @Label("Valid JSON")
+        public boolean validJson;
+    }
+}
@@ -0,0 +1,78 @@
+package com.sqstools.service;
+
+import com.sqstools.aws.CredentialContext;
+import com.sqstools.aws.CredentialContextHolder;
+import com.sqstools.aws.SqsFeatureHolder;
+import com.sqstools.model.QueueConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically records depth, in-flight and delayed counts for every saved
+ * queue into the {@link DepthTimeSeriesStore}.
+ */
+@Service
+public class QueueDepthSampler {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueDepthSampler.class);
+
+    private final ConfigurationService configService;
+    private final QueueService queueService;
+    private final DepthTimeSeriesStore store;
+    private final boolean enabled;
+
+    public QueueDepthSampler(ConfigurationService configService,
+                             QueueService queueService,
+                             DepthTimeSeriesStore store,
+                             @Value("${sqstools.sampler.enabled:true}") boolean enabled) {
+        this.configService = configService;
+        this.queueService = queueService;
+        this.store = store;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(fixedDelayString = "${sqstools.sampler.interval-ms:60000}",
+               initialDelayString = "${sqstools.sampler.initial-delay-ms:10000}")
+    public void sampleAll() {
+        if (!enabled) {
+            return;
+        }
+
+        List<QueueConfiguration> queues = configService.loadAllQueues();
+        store.retainQueues(queues.stream().map(QueueConfiguration::getId).collect(Collectors.toSet()));
+
+        long now = System.currentTimeMillis();
+        for (QueueConfiguration queue : queues) {
+            try {
+                CredentialContext credentials = CredentialContext.of(queue.getCredentialProfile(), queue.getRoleArn());
+                Map<String, String> depth = SqsFeatureHolder.call("sampler", () -> CredentialContextHolder.call(credentials,
+                        () -> queueService.getQueueDepthAttributes(queue.getQueueUrl(), queue.getRegion())));
+                store.record(queue.getId(), now,
+                        parseCount(depth.get("ApproximateNumberOfMessages")),
+                        parseCount(depth.get("ApproximateNumberOfMessagesNotVisible")),
+                        parseCount(depth.get("ApproximateNumberOfMessagesDelayed")));
+            } catch (Exception e) {
+                // One unreachable queue should not stop sampling of the others
+                logger.warn("Failed to sample depth for queue {}: {}", queue.getQueueName(), e.getMessage());
+            }
+        }
+    }
+
+    private long parseCount(String value) {
+        if (value == null || value.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
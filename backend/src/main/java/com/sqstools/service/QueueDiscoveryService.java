@@ -0,0 +1,169 @@
+package com.sqstools.service;
+
+import com.sqstools.aws.CredentialContext;
+import com.sqstools.aws.CredentialContextHolder;
+import com.sqstools.config.TaskExecutors;
+import com.sqstools.model.DiscoveryResult;
+import com.sqstools.model.QueueConfiguration;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Finds every queue in the selected regions and saves the ones that are not
+ * tracked yet. Attribute lookups run concurrently; the inserts go to the
+ * database in a single batch.
+ */
+@Service
+public class QueueDiscoveryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueDiscoveryService.class);
+
+    private final QueueService queueService;
+    private final ConfigurationService configService;
+    private final ExecutorService executor;
+
+    public QueueDiscoveryService(QueueService queueService,
+                                 ConfigurationService configService,
+                                 TaskExecutors taskExecutors,
+                                 @Value("${sqstools.discovery.parallelism:16}") int parallelism) {
+        this.queueService = queueService;
+        this.configService = configService;
+        this.executor = taskExecutors.bounded("queue-discovery", parallelism);
+    }
+
+    public DiscoveryResult discover(List<String> regions, String namePrefix) {
+        return discover(regions, namePrefix, CredentialContext.ACTIVE);
+    }
+
+    /**
+     * Discovers with the given credentials; the queues that get saved keep them.
+     */
+    public DiscoveryResult discover(List<String> regions, String namePrefix, CredentialContext credentials) {
+        return CredentialContextHolder.call(credentials, () -> doDiscover(regions, namePrefix, credentials));
+    }
+
+    private DiscoveryResult doDiscover(List<String> regions, String namePrefix, CredentialContext credentials) {
+        if (regions == null || regions.isEmpty()) {
+            throw new IllegalArgumentException("At least one region is required for discovery");
+        }
+
+        long started = System.currentTimeMillis();
+        DiscoveryResult result = new DiscoveryResult();
+        result.setRegions(regions);
+
+        // 1. Page through ListQueues in every region
+        Set<String> savedUrls = configService.loadSavedQueueUrls();
+        List<DiscoveredQueue> candidates = new ArrayList<>();
+        for (String region : regions) {
+            try {
+                for (String queueUrl : queueService.listQueueUrls(region, namePrefix)) {
+                    result.setDiscoveredCount(result.getDiscoveredCount() + 1);
+                    if (savedUrls.contains(queueUrl)) {
+                        result.setSkippedCount(result.getSkippedCount() + 1);
+                    } else {
+                        candidates.add(new DiscoveredQueue(queueUrl, region));
+                    }
+                }
+            } catch (Exception e) {
+                result.addError(region, e.getMessage());
+            }
+        }
+
+        // 2. Fetch attributes concurrently
+        List<CompletableFuture<Void>> lookups = new ArrayList<>();
+        for (DiscoveredQueue candidate : candidates) {
+            lookups.add(CompletableFuture.runAsync(CredentialContextHolder.wrap(() -> {
+                try {
+                    candidate.attributes = queueService.getQueueAttributes(candidate.queueUrl, candidate.region);
+                } catch (Exception e) {
+                    candidate.error = e.getMessage();
+                }
+            }), executor));
+        }
+        CompletableFuture.allOf(lookups.toArray(new CompletableFuture[0])).join();
+
+        // 3. Resolve DLQs against the discovered queues' ARNs, so the URL comes
+        //    from SQS rather than being rebuilt from the ARN
+        Map<String, String> urlByArn = new HashMap<>();
+        for (DiscoveredQueue candidate : candidates) {
+            if (candidate.attributes != null && candidate.attributes.get("QueueArn") != null) {
+                urlByArn.put(candidate.attributes.get("QueueArn"), candidate.queueUrl);
+            }
+        }
+
+        List<QueueConfiguration> configs = new ArrayList<>();
+        for (DiscoveredQueue candidate : candidates) {
+            if (candidate.attributes == null) {
+                result.setFailedCount(result.getFailedCount() + 1);
+                result.addError(candidate.queueUrl, candidate.error);
+                continue;
+            }
+
+            String dlqUrl = resolveDlqUrl(candidate.attributes, urlByArn);
+            QueueConfiguration config = new QueueConfiguration(
+                    UUID.randomUUID().toString(),
+                    candidate.queueUrl,
+                    queueService.extractQueueName(candidate.queueUrl),
+                    candidate.region,
+                    new HashMap<>(candidate.attributes),
+                    dlqUrl,
+                    dlqUrl != null ? queueService.extractQueueName(dlqUrl) : null,
+                    null
+            );
+            config.setCredentialProfile(credentials.getProfile());
+            config.setRoleArn(credentials.getRoleArn());
+            configs.add(config);
+        }
+
+        // 4. Bulk insert
+        List<QueueConfiguration> saved = configService.saveQueues(configs);
+        result.setAddedCount(saved.size());
+        result.setSkippedCount(result.getSkippedCount() + configs.size() - saved.size());
+        result.setDurationMs(System.currentTimeMillis() - started);
+
+        logger.info("Discovered {} queues in {}: {} added, {} skipped, {} failed ({} ms)",
+                result.getDiscoveredCount(), regions, result.getAddedCount(),
+                result.getSkippedCount(), result.getFailedCount(), result.getDurationMs());
+        return result;
+    }
+
+    private String resolveDlqUrl(Map<String, String> attributes, Map<String, String> urlByArn) {
+        String dlqUrl = queueService.extractDlqArn(attributes)
+                .map(urlByArn::get)
+                .orElse(null);
+        if (dlqUrl != null) {
+            return dlqUrl;
+        }
+        // DLQ lives outside the discovered set (other region or prefix)
+        return queueService.extractDlqFromAttributes(attributes).orElse(null);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static class DiscoveredQueue {
+        private final String queueUrl;
+        private final String region;
+        private volatile Map<String, String> attributes;
+        private volatile String error;
+
+        private DiscoveredQueue(String queueUrl, String region) {
+            this.queueUrl = queueUrl;
+            this.region = region;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.sqstools.service;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+import com.sqstools.entity.QueueEntity;
+import com.sqstools.model.QueuePage;
+import com.sqstools.model.QueueQuery;
+import com.sqstools.repository.QueueRepository;
+import com.sqstools.repository.QueueSpecifications;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Paged, filtered and projected listing of saved queues. Filtering and sorting
+ * run in SQL against the typed columns; the attribute JSON is only parsed when
+ * the caller asks for the {@code attributes} field.
+ */
+@Service
+public class QueueQueryService {
+
+    static final int MAX_PAGE_SIZE = 500;
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "name", "queueName",
+            "region", "region",
+            "depth", "approximateNumberOfMessages",
+            "inFlight", "approximateNumberOfMessagesNotVisible",
+            "dlqDepth", "dlqApproximateNumberOfMessages",
+            "savedAt", "savedAt"
+    );
+
+    private static final List<String> DEFAULT_FIELDS = List.of(
+            "id", "queueUrl", "queueName", "region", "dlqUrl", "dlqName",
+            "approximateNumberOfMessages", "approximateNumberOfMessagesNotVisible",
+            "dlqApproximateNumberOfMessages", "savedAt"
+    );
+
+    private final QueueRepository queueRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Function<QueueEntity, Object>> fieldExtractors = new LinkedHashMap<>();
+
+    public QueueQueryService(QueueRepository queueRepository, ObjectMapper objectMapper) {
+        this.queueRepository = queueRepository;
+        this.objectMapper = objectMapper;
+
+        fieldExtractors.put("id", QueueEntity::getId);
+        fieldExtractors.put("queueUrl", QueueEntity::getQueueUrl);
+        fieldExtractors.put("queueName", QueueEntity::getQueueName);
+        fieldExtractors.put("region", QueueEntity::getRegion);
+        fieldExtractors.put("dlqUrl", QueueEntity::getDlqUrl);
+        fieldExtractors.put("dlqName", QueueEntity::getDlqName);
+        fieldExtractors.put("savedAt", QueueEntity::getSavedAt);
+        fieldExtractors.put("approximateNumberOfMessages", QueueEntity::getApproximateNumberOfMessages);
+        fieldExtractors.put("approximateNumberOfMessagesNotVisible", QueueEntity::getApproximateNumberOfMessagesNotVisible);
+        fieldExtractors.put("approximateNumberOfMessagesDelayed", QueueEntity::getApproximateNumberOfMessagesDelayed);
+        fieldExtractors.put("dlqApproximateNumberOfMessages", QueueEntity::getDlqApproximateNumberOfMessages);
+        fieldExtractors.put("visibilityTimeout", QueueEntity::getVisibilityTimeout);
+        fieldExtractors.put("messageRetentionPeriod", QueueEntity::getMessageRetentionPeriod);
+        fieldExtractors.put("fifoQueue", QueueEntity::getFifoQueue);
+        fieldExtractors.put("redrivePolicy", QueueEntity::getRedrivePolicy);
+        fieldExtractors.put("attributes", entity -> parseAttributes(entity.getAttributes()));
+    }
+
+    @Transactional(readOnly = true)
+    public QueuePage query(QueueQuery query) {
+        if (query.getPage() < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (query.getSize() < 1 || query.getSize() > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<String> fields = query.getFields() == null || query.getFields().isEmpty()
+                ? DEFAULT_FIELDS
+                : query.getFields();
+        for (String field : fields) {
+            if (!fieldExtractors.containsKey(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field
+                        + " (supported: " + String.join(", ", fieldExtractors.keySet()) + ")");
+            }
+        }
+
+        PageRequest pageRequest = PageRequest.of(query.getPage(), query.getSize(), toSort(query));
+        Page<QueueEntity> page = queueRepository.findAll(toSpecification(query), pageRequest);
+
+        List<Map<String, Object>> content = new ArrayList<>(page.getNumberOfElements());
+        for (QueueEntity entity : page.getContent()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                row.put(field, fieldExtractors.get(field).apply(entity));
+            }
+            content.add(row);
+        }
+
+        return new QueuePage(content, page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages());
+    }
+
+    private Specification<QueueEntity> toSpecification(QueueQuery query) {
+        List<Specification<QueueEntity>> specs = new ArrayList<>();
+        if (query.getPrefix() != null && !query.getPrefix().isEmpty()) {
+            specs.add(QueueSpecifications.nameStartsWith(query.getPrefix()));
+        }
+        if (query.getContains() != null && !query.getContains().isEmpty()) {
+            specs.add(QueueSpecifications.nameContains(query.getContains()));
+        }
+        if (query.getRegions() != null && !query.getRegions().isEmpty()) {
+            specs.add(QueueSpecifications.regionIn(query.getRegions()));
+        }
+        return Specification.allOf(specs);
+    }
+
+    private Sort toSort(QueueQuery query) {
+        String column = SORT_COLUMNS.get(query.getSort());
+        if (column == null) {
+            throw new IllegalArgumentException("Unsupported sort: " + query.getSort()
+                    + " (supported: " + String.join(", ", SORT_COLUMNS.keySet()) + ")");
+        }
+        Sort.Direction direction = "desc".equalsIgnoreCase(query.getDirection())
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+        // Tie-breakers keep page boundaries stable
+        return Sort.by(direction, column)
+                .and(Sort.by(Sort.Direction.ASC, "queueName"))
+                .and(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> parseAttributes(String attributesJson) {
+        try {
+            return objectMapper.readValue(attributesJson, Map.class);
+        } catch (JacksonException e) {
+            throw new RuntimeException("Failed to deserialize queue attributes", e);
+        }
+    }
+}
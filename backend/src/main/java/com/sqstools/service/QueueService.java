@@ -2,23 +2,40 @@ package com.sqstools.service;
 
 import tools.jackson.databind.ObjectMapper;
 import com.sqstools.aws.SQSClientFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+/**
+ * Queue-level SQS reads. URL lookups and attribute reads are coalesced per
+ * client and queue: several tabs opening the same queue share one in-flight
+ * call, and the result is reused for a short while.
+ */
 @Service
 public class QueueService {
 
     private final SQSClientFactory clientFactory;
     private final ObjectMapper objectMapper;
+    private final SingleFlight<ReadKey, String> urlReads;
+    private final SingleFlight<ReadKey, Map<String, String>> attributeReads;
+    private final SingleFlight<ReadKey, Map<String, String>> depthReads;
 
-    public QueueService(SQSClientFactory clientFactory, ObjectMapper objectMapper) {
+    public QueueService(SQSClientFactory clientFactory,
+                        ObjectMapper objectMapper,
+                        @Value("${sqstools.coalescing.url-ttl-ms:300000}") long urlTtlMillis,
+                        @Value("${sqstools.coalescing.attributes-ttl-ms:1000}") long attributesTtlMillis) {
         this.clientFactory = clientFactory;
         this.objectMapper = objectMapper;
+        this.urlReads = new SingleFlight<>(urlTtlMillis);
+        this.attributeReads = new SingleFlight<>(attributesTtlMillis);
+        this.depthReads = new SingleFlight<>(attributesTtlMillis);
     }
 
     public String resolveQueueUrl(String identifier, String region) {
@@ -29,67 +46,187 @@ public class QueueService {
         
         // Otherwise, resolve queue name to URL
         SqsClient client = clientFactory.getClient(region);
+        return urlReads.get(new ReadKey(client, identifier), () -> {
+            try {
+                GetQueueUrlResponse response = client.getQueueUrl(
+                        GetQueueUrlRequest.builder()
+                                .queueName(identifier)
+                                .build()
+                );
+                return response.queueUrl();
+            } catch (QueueDoesNotExistException e) {
+                throw new RuntimeException("Queue not found: " + identifier, e);
+            } catch (SqsException e) {
+                throw new RuntimeException("Failed to resolve queue URL: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Lists every queue URL in the region, following ListQueues pagination.
+     */
+    public List<String> listQueueUrls(String region, String namePrefix) {
+        SqsClient client = clientFactory.getClient(region);
+        ListQueuesRequest.Builder requestBuilder = ListQueuesRequest.builder()
+                .maxResults(1000);
+        if (namePrefix != null && !namePrefix.isBlank()) {
+            requestBuilder.queueNamePrefix(namePrefix);
+        }
+
         try {
-            GetQueueUrlResponse response = client.getQueueUrl(
-                    GetQueueUrlRequest.builder()
-                            .queueName(identifier)
-                            .build()
-            );
-            return response.queueUrl();
+            List<String> queueUrls = new ArrayList<>();
+            client.listQueuesPaginator(requestBuilder.build())
+                    .queueUrls()
+                    .forEach(queueUrls::add);
+            return queueUrls;
+        } catch (SqsException e) {
+            throw new RuntimeException("Failed to list queues in " + region + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Resolves a queue ARN to its URL through GetQueueUrl, so the URL comes from
+     * SQS instead of being assembled from the ARN parts.
+     */
+    public String resolveQueueUrlFromArn(String queueArn) {
+        String[] arnParts = queueArn.split(":");
+        if (arnParts.length < 6) {
+            throw new IllegalArgumentException("Invalid queue ARN: " + queueArn);
+        }
+        String region = arnParts[3];
+        String accountId = arnParts[4];
+        String queueName = arnParts[5];
+
+        SqsClient client = clientFactory.getClient(region);
+        return urlReads.get(new ReadKey(client, queueArn), () -> {
+            try {
+                GetQueueUrlResponse response = client.getQueueUrl(
+                        GetQueueUrlRequest.builder()
+                                .queueName(queueName)
+                                .queueOwnerAWSAccountId(accountId)
+                                .build()
+                );
+                return response.queueUrl();
+            } catch (QueueDoesNotExistException e) {
+                throw new RuntimeException("Queue not found: " + queueArn, e);
+            } catch (SqsException e) {
+                throw new RuntimeException("Failed to resolve queue URL: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Lists the queues whose redrive policy targets the given DLQ.
+     */
+    public List<String> listDeadLetterSourceQueues(String dlqUrl, String region) {
+        SqsClient client = clientFactory.getClient(region);
+        try {
+            List<String> sourceUrls = new ArrayList<>();
+            client.listDeadLetterSourceQueuesPaginator(
+                            ListDeadLetterSourceQueuesRequest.builder()
+                                    .queueUrl(dlqUrl)
+                                    .maxResults(1000)
+                                    .build())
+                    .queueUrls()
+                    .forEach(sourceUrls::add);
+            return sourceUrls;
         } catch (QueueDoesNotExistException e) {
-            throw new RuntimeException("Queue not found: " + identifier, e);
+            throw new RuntimeException("Queue not found: " + dlqUrl, e);
         } catch (SqsException e) {
-            throw new RuntimeException("Failed to resolve queue URL: " + e.getMessage(), e);
+            throw new RuntimeException("Failed to list dead-letter source queues: " + e.getMessage(), e);
         }
     }
 
     public Map<String, String> getQueueAttributes(String queueUrl, String region) {
         SqsClient client = clientFactory.getClient(region);
+        return attributeReads.get(new ReadKey(client, queueUrl), () -> {
+            try {
+                GetQueueAttributesResponse response = client.getQueueAttributes(
+                        GetQueueAttributesRequest.builder()
+                                .queueUrl(queueUrl)
+                                .attributeNamesWithStrings("All")
+                                .build()
+                );
+                return response.attributesAsStrings();
+            } catch (QueueDoesNotExistException e) {
+                throw new RuntimeException("Queue not found: " + queueUrl, e);
+            } catch (SqsException e) {
+                throw new RuntimeException("Failed to get queue attributes: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    public Map<String, String> getQueueDepthAttributes(String queueUrl, String region) {
+        SqsClient client = clientFactory.getClient(region);
+        return depthReads.get(new ReadKey(client, queueUrl), () -> fetchQueueDepthAttributes(client, queueUrl));
+    }
+
+    /**
+     * Same as {@link #getQueueDepthAttributes} but always makes its own SQS
+     * call, for callers that need the request itself (e.g. to open a connection).
+     */
+    public Map<String, String> fetchQueueDepthAttributes(String queueUrl, String region) {
+        return fetchQueueDepthAttributes(clientFactory.getClient(region), queueUrl);
+    }
+
+    private Map<String, String> fetchQueueDepthAttributes(SqsClient client, String queueUrl) {
         try {
             GetQueueAttributesResponse response = client.getQueueAttributes(
                     GetQueueAttributesRequest.builder()
                             .queueUrl(queueUrl)
-                            .attributeNamesWithStrings("All")
+                            .attributeNames(
+                                    QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES,
+                                    QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE,
+                                    QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_DELAYED)
                             .build()
             );
             return response.attributesAsStrings();
         } catch (QueueDoesNotExistException e) {
             throw new RuntimeException("Queue not found: " + queueUrl, e);
         } catch (SqsException e) {
-            throw new RuntimeException("Failed to get queue attributes: " + e.getMessage(), e);
+            throw new RuntimeException("Failed to get queue depth: " + e.getMessage(), e);
         }
     }
 
     public Optional<String> extractDlqFromAttributes(Map<String, String> attributes) {
+        return extractDlqArn(attributes).flatMap(dlqArn -> {
+            // Convert ARN to URL
+            String[] arnParts = dlqArn.split(":");
+            if (arnParts.length < 6) {
+                return Optional.empty();
+            }
+            String region = arnParts[3];
+            String accountId = arnParts[4];
+            String queueName = arnParts[5];
+
+            return Optional.of(String.format("https://sqs.%s.amazonaws.com/%s/%s",
+                    region, accountId, queueName));
+        });
+    }
+
+    public Optional<String> extractDlqArn(Map<String, String> attributes) {
         String redrivePolicy = attributes.get("RedrivePolicy");
         if (redrivePolicy == null || redrivePolicy.isEmpty()) {
             return Optional.empty();
         }
-        
+
         try {
             @SuppressWarnings("unchecked")
             Map<String, Object> policy = objectMapper.readValue(redrivePolicy, Map.class);
-            String dlqArn = (String) policy.get("deadLetterTargetArn");
-            
-            if (dlqArn != null) {
-                // Convert ARN to URL
-                String[] arnParts = dlqArn.split(":");
-                String region = arnParts[3];
-                String accountId = arnParts[4];
-                String queueName = arnParts[5];
-                
-                return Optional.of(String.format("https://sqs.%s.amazonaws.com/%s/%s", 
-                        region, accountId, queueName));
-            }
+            return Optional.ofNullable((String) policy.get("deadLetterTargetArn"));
         } catch (Exception e) {
             // If parsing fails, return empty
+            return Optional.empty();
         }
-        
-        return Optional.empty();
     }
 
     public String extractQueueName(String queueUrl) {
         String[] parts = queueUrl.split("/");
         return parts[parts.length - 1];
     }
+
+    // The pooled client stands for the credentials and region, so reads are
+    // never shared across profiles or roles
+    private record ReadKey(SqsClient client, String target) {
+    }
 }
@@ -90,7 +90,7 @@ public class RedriveService {
         return result;
     }
 
-    private Map<String, MessageAttributeValue> convertMessageAttributes(Map<String, Object> attributes) {
+    static Map<String, MessageAttributeValue> convertMessageAttributes(Map<String, Object> attributes) {
         if (attributes == null || attributes.isEmpty()) {
             return new HashMap<>();
         }
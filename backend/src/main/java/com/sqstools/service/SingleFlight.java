@@ -0,0 +1,79 @@
+package com.sqstools.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent reads: the first caller for a key runs the
+ * load, callers arriving while it is in flight wait for the same result, and
+ * the result is then served for {@code ttlMillis} to absorb bursts. Failures
+ * are handed to every waiting caller but never cached.
+ */
+final class SingleFlight<K, V> {
+
+    private final long ttlMillis;
+    private final Executor expiry;
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    SingleFlight(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        this.expiry = CompletableFuture.delayedExecutor(ttlMillis, TimeUnit.MILLISECONDS);
+    }
+
+    V get(K key, Supplier<V> loader) {
+        long now = System.currentTimeMillis();
+        Flight<V> created = new Flight<>();
+        Flight<V> flight = flights.compute(key,
+                (k, existing) -> existing != null && !existing.isExpired(now) ? existing : created);
+        if (flight != created) {
+            return flight.await();
+        }
+
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, created);
+            created.future.completeExceptionally(e);
+            throw e;
+        }
+        long completedAt = System.currentTimeMillis();
+        created.expiresAt = completedAt + ttlMillis;
+        created.future.complete(value);
+        // Each flight removes only itself, so completing stays O(1) however many keys there are
+        if (ttlMillis <= 0) {
+            flights.remove(key, created);
+        } else {
+            expiry.execute(() -> flights.remove(key, created));
+        }
+        return value;
+    }
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private boolean isExpired(long now) {
+            return future.isDone() && now >= expiresAt;
+        }
+
+        private V await() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.sqstools;
+
+import com.sqstools.fake.FakeSqsServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Drives the REST endpoints concurrently against the in-process fake SQS and
+ * reports throughput and p50/p95/p99 latency per endpoint. Fails when p99 or
+ * throughput regresses past the allowed ratio against the stored baseline,
+ * and when there is no baseline to compare with.
+ * <p>
+ * Excluded from {@code ./gradlew test}; run with {@code ./gradlew loadTest}.
+ * Options (as {@code -Ploadtest.<name>=<value>}): {@code requests} per
+ * endpoint, {@code concurrency}, {@code maxP99Increase} and
+ * {@code maxThroughputDecrease} (ratios, e.g. 0.5 = 50%), and
+ * {@code updateBaseline=true} to record the current run as the baseline.
+ */
+@Tag("load")
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ApiLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiLoadTest.class);
+
+    private static final Path BASELINE = Path.of("src/test/resources/load-test-baseline.json");
+    private static final Path RESULTS = Path.of("build/load-test/results.json");
+    private static final int WARMUP_REQUESTS = 200;
+    private static final String BODY = "{\"orderId\":42,\"status\":\"FAILED\",\"items\":[{\"sku\":\"A-1\",\"qty\":2}]}";
+
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 2_000);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+    private static final double MAX_P99_INCREASE = Double.parseDouble(System.getProperty("loadtest.maxP99Increase", "0.5"));
+    private static final double MAX_THROUGHPUT_DECREASE =
+            Double.parseDouble(System.getProperty("loadtest.maxThroughputDecrease", "0.3"));
+
+    private static FakeSqsServer fakeSqs;
+    private static SqsClient sqs;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+
+    @LocalServerPort
+    private int port;
+
+    @BeforeAll
+    static void startFakeSqs() throws Exception {
+        fakeSqs = new FakeSqsServer(0, "us-east-1");
+        fakeSqs.start();
+        // Part of the default credentials chain; the fake does not check signatures
+        System.setProperty("aws.accessKeyId", "fake");
+        System.setProperty("aws.secretAccessKey", "fake");
+        sqs = SqsClient.builder()
+                .region(Region.US_EAST_1)
+                .endpointOverride(URI.create(fakeSqs.getEndpoint()))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("fake", "fake")))
+                .build();
+    }
+
+    @AfterAll
+    static void stopFakeSqs() {
+        sqs.close();
+        fakeSqs.stop();
+    }
+
+    @DynamicPropertySource
+    static void fakeSqsEndpoint(DynamicPropertyRegistry registry) {
+        registry.add("sqstools.sqs.endpoint-override", () -> fakeSqs.getEndpoint());
+    }
+
+    @Test
+    void endpointsMeetLatencyAndThroughputBaseline() throws Exception {
+        // Given: a queue with a DLQ, both saved in the app
+        String dlqUrl = sqs.createQueue(r -> r.queueName("load-orders-dlq")).queueUrl();
+        String dlqArn = sqs.getQueueAttributes(r -> r.queueUrl(dlqUrl).attributeNames(QueueAttributeName.QUEUE_ARN))
+                .attributes().get(QueueAttributeName.QUEUE_ARN);
+        String queueUrl = sqs.createQueue(r -> r.queueName("load-orders").attributesWithStrings(Map.of(
+                "RedrivePolicy", "{\"deadLetterTargetArn\":\"" + dlqArn + "\",\"maxReceiveCount\":\"5\"}"))).queueUrl();
+        String queueId = addQueue("load-orders");
+        fill(queueUrl, 1_000);
+        // Each redrive call moves up to 10 messages
+        fill(dlqUrl, (REQUESTS + WARMUP_REQUESTS) * 10);
+
+        String messages = "/api/queues/" + queueId + "/messages";
+        String sendBody = objectMapper.writeValueAsString(Map.of("body", BODY));
+        String redriveBody = objectMapper.writeValueAsString(Map.of("maxMessages", 10));
+        // Bulk delete issues one DELETE per message of received batches
+        ConcurrentLinkedQueue<String> receiptHandles = new ConcurrentLinkedQueue<>();
+
+        Map<String, Supplier<HttpRequest>> scenarios = new LinkedHashMap<>();
+        scenarios.put("GET /api/queues", () -> get("/api/queues"));
+        scenarios.put("GET messages (receive)", () -> get(messages + "?maxMessages=10&visibilityTimeout=0"));
+        scenarios.put("GET messages (peek)", () -> get(messages + "?maxMessages=10&peek=true"));
+        scenarios.put("POST messages (send)", () -> post(messages, sendBody));
+        scenarios.put("DELETE messages (bulk delete)", () -> delete(messages + "?receiptHandle="
+                + nextReceiptHandle(queueUrl, receiptHandles)));
+        scenarios.put("POST redrive", () -> post("/api/queues/" + queueId + "/redrive", redriveBody));
+
+        // When
+        Map<String, Stats> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Supplier<HttpRequest>> scenario : scenarios.entrySet()) {
+            run(scenario.getValue(), WARMUP_REQUESTS);
+            results.put(scenario.getKey(), run(scenario.getValue(), REQUESTS));
+        }
+
+        // Then
+        StringBuilder report = new StringBuilder(String.format("%d requests per endpoint, %d concurrent clients%n",
+                REQUESTS, CONCURRENCY));
+        report.append(String.format("%-32s %7s %7s %10s %9s %9s %9s", "endpoint", "ok", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms"));
+        results.forEach((name, stats) -> report.append(String.format("%n%-32s %7d %7d %10.0f %9.2f %9.2f %9.2f",
+                name, stats.ok, stats.errors, stats.throughput, stats.p50Ms, stats.p95Ms, stats.p99Ms)));
+        logger.info("Load test results\n{}", report);
+
+        Map<String, Map<String, Object>> current = new LinkedHashMap<>();
+        results.forEach((name, stats) -> current.put(name, stats.toMap()));
+        Files.createDirectories(RESULTS.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(RESULTS.toFile(), current);
+
+        results.forEach((name, stats) -> assertThat(stats.errors).as("errors for %s", name).isZero());
+        if (Boolean.getBoolean("loadtest.updateBaseline")) {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(BASELINE.toFile(), current);
+            logger.info("Baseline updated: {}", BASELINE);
+            return;
+        }
+        // Without a baseline nothing is checked, which must not pass as a green run
+        assertThat(Files.exists(BASELINE))
+                .as("No baseline at %s; record one with -Ploadtest.updateBaseline=true", BASELINE)
+                .isTrue();
+        assertWithinBaseline(results);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertWithinBaseline(Map<String, Stats> results) {
+        Map<String, Map<String, Object>> baseline = objectMapper.readValue(BASELINE.toFile(), Map.class);
+        List<String> regressions = new ArrayList<>();
+        results.forEach((name, stats) -> {
+            Map<String, Object> expected = baseline.get(name);
+            if (expected == null) {
+                regressions.add(name + ": not in the baseline; record one with -Ploadtest.updateBaseline=true");
+                return;
+            }
+            double baselineP99 = ((Number) expected.get("p99Ms")).doubleValue();
+            double baselineThroughput = ((Number) expected.get("throughput")).doubleValue();
+            if (stats.p99Ms > baselineP99 * (1 + MAX_P99_INCREASE)) {
+                regressions.add(String.format("%s: p99 %.2f ms vs baseline %.2f ms", name, stats.p99Ms, baselineP99));
+            }
+            if (stats.throughput < baselineThroughput * (1 - MAX_THROUGHPUT_DECREASE)) {
+                regressions.add(String.format("%s: %.0f req/s vs baseline %.0f req/s",
+                        name, stats.throughput, baselineThroughput));
+            }
+        });
+        assertThat(regressions).as("regressions beyond +%.0f%% p99 / -%.0f%% throughput",
+                MAX_P99_INCREASE * 100, MAX_THROUGHPUT_DECREASE * 100).isEmpty();
+    }
+
+    private Stats run(Supplier<HttpRequest> request, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicLong errors = new AtomicLong();
+        long started = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>();
+            for (int c = 0; c < CONCURRENCY; c++) {
+                running.add(clients.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests) {
+                        HttpRequest httpRequest = request.get();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(httpRequest, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : running) {
+                future.get();
+            }
+        }
+        return new Stats(latencies, errors.get(), System.nanoTime() - started);
+    }
+
+    private String nextReceiptHandle(String queueUrl, ConcurrentLinkedQueue<String> receiptHandles) {
+        String receiptHandle;
+        while ((receiptHandle = receiptHandles.poll()) == null) {
+            List<Message> received = sqs.receiveMessage(r -> r.queueUrl(queueUrl).maxNumberOfMessages(10)).messages();
+            if (received.isEmpty()) {
+                fill(queueUrl, 100);
+            }
+            received.forEach(message -> receiptHandles.add(message.receiptHandle()));
+        }
+        return URLEncoder.encode(receiptHandle, StandardCharsets.UTF_8);
+    }
+
+    private void fill(String queueUrl, int count) {
+        for (int start = 0; start < count; start += 10) {
+            int batch = Math.min(10, count - start);
+            sqs.sendMessageBatch(r -> r.queueUrl(queueUrl).entries(IntStream.range(0, batch)
+                    .mapToObj(i -> SendMessageBatchRequestEntry.builder().id("m" + i).messageBody(BODY).build())
+                    .toList()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String addQueue(String name) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("identifier", name, "region", "us-east-1"));
+        HttpResponse<String> response = http.send(post("/api/queues", body), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as(response.body()).isEqualTo(200);
+        return (String) objectMapper.readValue(response.body(), Map.class).get("id");
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest delete(String path) {
+        return HttpRequest.newBuilder(uri(path)).DELETE().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static final class Stats {
+        private final long ok;
+        private final long errors;
+        private final double throughput;
+        private final double p50Ms;
+        private final double p95Ms;
+        private final double p99Ms;
+
+        private Stats(long[] latencies, long errors, long elapsedNanos) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            this.ok = sorted.length - errors;
+            this.errors = errors;
+            this.throughput = sorted.length / (elapsedNanos / 1e9);
+            this.p50Ms = percentile(sorted, 0.50);
+            this.p95Ms = percentile(sorted, 0.95);
+            this.p99Ms = percentile(sorted, 0.99);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("throughput", Math.round(throughput));
+            map.put("p50Ms", p50Ms);
+            map.put("p95Ms", p95Ms);
+            map.put("p99Ms", p99Ms);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.sqstools.aws;
+
+import com.sqstools.config.TaskExecutors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.services.sts.StsClient;
+import software.amazon.awssdk.services.sts.model.AssumeRoleRequest;
+import software.amazon.awssdk.services.sts.model.AssumeRoleResponse;
+import software.amazon.awssdk.services.sts.model.AssumedRoleUser;
+import software.amazon.awssdk.services.sts.model.Credentials;
+import software.amazon.awssdk.services.sts.model.GetCallerIdentityRequest;
+import software.amazon.awssdk.services.sts.model.GetCallerIdentityResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CredentialsProviderTest {
+
+    private static final String ROLE_ARN = "arn:aws:iam::123456789012:role/reader";
+
+    @Mock
+    private StsClient stsClient;
+
+    @TempDir
+    Path awsDir;
+
+    private CredentialsProvider credentialsProvider;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path credentials = awsDir.resolve("credentials");
+        Files.writeString(credentials, """
+                [first]
+                aws_access_key_id = AKIAFIRST
+                aws_secret_access_key = first-secret
+
+                [second]
+                aws_access_key_id = AKIASECOND
+                aws_secret_access_key = second-secret
+                """);
+        System.setProperty("aws.sharedCredentialsFile", credentials.toString());
+        System.setProperty("aws.configFile", awsDir.resolve("config").toString());
+        credentialsProvider = new CredentialsProvider(new TaskExecutors(false), 3_600_000, stsClient);
+        // Profile switches also warm the identity cache in the background
+        lenient().when(stsClient.getCallerIdentity(any(GetCallerIdentityRequest.class)))
+                .thenAnswer(invocation -> callerIdentity(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("aws.sharedCredentialsFile");
+        System.clearProperty("aws.configFile");
+    }
+
+    @Test
+    void roleOnlyContext_ShouldAssumeRoleWithCurrentlyActiveProfile() {
+        // Given
+        when(stsClient.assumeRole(any(AssumeRoleRequest.class))).thenReturn(assumeRoleResponse());
+        CredentialContext roleOnly = CredentialContext.of(null, ROLE_ARN);
+        credentialsProvider.setActiveProfile("first");
+        String firstKey = credentialsProvider.resolveContextKey(roleOnly);
+        AwsCredentialsProvider firstProvider = credentialsProvider.getCredentialsProvider(roleOnly);
+        firstProvider.resolveCredentials();
+
+        // When
+        credentialsProvider.setActiveProfile("second");
+        String secondKey = credentialsProvider.resolveContextKey(roleOnly);
+        AwsCredentialsProvider secondProvider = credentialsProvider.getCredentialsProvider(roleOnly);
+        secondProvider.resolveCredentials();
+
+        // Then
+        assertThat(secondProvider).isNotSameAs(firstProvider);
+        assertThat(secondKey).isEqualTo("active:" + credentialsProvider.getCredentialMethod() + "|role:" + ROLE_ARN);
+        ArgumentCaptor<AssumeRoleRequest> requests = ArgumentCaptor.forClass(AssumeRoleRequest.class);
+        verify(stsClient, times(2)).assumeRole(requests.capture());
+        List<String> baseKeys = requests.getAllValues().stream()
+                .map(request -> request.overrideConfiguration().orElseThrow().credentialsProvider().orElseThrow()
+                        .resolveCredentials().accessKeyId())
+                .toList();
+        // Without credentials in the environment the active profile decides the base
+        if (credentialsProvider.getCredentialMethod().startsWith("profile:")) {
+            assertThat(firstKey).isNotEqualTo(secondKey);
+            assertThat(baseKeys.get(1)).isEqualTo("AKIASECOND");
+        } else {
+            assertThat(baseKeys.get(1)).isEqualTo(credentialsProvider.getCredentialsProvider().resolveCredentials().accessKeyId());
+        }
+    }
+
+    @Test
+    void profileContext_ShouldSurviveActiveProfileSwitch() {
+        // Given
+        CredentialContext pinned = CredentialContext.of("first", null);
+        AwsCredentialsProvider before = credentialsProvider.getCredentialsProvider(pinned);
+
+        // When
+        credentialsProvider.setActiveProfile("second");
+
+        // Then
+        assertThat(credentialsProvider.getCredentialsProvider(pinned)).isSameAs(before);
+        assertThat(credentialsProvider.resolveContextKey(pinned)).isEqualTo(pinned.toString());
+    }
+
+    @Test
+    void getCallerIdentity_ShouldServeCachedIdentityWithinTtl() {
+        // Given
+        CredentialContext first = CredentialContext.of("first", null);
+
+        // When
+        Optional<CallerIdentity> identity = credentialsProvider.getCallerIdentity(first);
+        Optional<CallerIdentity> again = credentialsProvider.getCallerIdentity(first);
+
+        // Then
+        assertThat(identity).isPresent();
+        assertThat(again).containsSame(identity.get());
+        assertThat(identity.get().getUserId()).isEqualTo("AKIAFIRST");
+        verify(stsClient, times(1)).getCallerIdentity(any(GetCallerIdentityRequest.class));
+    }
+
+    @Test
+    void getCallerIdentity_ShouldLookUpAgainAfterTtl() {
+        // Given
+        CredentialsProvider noCache = new CredentialsProvider(new TaskExecutors(false), 0, stsClient);
+        CredentialContext first = CredentialContext.of("first", null);
+
+        // When
+        Optional<CallerIdentity> identity = noCache.getCallerIdentity(first);
+        Optional<CallerIdentity> again = noCache.getCallerIdentity(first);
+
+        // Then
+        assertThat(identity).isPresent();
+        assertThat(again).isPresent();
+        assertThat(again.get()).isNotSameAs(identity.get());
+        verify(stsClient, times(2)).getCallerIdentity(any(GetCallerIdentityRequest.class));
+    }
+
+    @Test
+    void getCallerIdentity_ShouldCachePerContext() {
+        // Given
+        CredentialContext first = CredentialContext.of("first", null);
+        CredentialContext second = CredentialContext.of("second", null);
+
+        // When
+        String firstUser = credentialsProvider.getCallerIdentity(first).orElseThrow().getUserId();
+        String secondUser = credentialsProvider.getCallerIdentity(second).orElseThrow().getUserId();
+        credentialsProvider.getCallerIdentity(first);
+        credentialsProvider.getCallerIdentity(second);
+
+        // Then
+        assertThat(firstUser).isEqualTo("AKIAFIRST");
+        assertThat(secondUser).isEqualTo("AKIASECOND");
+        verify(stsClient, times(2)).getCallerIdentity(any(GetCallerIdentityRequest.class));
+    }
+
+    @Test
+    void getCallerIdentity_ShouldNotReuseIdentityOfPreviousActiveProfile() {
+        // Environment credentials take precedence over the active profile
+        assumeTrue(System.getenv("AWS_ACCESS_KEY_ID") == null);
+
+        // Given
+        credentialsProvider.setActiveProfile("first");
+        CallerIdentity before = credentialsProvider.getCallerIdentity(CredentialContext.ACTIVE).orElseThrow();
+
+        // When
+        credentialsProvider.setActiveProfile("second");
+        CallerIdentity after = credentialsProvider.getCallerIdentity(CredentialContext.ACTIVE).orElseThrow();
+
+        // Then
+        assertThat(before.getUserId()).isEqualTo("AKIAFIRST");
+        assertThat(after.getUserId()).isEqualTo("AKIASECOND");
+        assertThat(credentialsProvider.getAccountId()).contains("123456789012");
+    }
+
+    private static GetCallerIdentityResponse callerIdentity(GetCallerIdentityRequest request) {
+        String accessKeyId = request.overrideConfiguration().orElseThrow().credentialsProvider().orElseThrow()
+                .resolveCredentials().accessKeyId();
+        return GetCallerIdentityResponse.builder()
+                .account("123456789012")
+                .arn("arn:aws:iam::123456789012:user/" + accessKeyId)
+                .userId(accessKeyId)
+                .build();
+    }
+
+    private static AssumeRoleResponse assumeRoleResponse() {
+        return AssumeRoleResponse.builder()
+                .credentials(Credentials.builder()
+                        .accessKeyId("ASIAROLE")
+                        .secretAccessKey("role-secret")
+                        .sessionToken("token")
+                        .expiration(Instant.now().plus(1, ChronoUnit.HOURS))
+                        .build())
+                .assumedRoleUser(AssumedRoleUser.builder()
+                        .arn("arn:aws:sts::123456789012:assumed-role/reader/sqs-tools")
+                        .assumedRoleId("AROA:sqs-tools")
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.sqstools.aws;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.services.sqs.SqsClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SQSClientFactoryTest {
+
+    @Mock
+    private CredentialsProvider credentialsProvider;
+
+    private SqsHttpTransport httpTransport;
+    private SQSClientFactory clientFactory;
+
+    @BeforeEach
+    void setUp() {
+        httpTransport = new SqsHttpTransport(new HttpPoolMetrics(), 10, 1000, 1000, 30000, 60000, 60000, true, 5000, 30000, 100, 100);
+        clientFactory = new SQSClientFactory(credentialsProvider, httpTransport, List.of(), 600_000, 0, "");
+        lenient().when(credentialsProvider.getCredentialsProvider(any(CredentialContext.class)))
+                .thenReturn(StaticCredentialsProvider.create(AwsBasicCredentials.create("key", "secret")));
+        lenient().when(credentialsProvider.resolveContextKey(any()))
+                .thenAnswer(invocation -> {
+                    CredentialContext context = invocation.getArgument(0);
+                    return context.isActive() ? "active:profile:dev" : context.toString();
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        clientFactory.clearCache();
+        httpTransport.close();
+    }
+
+    @Test
+    void getClient_ShouldPoolPerCredentialContextAndRegion() {
+        // Given
+        CredentialContext prod = CredentialContext.of("prod", null);
+
+        // When
+        SqsClient active = clientFactory.getClient("us-east-1");
+        SqsClient activeAgain = clientFactory.getClient(CredentialContext.ACTIVE, "us-east-1");
+        SqsClient prodClient = clientFactory.getClient(prod, "us-east-1");
+        SqsClient otherRegion = clientFactory.getClient(prod, "eu-west-1");
+
+        // Then
+        assertThat(activeAgain).isSameAs(active);
+        assertThat(prodClient).isNotSameAs(active);
+        assertThat(otherRegion).isNotSameAs(prodClient);
+        assertThat(clientFactory.getPooledClientCount()).isEqualTo(3);
+    }
+
+    @Test
+    void getClient_ShouldUseHolderContext() {
+        // Given
+        CredentialContext prod = CredentialContext.of("prod", "arn:aws:iam::123456789012:role/ops");
+        SqsClient pinned = clientFactory.getClient(prod, "us-east-1");
+
+        // When
+        SqsClient fromHolder = CredentialContextHolder.call(prod, () -> clientFactory.getClient("us-east-1"));
+
+        // Then
+        assertThat(fromHolder).isSameAs(pinned);
+        assertThat(CredentialContextHolder.get()).isEqualTo(CredentialContext.ACTIVE);
+    }
+
+    @Test
+    void refreshClients_ShouldRetireOnlyActiveProfileAndKeepLeasedClientOpen() {
+        // Given
+        CredentialContext prod = CredentialContext.of("prod", null);
+        SqsClient prodClient = clientFactory.getClient(prod, "us-east-1");
+        SqsClientLease lease = clientFactory.lease("us-east-1");
+
+        // When
+        clientFactory.refreshClients();
+        clientFactory.evictIdleClients();
+
+        // Then
+        assertThat(clientFactory.getClient(prod, "us-east-1")).isSameAs(prodClient);
+        assertThat(clientFactory.getClient("us-east-1")).isNotSameAs(lease.client());
+        assertThat(clientFactory.getRetiredClientCount()).isEqualTo(1);
+
+        // When
+        lease.close();
+        clientFactory.evictIdleClients();
+
+        // Then
+        assertThat(clientFactory.getRetiredClientCount()).isZero();
+    }
+}
@@ -0,0 +1,106 @@
+package com.sqstools.aws;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.AwsExecutionAttribute;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SqsMetricsInterceptorTest {
+
+    private static final String QUEUE_URL = "https://sqs.us-east-1.amazonaws.com/123456789012/orders";
+
+    private SimpleMeterRegistry registry;
+    private SqsMetricsInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        interceptor = new SqsMetricsInterceptor(registry, true);
+    }
+
+    @Test
+    void shouldRecordSuccessfulCallWithOperationRegionAndQueueTags() {
+        // Given
+        ExecutionAttributes attributes = attributes();
+        interceptor.beforeExecution(beforeExecution(), attributes);
+        interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), attributes);
+
+        // When
+        interceptor.afterExecution(mock(Context.AfterExecution.class), attributes);
+
+        // Then
+        Timer timer = registry.find("sqs.client.requests")
+                .tags("operation", "ReceiveMessage", "region", "us-east-1", "queue", "orders", "outcome", "success")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(registry.find("sqs.client.retries").counter()).isNull();
+    }
+
+    @Test
+    void shouldClassifyThrottlesAndCountRetries() {
+        // Given
+        ExecutionAttributes attributes = attributes();
+        interceptor.beforeExecution(beforeExecution(), attributes);
+        interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), attributes);
+        interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), attributes);
+        SqsException throttled = (SqsException) SqsException.builder()
+                .statusCode(400)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+                .build();
+        Context.FailedExecution failed = mock(Context.FailedExecution.class);
+        when(failed.exception()).thenReturn(throttled);
+
+        // When
+        interceptor.onExecutionFailure(failed, attributes);
+
+        // Then
+        assertThat(registry.find("sqs.client.requests").tag("outcome", "throttled").timer().count()).isEqualTo(1);
+        assertThat(registry.find("sqs.client.errors").tag("error", "ThrottlingException").counter().count()).isEqualTo(1);
+        assertThat(registry.find("sqs.client.retries").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPublishHistogramOnlyWithoutQueueTag() {
+        // Given
+        SqsMetricsInterceptor withoutQueueTag = new SqsMetricsInterceptor(registry, false);
+        ExecutionAttributes perOperation = attributes();
+        ExecutionAttributes perQueue = attributes();
+        withoutQueueTag.beforeExecution(beforeExecution(), perOperation);
+        interceptor.beforeExecution(beforeExecution(), perQueue);
+
+        // When
+        withoutQueueTag.afterExecution(mock(Context.AfterExecution.class), perOperation);
+        interceptor.afterExecution(mock(Context.AfterExecution.class), perQueue);
+
+        // Then
+        Timer operationTimer = registry.find("sqs.client.requests").tag("queue", "none").timer();
+        Timer queueTimer = registry.find("sqs.client.requests").tag("queue", "orders").timer();
+        assertThat(operationTimer.takeSnapshot().histogramCounts()).isNotEmpty();
+        assertThat(queueTimer.takeSnapshot().histogramCounts()).isEmpty();
+    }
+
+    private ExecutionAttributes attributes() {
+        ExecutionAttributes attributes = new ExecutionAttributes();
+        attributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, "ReceiveMessage");
+        attributes.putAttribute(AwsExecutionAttribute.AWS_REGION, Region.US_EAST_1);
+        return attributes;
+    }
+
+    private Context.BeforeExecution beforeExecution() {
+        Context.BeforeExecution context = mock(Context.BeforeExecution.class);
+        when(context.request()).thenReturn(ReceiveMessageRequest.builder().queueUrl(QUEUE_URL).build());
+        return context;
+    }
+}
@@ -0,0 +1,82 @@
+package com.sqstools.aws;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SqsRequestAccountingTest {
+
+    private SqsRequestAccounting accounting;
+
+    @BeforeEach
+    void setUp() {
+        accounting = new SqsRequestAccounting(0.40, 0.50);
+    }
+
+    @Test
+    void shouldBillEveryStarted64KbChunkOfPayload() {
+        // Given
+        String body = "x".repeat(SqsRequestAccounting.CHUNK_BYTES + 1);
+        SendMessageBatchRequest batch = SendMessageBatchRequest.builder()
+                .entries(SendMessageBatchRequestEntry.builder().id("1").messageBody(body).build(),
+                        SendMessageBatchRequestEntry.builder().id("2").messageBody(body).build())
+                .build();
+
+        // When / Then
+        assertThat(SqsRequestAccounting.billedChunks(ReceiveMessageRequest.builder().build())).isEqualTo(1);
+        assertThat(SqsRequestAccounting.billedChunks(SendMessageRequest.builder().messageBody("small").build())).isEqualTo(1);
+        assertThat(SqsRequestAccounting.billedChunks(SendMessageRequest.builder().messageBody(body).build())).isEqualTo(2);
+        assertThat(SqsRequestAccounting.billedChunks(batch)).isEqualTo(3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReportRequestsAndCostPerFeatureAndWindow() {
+        // Given
+        long now = System.currentTimeMillis();
+        long twoHoursAgo = now - 2 * 60 * 60 * 1000;
+        accounting.record("peek", "ReceiveMessage", 1, false, twoHoursAgo);
+        accounting.record("peek", "ChangeMessageVisibility", 1, false, now);
+        accounting.record("redrive", "SendMessageBatch", 2, true, now);
+
+        // When
+        Map<String, Object> report = accounting.report();
+
+        // Then
+        assertThat(report.get("requests")).isEqualTo(3L);
+        Map<String, Object> features = (Map<String, Object>) report.get("features");
+        Map<String, Object> peek = (Map<String, Object>) features.get("peek");
+        assertThat(peek.get("requests")).isEqualTo(2L);
+        assertThat((Map<String, Object>) peek.get("lastHour")).containsEntry("requests", 1L);
+        assertThat((Map<String, Object>) peek.get("last24Hours")).containsEntry("requests", 2L);
+        assertThat((Map<String, Long>) peek.get("requestsByOperation"))
+                .containsEntry("ReceiveMessage", 1L)
+                .containsEntry("ChangeMessageVisibility", 1L);
+
+        Map<String, Object> redrive = (Map<String, Object>) features.get("redrive");
+        assertThat(redrive.get("billedRequests")).isEqualTo(2L);
+        assertThat((double) redrive.get("estimatedCost")).isCloseTo(2 * 0.50 / 1_000_000d, within(1e-12));
+    }
+
+    @Test
+    void shouldCarryFeatureFromHolderAndRestorePrevious() {
+        // Given
+        SqsFeatureHolder.set("browse");
+
+        // When
+        String inner = SqsFeatureHolder.call("peek", SqsFeatureHolder::get);
+
+        // Then
+        assertThat(inner).isEqualTo("peek");
+        assertThat(SqsFeatureHolder.get()).isEqualTo("browse");
+        SqsFeatureHolder.clear();
+        assertThat(SqsFeatureHolder.get()).isEqualTo(SqsFeatureHolder.UNATTRIBUTED);
+    }
+}
@@ -0,0 +1,108 @@
+package com.sqstools.aws;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import software.amazon.awssdk.awscore.AwsExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SqsTracingInterceptorTest {
+
+    private static final String QUEUE_URL = "https://sqs.us-east-1.amazonaws.com/123456789012/orders";
+
+    private Span span;
+    private SqsTracingInterceptor interceptor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        span = mock(Span.class, RETURNS_SELF);
+        Tracer tracer = mock(Tracer.class);
+        when(tracer.nextSpan()).thenReturn(span);
+        ObjectProvider<Tracer> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(tracer);
+        interceptor = new SqsTracingInterceptor(provider);
+    }
+
+    @Test
+    void shouldTagSpanWithOperationQueueAndAwsRequestId() {
+        // Given
+        ExecutionAttributes attributes = attributes();
+        interceptor.beforeExecution(beforeExecution(), attributes);
+        interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), attributes);
+
+        // When
+        interceptor.afterTransmission(afterTransmission("req-1"), attributes);
+        interceptor.afterExecution(mock(Context.AfterExecution.class), attributes);
+
+        // Then
+        verify(span).name("SQS.ReceiveMessage");
+        verify(span).kind(Span.Kind.CLIENT);
+        verify(span).tag("cloud.region", "us-east-1");
+        verify(span).tag("aws.sqs.queue_url", QUEUE_URL);
+        verify(span).tag("aws.request_id", "req-1");
+        verify(span).tag("aws.attempts", "1");
+        verify(span).start();
+        verify(span).end();
+        verify(span, never()).event(anyString());
+    }
+
+    @Test
+    void shouldRecordRetriesAndErrorOnFailedCall() {
+        // Given
+        ExecutionAttributes attributes = attributes();
+        interceptor.beforeExecution(beforeExecution(), attributes);
+        interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), attributes);
+        interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), attributes);
+        SqsException failure = (SqsException) SqsException.builder()
+                .statusCode(500)
+                .requestId("req-2")
+                .build();
+        Context.FailedExecution failed = mock(Context.FailedExecution.class);
+        when(failed.exception()).thenReturn(failure);
+
+        // When
+        interceptor.onExecutionFailure(failed, attributes);
+
+        // Then
+        verify(span).event("retry 1");
+        verify(span).tag("aws.request_id", "req-2");
+        verify(span).error(failure);
+        verify(span).tag("aws.attempts", "2");
+        verify(span).end();
+    }
+
+    private ExecutionAttributes attributes() {
+        ExecutionAttributes attributes = new ExecutionAttributes();
+        attributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, "ReceiveMessage");
+        attributes.putAttribute(AwsExecutionAttribute.AWS_REGION, Region.US_EAST_1);
+        return attributes;
+    }
+
+    private Context.BeforeExecution beforeExecution() {
+        Context.BeforeExecution context = mock(Context.BeforeExecution.class);
+        when(context.request()).thenReturn(ReceiveMessageRequest.builder().queueUrl(QUEUE_URL).build());
+        return context;
+    }
+
+    private Context.AfterTransmission afterTransmission(String requestId) {
+        Context.AfterTransmission context = mock(Context.AfterTransmission.class);
+        when(context.httpResponse()).thenReturn(SdkHttpResponse.builder()
+                .statusCode(200)
+                .putHeader(SqsTracingInterceptor.REQUEST_ID_HEADER, requestId)
+                .build());
+        return context;
+    }
+}
@@ -0,0 +1,28 @@
+package com.sqstools.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.*;
+
+class NativeHintsTest {
+
+    @Test
+    void shouldRegisterDialectAndSdkInterceptorHints() {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+
+        // When
+        new NativeHints.Registrar().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("org.hibernate.community.dialect.SQLiteDialect"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource()
+                .forResource("software/amazon/awssdk/services/sqs/execution.interceptors")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource()
+                .forResource("software/amazon/awssdk/global/handlers/execution.interceptors")).accepts(hints);
+    }
+}
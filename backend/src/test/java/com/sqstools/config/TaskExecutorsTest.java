@@ -0,0 +1,48 @@
+package com.sqstools.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TaskExecutorsTest {
+
+    @Test
+    void bounded_ShouldRunVirtualTasksOnePerThreadUpToParallelism() throws Exception {
+        // Given
+        TaskExecutors taskExecutors = new TaskExecutors(true);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = taskExecutors.bounded("test", 3)) {
+            for (int i = 0; i < 10; i++) {
+                results.add(executor.submit(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                    return Thread.currentThread().isVirtual();
+                }));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<Boolean> result : results) {
+                // Then
+                assertThat(result.get(5, TimeUnit.SECONDS)).isTrue();
+            }
+        }
+        assertThat(maxRunning.get()).isEqualTo(3);
+    }
+}
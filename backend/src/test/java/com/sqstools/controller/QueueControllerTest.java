@@ -0,0 +1,70 @@
+package com.sqstools.controller;
+
+import tools.jackson.databind.ObjectMapper;
+import com.sqstools.entity.QueueEntity;
+import com.sqstools.model.QueueConfiguration;
+import com.sqstools.repository.PreferenceRepository;
+import com.sqstools.repository.QueueRepository;
+import com.sqstools.service.ConfigurationService;
+import com.sqstools.service.QueueService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueueControllerTest {
+
+    private static final String QUEUE_URL = "https://sqs.us-east-1.amazonaws.com/123/queue";
+
+    @Mock
+    private QueueService queueService;
+
+    @Mock
+    private QueueRepository queueRepository;
+
+    @Mock
+    private PreferenceRepository preferenceRepository;
+
+    private ConfigurationService configService;
+    private QueueController controller;
+
+    @BeforeEach
+    void setUp() {
+        configService = new ConfigurationService(queueRepository, preferenceRepository, new ObjectMapper());
+        controller = new QueueController(queueService, configService, null, null, null, null);
+    }
+
+    @Test
+    void shouldStoreFreshAttributesAndChangeVersionOnRefresh() {
+        // Given: a queue saved with a depth of 5
+        QueueEntity entity = new QueueEntity("id-1", QUEUE_URL, "queue", "us-east-1",
+                "{\"ApproximateNumberOfMessages\":\"5\"}", null, null);
+        entity.setApproximateNumberOfMessages(5L);
+        entity.setUpdatedAt(1L);
+        when(queueRepository.findById("id-1")).thenReturn(Optional.of(entity));
+        when(queueRepository.save(any(QueueEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(queueService.getQueueAttributes(QUEUE_URL, "us-east-1"))
+                .thenReturn(Map.of("ApproximateNumberOfMessages", "42"));
+        when(queueService.extractDlqFromAttributes(any())).thenReturn(Optional.empty());
+        String versionBefore = configService.queueVersion("id-1").orElseThrow();
+
+        // When
+        QueueConfiguration refreshed = controller.refreshQueue("id-1").getBody();
+
+        // Then
+        assertThat(entity.getApproximateNumberOfMessages()).isEqualTo(42L);
+        assertThat(entity.getAttributes()).contains("\"42\"");
+        assertThat(refreshed.getAttributes()).containsEntry("ApproximateNumberOfMessages", "42");
+        assertThat(configService.queueVersion("id-1")).isPresent().get().isNotEqualTo(versionBefore);
+        verify(queueRepository, never()).findByQueueUrl(any());
+    }
+}
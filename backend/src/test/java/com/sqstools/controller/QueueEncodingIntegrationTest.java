@@ -0,0 +1,136 @@
+package com.sqstools.controller;
+
+import com.sqstools.model.QueueConfiguration;
+import com.sqstools.service.ConfigurationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Content negotiation and compression of GET /api/queues over a real server,
+ * since gzip is applied by the embedded Tomcat and not by Spring MVC.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        // One database shared by every pooled connection
+        properties = "spring.datasource.url=jdbc:sqlite:build/queue-encoding-test.db")
+class QueueEncodingIntegrationTest {
+
+    private static final int QUEUES = 40;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ConfigurationService configService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        configService.loadAllQueues().forEach(queue -> configService.removeQueue(queue.getId()));
+        List<QueueConfiguration> queues = new ArrayList<>();
+        IntStream.range(0, QUEUES).forEach(i -> queues.add(new QueueConfiguration(UUID.randomUUID().toString(),
+                "https://sqs.us-east-1.amazonaws.com/123456789012/orders-" + i, "orders-" + i, "us-east-1",
+                Map.of("VisibilityTimeout", "30", "MessageRetentionPeriod", "345600",
+                        "ApproximateNumberOfMessages", String.valueOf(i)),
+                null, null, null)));
+        configService.saveQueues(queues);
+    }
+
+    @Test
+    void getAllQueues_ShouldRoundTripCbor() throws Exception {
+        // When
+        HttpResponse<byte[]> response = get("application/cbor", null, null);
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                type -> assertThat(type).startsWith("application/cbor"));
+        assertThat(new CBORMapper().readValue(response.body(), List.class)).hasSize(QUEUES);
+    }
+
+    @Test
+    void getAllQueues_ShouldRoundTripSmile() throws Exception {
+        // When
+        HttpResponse<byte[]> response = get("application/x-jackson-smile", null, null);
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                type -> assertThat(type).startsWith("application/x-jackson-smile"));
+        assertThat(new SmileMapper().readValue(response.body(), List.class)).hasSize(QUEUES);
+    }
+
+    @Test
+    void getAllQueues_ShouldGzipLargeResponses() throws Exception {
+        // When
+        HttpResponse<byte[]> response = get("application/json", "gzip", null);
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).contains("gzip");
+        byte[] json;
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            json = in.readAllBytes();
+        }
+        assertThat(json.length).isGreaterThan(2048);
+        assertThat(response.body().length).isLessThan(json.length);
+        assertThat(new ObjectMapper().readValue(json, List.class)).hasSize(QUEUES);
+    }
+
+    @Test
+    void getAllQueues_ShouldVaryByAcceptAndEncodingOnFullAndNotModifiedResponses() throws Exception {
+        // Given
+        HttpResponse<byte[]> full = get("application/json", null, null);
+        String etag = full.headers().firstValue("ETag").orElseThrow();
+
+        // When
+        HttpResponse<byte[]> notModified = get("application/json", null, etag);
+
+        // Then
+        assertThat(notModified.statusCode()).isEqualTo(304);
+        for (HttpResponse<byte[]> response : List.of(full, notModified)) {
+            List<String> vary = response.headers().allValues("Vary").stream()
+                    .flatMap(value -> Arrays.stream(value.split(",")))
+                    .map(String::trim)
+                    .toList();
+            assertThat(vary).contains("Accept", "Accept-Encoding");
+        }
+    }
+
+    private HttpResponse<byte[]> get(String accept, String acceptEncoding, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/queues"))
+                .header("Accept", accept)
+                .GET();
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,140 @@
+package com.sqstools.fake;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FakeSqsServerTest {
+
+    private FakeSqsServer server;
+    private SqsClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeSqsServer(0, "us-east-1");
+        server.start();
+        client = SqsClient.builder()
+                .region(Region.US_EAST_1)
+                .endpointOverride(URI.create(server.getEndpoint()))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("fake", "fake")))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    void shouldSendReceiveAndDeleteWithAttributesThroughTheSdk() {
+        // Given
+        String queueUrl = client.createQueue(r -> r.queueName("orders")).queueUrl();
+        client.sendMessage(r -> r.queueUrl(queueUrl)
+                .messageBody("{\"orderId\":42}")
+                .messageAttributes(Map.of(
+                        "source", MessageAttributeValue.builder().dataType("String").stringValue("checkout").build(),
+                        "blob", MessageAttributeValue.builder().dataType("Binary")
+                                .binaryValue(SdkBytes.fromUtf8String("x")).build())));
+
+        // When: the SDK verifies the body and attribute MD5s of both calls
+        List<Message> messages = client.receiveMessage(r -> r.queueUrl(queueUrl)
+                .maxNumberOfMessages(10)
+                .attributeNamesWithStrings("All")
+                .messageAttributeNames("All")).messages();
+
+        // Then
+        assertThat(messages).hasSize(1);
+        Message message = messages.get(0);
+        assertThat(message.body()).isEqualTo("{\"orderId\":42}");
+        assertThat(message.messageAttributes().get("source").stringValue()).isEqualTo("checkout");
+        assertThat(message.attributesAsStrings()).containsEntry("ApproximateReceiveCount", "1");
+        assertThat(depth(queueUrl)).containsEntry("ApproximateNumberOfMessagesNotVisible", "1");
+
+        client.deleteMessage(r -> r.queueUrl(queueUrl).receiptHandle(message.receiptHandle()));
+        assertThat(depth(queueUrl))
+                .containsEntry("ApproximateNumberOfMessages", "0")
+                .containsEntry("ApproximateNumberOfMessagesNotVisible", "0");
+        assertThatThrownBy(() -> client.deleteMessage(r -> r.queueUrl(queueUrl).receiptHandle(message.receiptHandle())))
+                .isInstanceOf(ReceiptHandleIsInvalidException.class);
+    }
+
+    @Test
+    void shouldLimitMessageSizeInUtf8Bytes() {
+        // Given: 'é' is two bytes in UTF-8
+        String queueUrl = client.createQueue(r -> r.queueName("small")
+                .attributesWithStrings(Map.of("MaximumMessageSize", "1024"))).queueUrl();
+
+        // When / Then
+        client.sendMessage(r -> r.queueUrl(queueUrl).messageBody("é".repeat(512)));
+        assertThatThrownBy(() -> client.sendMessage(r -> r.queueUrl(queueUrl).messageBody("é".repeat(513))))
+                .isInstanceOf(SqsException.class)
+                .hasMessageContaining("shorter than 1024 bytes");
+    }
+
+    @Test
+    void shouldMoveMessagesToDeadLetterQueueAfterMaxReceiveCount() {
+        // Given
+        String dlqUrl = client.createQueue(r -> r.queueName("orders-dlq")).queueUrl();
+        String dlqArn = client.getQueueAttributes(r -> r.queueUrl(dlqUrl).attributeNames(QueueAttributeName.QUEUE_ARN))
+                .attributes().get(QueueAttributeName.QUEUE_ARN);
+        String queueUrl = client.createQueue(r -> r.queueName("orders").attributesWithStrings(Map.of(
+                "RedrivePolicy", "{\"deadLetterTargetArn\":\"" + dlqArn + "\",\"maxReceiveCount\":\"1\"}"))).queueUrl();
+        client.sendMessage(r -> r.queueUrl(queueUrl).messageBody("poison"));
+
+        // When: received once, returned immediately, then received again
+        assertThat(client.receiveMessage(r -> r.queueUrl(queueUrl).visibilityTimeout(0)).messages()).hasSize(1);
+        List<Message> second = client.receiveMessage(r -> r.queueUrl(queueUrl)).messages();
+
+        // Then
+        assertThat(second).isEmpty();
+        assertThat(client.receiveMessage(r -> r.queueUrl(dlqUrl)).messages())
+                .extracting(Message::body)
+                .containsExactly("poison");
+        assertThat(client.listDeadLetterSourceQueues(r -> r.queueUrl(dlqUrl)).queueUrls()).containsExactly(queueUrl);
+    }
+
+    @Test
+    void shouldHandleBatchesPurgeAndUnknownQueues() {
+        // Given
+        String queueUrl = client.createQueue(r -> r.queueName("events")).queueUrl();
+
+        // When
+        SendMessageBatchResponse sent = client.sendMessageBatch(r -> r.queueUrl(queueUrl).entries(
+                SendMessageBatchRequestEntry.builder().id("a").messageBody("one").build(),
+                SendMessageBatchRequestEntry.builder().id("b").messageBody("two").build()));
+        List<Message> received = client.receiveMessage(r -> r.queueUrl(queueUrl).maxNumberOfMessages(10)).messages();
+        DeleteMessageBatchResponse deleted = client.deleteMessageBatch(r -> r.queueUrl(queueUrl).entries(
+                DeleteMessageBatchRequestEntry.builder().id("a").receiptHandle(received.get(0).receiptHandle()).build(),
+                DeleteMessageBatchRequestEntry.builder().id("b").receiptHandle("unknown").build()));
+        client.sendMessage(r -> r.queueUrl(queueUrl).messageBody("three"));
+        client.purgeQueue(r -> r.queueUrl(queueUrl));
+
+        // Then
+        assertThat(sent.successful()).extracting(SendMessageBatchResultEntry::id).containsExactly("a", "b");
+        assertThat(received).hasSize(2);
+        assertThat(deleted.successful()).extracting(DeleteMessageBatchResultEntry::id).containsExactly("a");
+        assertThat(deleted.failed()).extracting(BatchResultErrorEntry::code).containsExactly("ReceiptHandleIsInvalid");
+        assertThat(depth(queueUrl))
+                .containsEntry("ApproximateNumberOfMessages", "0")
+                .containsEntry("ApproximateNumberOfMessagesNotVisible", "0");
+        assertThatThrownBy(() -> client.getQueueUrl(r -> r.queueName("missing")))
+                .isInstanceOf(QueueDoesNotExistException.class);
+    }
+
+    private Map<String, String> depth(String queueUrl) {
+        return client.getQueueAttributes(r -> r.queueUrl(queueUrl).attributeNamesWithStrings("All")).attributesAsStrings();
+    }
+}
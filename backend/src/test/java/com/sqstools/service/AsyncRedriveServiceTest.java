@@ -0,0 +1,114 @@
+package com.sqstools.service;
+
+import com.sqstools.controller.RedriveController.MessageDetails;
+import com.sqstools.model.RedriveResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncRedriveServiceTest {
+
+    private static final String DLQ_URL = "https://sqs.us-east-1.amazonaws.com/123/orders-dlq";
+    private static final String QUEUE_URL = "https://sqs.us-east-1.amazonaws.com/123/orders";
+    private static final String REGION = "us-east-1";
+
+    @Mock
+    private AsyncMessageService messageService;
+
+    private AsyncRedriveService redriveService;
+
+    @BeforeEach
+    void setUp() {
+        redriveService = new AsyncRedriveService(messageService);
+    }
+
+    @Test
+    void redriveMessages_ShouldMoveBatchesUntilDlqIsEmpty() {
+        // Given
+        when(messageService.receiveMessages(eq(DLQ_URL), eq(REGION), anyInt(), isNull(), eq(0)))
+                .thenReturn(CompletableFuture.completedFuture(List.of(message("m1"), message("m2"))))
+                .thenReturn(CompletableFuture.completedFuture(List.of(message("m3"))))
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+        when(messageService.sendMessage(eq(QUEUE_URL), eq(REGION), anyString(), any(), isNull()))
+                .thenReturn(CompletableFuture.completedFuture("sent"));
+        when(messageService.deleteMessage(eq(DLQ_URL), eq(REGION), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        RedriveResult result = redriveService.redriveMessages(DLQ_URL, QUEUE_URL, REGION, null, true).join();
+
+        // Then
+        assertThat(result.getProcessedCount()).isEqualTo(3);
+        assertThat(result.getSuccessCount()).isEqualTo(3);
+        assertThat(result.getFailureCount()).isZero();
+        verify(messageService, times(3)).deleteMessage(eq(DLQ_URL), eq(REGION), anyString());
+    }
+
+    @Test
+    void redriveMessages_ShouldStopAtMaxMessages() {
+        // Given
+        when(messageService.receiveMessages(eq(DLQ_URL), eq(REGION), eq(1), isNull(), eq(0)))
+                .thenReturn(CompletableFuture.completedFuture(List.of(message("m1"))));
+        when(messageService.sendMessage(eq(QUEUE_URL), eq(REGION), anyString(), any(), isNull()))
+                .thenReturn(CompletableFuture.completedFuture("sent"));
+        when(messageService.deleteMessage(eq(DLQ_URL), eq(REGION), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        RedriveResult result = redriveService.redriveMessages(DLQ_URL, QUEUE_URL, REGION, 1, false).join();
+
+        // Then
+        assertThat(result.getProcessedCount()).isEqualTo(1);
+        verify(messageService, times(1)).receiveMessages(anyString(), anyString(), anyInt(), any(), anyInt());
+    }
+
+    @Test
+    void redriveSelectedMessages_ShouldNotDeleteWhenSendFails() {
+        // Given
+        MessageDetails ok = details("m1", "r1");
+        MessageDetails failing = details("m2", "r2");
+        when(messageService.sendMessage(eq(QUEUE_URL), eq(REGION), eq("body-m1"), any(), isNull()))
+                .thenReturn(CompletableFuture.completedFuture("sent"));
+        when(messageService.sendMessage(eq(QUEUE_URL), eq(REGION), eq("body-m2"), any(), isNull()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("send failed")));
+        when(messageService.deleteMessage(DLQ_URL, REGION, "r1"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        RedriveResult result = redriveService.redriveSelectedMessages(
+                DLQ_URL, QUEUE_URL, REGION, List.of(ok, failing)).join();
+
+        // Then
+        assertThat(result.getProcessedCount()).isEqualTo(2);
+        assertThat(result.getSuccessCount()).isEqualTo(1);
+        assertThat(result.getFailureCount()).isEqualTo(1);
+        verify(messageService, never()).deleteMessage(DLQ_URL, REGION, "r2");
+    }
+
+    private Message message(String id) {
+        return Message.builder()
+                .messageId(id)
+                .body("body-" + id)
+                .receiptHandle("receipt-" + id)
+                .build();
+    }
+
+    private MessageDetails details(String id, String receiptHandle) {
+        MessageDetails details = new MessageDetails();
+        details.setMessageId(id);
+        details.setReceiptHandle(receiptHandle);
+        details.setBody("body-" + id);
+        return details;
+    }
+}
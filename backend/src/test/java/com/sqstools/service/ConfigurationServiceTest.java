@@ -3,15 +3,18 @@ package com.sqstools.service;
 import tools.jackson.databind.ObjectMapper;
 import com.sqstools.entity.QueueEntity;
 import com.sqstools.model.QueueConfiguration;
+import com.sqstools.model.QueueTarget;
 import com.sqstools.repository.QueueRepository;
 import com.sqstools.repository.PreferenceRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -117,6 +120,45 @@ class ConfigurationServiceTest {
         verify(queueRepository).deleteById("id-1");
     }
 
+    @Test
+    void shouldRefreshDlqDepthsOnlyForQueuesTouchedBySave() {
+        // Given
+        QueueConfiguration config = new QueueConfiguration(
+                null,
+                "https://sqs.us-east-1.amazonaws.com/123/orders",
+                "orders",
+                "us-east-1",
+                new HashMap<>(),
+                "https://sqs.us-east-1.amazonaws.com/123/orders-dlq",
+                "orders-dlq",
+                null
+        );
+        when(queueRepository.save(any(QueueEntity.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        configService.saveQueue(config);
+
+        // Then: rows using the queue as their DLQ, and the queue's own row via its DLQ
+        verify(queueRepository).refreshDlqDepths(List.of(
+                "https://sqs.us-east-1.amazonaws.com/123/orders",
+                "https://sqs.us-east-1.amazonaws.com/123/orders-dlq"));
+    }
+
+    @Test
+    void shouldClearDlqDepthOfSourcesWhenDlqIsRemoved() {
+        // Given
+        when(queueRepository.findQueueUrlById("id-1"))
+                .thenReturn(Optional.of("https://sqs.us-east-1.amazonaws.com/123/orders-dlq"));
+
+        // When
+        configService.removeQueue("id-1");
+
+        // Then
+        verify(queueRepository).deleteById("id-1");
+        verify(queueRepository).refreshDlqDepths(List.of("https://sqs.us-east-1.amazonaws.com/123/orders-dlq"));
+    }
+
     @Test
     void shouldUpdateQueue() throws Exception {
         // Given
@@ -147,4 +189,258 @@ class ConfigurationServiceTest {
         assertThat(updated).isNotNull();
         verify(queueRepository).save(any(QueueEntity.class));
     }
+
+    @Test
+    void shouldServeRepeatedLoadsFromCache() {
+        // Given
+        QueueEntity entity = new QueueEntity(
+                "id-1",
+                "https://sqs.us-east-1.amazonaws.com/123/queue",
+                "queue",
+                "us-east-1",
+                "{\"VisibilityTimeout\":\"30\"}",
+                "https://sqs.us-east-1.amazonaws.com/123/queue-dlq",
+                "queue-dlq"
+        );
+
+        when(queueRepository.findById("id-1")).thenReturn(Optional.of(entity));
+
+        // When
+        configService.loadQueue("id-1");
+        Optional<QueueTarget> target = configService.resolveQueue("id-1");
+
+        // Then
+        assertThat(target).isPresent();
+        assertThat(target.get().getQueueUrl()).isEqualTo("https://sqs.us-east-1.amazonaws.com/123/queue");
+        assertThat(target.get().getRegion()).isEqualTo("us-east-1");
+        assertThat(target.get().getDlqUrl()).isEqualTo("https://sqs.us-east-1.amazonaws.com/123/queue-dlq");
+        verify(queueRepository, times(1)).findById("id-1");
+    }
+
+    @Test
+    void shouldNotExposeCachedInstanceToCallers() {
+        // Given
+        QueueEntity entity = new QueueEntity(
+                "id-1",
+                "https://sqs.us-east-1.amazonaws.com/123/queue",
+                "queue",
+                "us-east-1",
+                "{\"VisibilityTimeout\":\"30\"}",
+                null,
+                null
+        );
+
+        when(queueRepository.findById("id-1")).thenReturn(Optional.of(entity));
+
+        // When
+        configService.loadQueue("id-1").get().getAttributes().put("VisibilityTimeout", "999");
+        QueueConfiguration reloaded = configService.loadQueue("id-1").get();
+
+        // Then
+        assertThat(reloaded.getAttributes()).containsEntry("VisibilityTimeout", "30");
+    }
+
+    @Test
+    void shouldEvictCacheOnUpdateAndRemove() {
+        // Given
+        QueueEntity entity = new QueueEntity(
+                "id-1",
+                "https://sqs.us-east-1.amazonaws.com/123/queue",
+                "queue",
+                "us-east-1",
+                "{\"VisibilityTimeout\":\"30\"}",
+                null,
+                null
+        );
+
+        when(queueRepository.findById("id-1"))
+                .thenReturn(Optional.of(entity))
+                .thenReturn(Optional.of(entity))
+                .thenReturn(Optional.of(entity))
+                .thenReturn(Optional.empty());
+        when(queueRepository.save(any(QueueEntity.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        configService.resolveQueue("id-1");
+
+        // When: update evicts, next lookup goes back to the repository
+        QueueConfiguration updateConfig = new QueueConfiguration();
+        updateConfig.setRegion("eu-west-1");
+        configService.updateQueue("id-1", updateConfig);
+        Optional<QueueTarget> afterUpdate = configService.resolveQueue("id-1");
+
+        // When: remove evicts as well
+        configService.removeQueue("id-1");
+        Optional<QueueTarget> afterRemove = configService.resolveQueue("id-1");
+
+        // Then
+        assertThat(afterUpdate).isPresent();
+        assertThat(afterUpdate.get().getRegion()).isEqualTo("eu-west-1");
+        assertThat(afterRemove).isEmpty();
+        verify(queueRepository, times(4)).findById("id-1");
+    }
+
+    @Test
+    void shouldNotCacheRowLoadedWhileEvicted() {
+        // Given: a write commits (and evicts) while the first reader is loading the row
+        QueueEntity entity = new QueueEntity(
+                "id-1",
+                "https://sqs.us-east-1.amazonaws.com/123/queue",
+                "queue",
+                "us-east-1",
+                "{\"VisibilityTimeout\":\"30\"}",
+                null,
+                null
+        );
+        AtomicInteger loads = new AtomicInteger();
+        when(queueRepository.findById("id-1")).thenAnswer(invocation -> {
+            if (loads.incrementAndGet() == 1) {
+                configService.removeQueue("id-1");
+            }
+            return Optional.of(entity);
+        });
+
+        // When
+        configService.resolveQueue("id-1");
+        configService.resolveQueue("id-1");
+        configService.resolveQueue("id-1");
+
+        // Then: the overlapping load is not cached, the next one is
+        verify(queueRepository, times(2)).findById("id-1");
+    }
+
+    @Test
+    void shouldPopulateTypedAttributeColumnsOnSave() {
+        // Given
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("ApproximateNumberOfMessages", "42");
+        attributes.put("ApproximateNumberOfMessagesNotVisible", "3");
+        attributes.put("VisibilityTimeout", "30");
+        attributes.put("MessageRetentionPeriod", "345600");
+        attributes.put("FifoQueue", "true");
+        attributes.put("RedrivePolicy", "{\"deadLetterTargetArn\":\"arn:aws:sqs:us-east-1:123:dlq\",\"maxReceiveCount\":3}");
+
+        QueueConfiguration config = new QueueConfiguration(
+                null,
+                "https://sqs.us-east-1.amazonaws.com/123/queue.fifo",
+                "queue.fifo",
+                "us-east-1",
+                attributes,
+                null,
+                null,
+                null
+        );
+
+        when(queueRepository.save(any(QueueEntity.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        configService.saveQueue(config);
+
+        // Then
+        ArgumentCaptor<QueueEntity> captor = ArgumentCaptor.forClass(QueueEntity.class);
+        verify(queueRepository).save(captor.capture());
+        QueueEntity saved = captor.getValue();
+        assertThat(saved.getApproximateNumberOfMessages()).isEqualTo(42L);
+        assertThat(saved.getApproximateNumberOfMessagesNotVisible()).isEqualTo(3L);
+        assertThat(saved.getApproximateNumberOfMessagesDelayed()).isNull();
+        assertThat(saved.getVisibilityTimeout()).isEqualTo(30);
+        assertThat(saved.getMessageRetentionPeriod()).isEqualTo(345600);
+        assertThat(saved.getFifoQueue()).isTrue();
+        assertThat(saved.getRedrivePolicy()).contains("arn:aws:sqs:us-east-1:123:dlq");
+    }
+
+    @Test
+    void shouldBackfillTypedColumnsForLegacyRows() {
+        // Given
+        QueueEntity legacy = new QueueEntity(
+                "id-1",
+                "https://sqs.us-east-1.amazonaws.com/123/queue",
+                "queue",
+                "us-east-1",
+                "{\"ApproximateNumberOfMessages\":\"7\",\"VisibilityTimeout\":\"30\"}",
+                null,
+                null
+        );
+
+        when(queueRepository.findByFifoQueueIsNull()).thenReturn(List.of(legacy));
+
+        // When
+        configService.backfillTypedAttributes();
+
+        // Then
+        assertThat(legacy.getApproximateNumberOfMessages()).isEqualTo(7L);
+        assertThat(legacy.getVisibilityTimeout()).isEqualTo(30);
+        assertThat(legacy.getFifoQueue()).isFalse();
+        verify(queueRepository).saveAll(List.of(legacy));
+    }
+
+    @Test
+    void shouldChangeQueueVersionOnUpdate() {
+        // Given: a row saved before updatedAt existed
+        QueueEntity entity = new QueueEntity(
+                "id-1",
+                "https://sqs.us-east-1.amazonaws.com/123/queue",
+                "queue",
+                "us-east-1",
+                "{\"VisibilityTimeout\":\"30\"}",
+                null,
+                null
+        );
+        when(queueRepository.findById("id-1")).thenReturn(Optional.of(entity));
+        when(queueRepository.save(any(QueueEntity.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Optional<String> before = configService.queueVersion("id-1");
+        Optional<String> unchanged = configService.queueVersion("id-1");
+        QueueConfiguration updateConfig = new QueueConfiguration();
+        updateConfig.setRegion("eu-west-1");
+        configService.updateQueue("id-1", updateConfig);
+        Optional<String> after = configService.queueVersion("id-1");
+
+        // Then
+        assertThat(before).contains(entity.getSavedAt());
+        assertThat(unchanged).isEqualTo(before);
+        assertThat(after).contains(entity.getUpdatedAt().toString());
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    @Test
+    void shouldDeriveQueuesVersionFromCountAndLatestUpdate() {
+        // Given
+        when(queueRepository.count()).thenReturn(3L, 2L);
+        when(queueRepository.findMaxUpdatedAt()).thenReturn(1_700_000_000_000L, 1_700_000_000_000L);
+
+        // When
+        String before = configService.queuesVersion();
+        String afterRemove = configService.queuesVersion();
+
+        // Then
+        assertThat(before).isEqualTo("3-1700000000000");
+        assertThat(afterRemove).isEqualTo("2-1700000000000");
+    }
+
+    @Test
+    void shouldAssignIncreasingVersionsWithinTheSameMillisecond() {
+        // Given
+        List<QueueConfiguration> configs = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            configs.add(new QueueConfiguration(null, "https://sqs.us-east-1.amazonaws.com/123/queue-" + i,
+                    "queue-" + i, "us-east-1", Map.of(), null, null, null));
+        }
+        when(queueRepository.findAllQueueUrls()).thenReturn(List.of());
+        when(queueRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        configService.saveQueues(configs);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<QueueEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(queueRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(QueueEntity::getUpdatedAt)
+                .doesNotHaveDuplicates()
+                .isSorted();
+    }
 }
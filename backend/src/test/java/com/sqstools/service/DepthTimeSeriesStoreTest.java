@@ -0,0 +1,114 @@
+package com.sqstools.service;
+
+import com.sqstools.model.DepthPoint;
+import com.sqstools.service.DepthTimeSeriesStore.Resolution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DepthTimeSeriesStoreTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 3_600_000L;
+
+    private DepthTimeSeriesStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new DepthTimeSeriesStore();
+    }
+
+    @Test
+    void shouldAggregateSamplesWithinSameMinute() {
+        // Given
+        long base = 10 * HOUR;
+        store.record("q1", base, 10, 1, 0);
+        store.record("q1", base + 15_000, 20, 3, 2);
+
+        // When
+        List<DepthPoint> points = store.query("q1", Resolution.MINUTE, base, base + MINUTE);
+
+        // Then
+        assertThat(points).hasSize(1);
+        assertThat(points.get(0).getSampleCount()).isEqualTo(2);
+        assertThat(points.get(0).getAvgMessages()).isEqualTo(15.0);
+        assertThat(points.get(0).getMaxMessages()).isEqualTo(20);
+        assertThat(points.get(0).getMaxInFlight()).isEqualTo(3);
+        assertThat(points.get(0).getMaxDelayed()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRollUpMinuteSamplesIntoHourBucket() {
+        // Given
+        long base = 10 * HOUR;
+        for (int i = 0; i < 60; i++) {
+            store.record("q1", base + i * MINUTE, i, 0, 0);
+        }
+
+        // When
+        List<DepthPoint> minutes = store.query("q1", Resolution.MINUTE, base, base + HOUR);
+        List<DepthPoint> hours = store.query("q1", Resolution.HOUR, base, base + HOUR);
+
+        // Then
+        assertThat(minutes).hasSize(60);
+        assertThat(hours).hasSize(1);
+        assertThat(hours.get(0).getSampleCount()).isEqualTo(60);
+        assertThat(hours.get(0).getMaxMessages()).isEqualTo(59);
+    }
+
+    @Test
+    void shouldStayBoundedByResolutionCapacity() {
+        // Given: two days of minute samples
+        long base = 0;
+        int samples = 2 * Resolution.MINUTE.getCapacity();
+        for (int i = 0; i < samples; i++) {
+            store.record("q1", base + i * MINUTE, i, 0, 0);
+        }
+
+        // When
+        List<DepthPoint> minutes = store.query("q1", Resolution.MINUTE, 0, Long.MAX_VALUE);
+
+        // Then: only the most recent day is kept, oldest first
+        assertThat(minutes).hasSize(Resolution.MINUTE.getCapacity());
+        assertThat(minutes.get(0).getMaxMessages()).isEqualTo(samples - Resolution.MINUTE.getCapacity());
+        assertThat(minutes.get(minutes.size() - 1).getMaxMessages()).isEqualTo(samples - 1);
+    }
+
+    @Test
+    void shouldNotReturnStaleSlotsAfterGap() {
+        // Given
+        store.record("q1", 0, 5, 0, 0);
+        store.record("q1", 3 * MINUTE, 7, 0, 0);
+        store.record("q1", (Resolution.MINUTE.getCapacity() + 1) * MINUTE, 9, 0, 0);
+
+        // When
+        List<DepthPoint> minutes = store.query("q1", Resolution.MINUTE, 0, Long.MAX_VALUE);
+
+        // Then
+        assertThat(minutes).extracting(DepthPoint::getMaxMessages).containsExactly(7L, 9L);
+    }
+
+    @Test
+    void shouldDropHistoryForRemovedQueues() {
+        // Given
+        store.record("q1", 0, 1, 0, 0);
+        store.record("q2", 0, 1, 0, 0);
+
+        // When
+        store.retainQueues(Set.of("q2"));
+
+        // Then
+        assertThat(store.query("q1", Resolution.MINUTE, 0, Long.MAX_VALUE)).isEmpty();
+        assertThat(store.query("q2", Resolution.MINUTE, 0, Long.MAX_VALUE)).hasSize(1);
+    }
+
+    @Test
+    void shouldRejectUnknownResolution() {
+        assertThatThrownBy(() -> Resolution.fromLabel("5m"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,154 @@
+package com.sqstools.service;
+
+import tools.jackson.databind.ObjectMapper;
+import com.sqstools.config.TaskExecutors;
+import com.sqstools.model.DlqTopology;
+import com.sqstools.model.QueueConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DlqTopologyServiceTest {
+
+    private static final String REGION = "us-east-1";
+    private static final String ORDERS_URL = "https://sqs.us-east-1.amazonaws.com/123456789012/orders";
+    private static final String PAYMENTS_URL = "https://sqs.us-east-1.amazonaws.com/123456789012/payments";
+    private static final String DLQ_URL = "https://sqs.us-east-1.amazonaws.com/123456789012/shared-dlq";
+    private static final String DLQ_ARN = "arn:aws:sqs:us-east-1:123456789012:shared-dlq";
+
+    @Mock
+    private ConfigurationService configService;
+
+    @Mock
+    private QueueService queueService;
+
+    private DlqTopologyService topologyService;
+
+    @BeforeEach
+    void setUp() {
+        topologyService = new DlqTopologyService(configService, queueService, new TaskExecutors(false), 2, 600_000, 60_000);
+        QueueService realQueueService = new QueueService(null, new ObjectMapper(), 0, 0);
+        lenient().when(queueService.extractQueueName(anyString()))
+                .thenAnswer(invocation -> realQueueService.extractQueueName(invocation.getArgument(0)));
+        lenient().when(queueService.extractDlqArn(any()))
+                .thenAnswer(invocation -> realQueueService.extractDlqArn(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        topologyService.shutdown();
+    }
+
+    @Test
+    void shouldCombineForwardAndReverseEdges() {
+        // Given: only "orders" is saved; "payments" feeds the same DLQ but was never added
+        QueueConfiguration orders = new QueueConfiguration(
+                "id-1", ORDERS_URL, "orders", REGION, new HashMap<>(), DLQ_URL, "shared-dlq", null);
+        orders.setRedrivePolicy("{\"deadLetterTargetArn\":\"" + DLQ_ARN + "\",\"maxReceiveCount\":3}");
+        when(configService.loadAllQueues()).thenReturn(List.of(orders));
+        when(queueService.resolveQueueUrlFromArn(DLQ_ARN)).thenReturn(DLQ_URL);
+        when(queueService.listDeadLetterSourceQueues(DLQ_URL, REGION)).thenReturn(List.of(ORDERS_URL, PAYMENTS_URL));
+        when(queueService.getQueueDepthAttributes(DLQ_URL, REGION))
+                .thenReturn(Map.of("ApproximateNumberOfMessages", "17"));
+
+        // When
+        DlqTopology topology = topologyService.getTopology(REGION);
+
+        // Then
+        assertThat(topology.getEdges())
+                .extracting(DlqTopology.Edge::getSource)
+                .containsExactlyInAnyOrder(ORDERS_URL, PAYMENTS_URL);
+        assertThat(topology.getDlqs()).hasSize(1);
+        assertThat(topology.getDlqs().get(0).getDepth()).isEqualTo(17L);
+        assertThat(topology.getBacklogBySource())
+                .containsEntry(ORDERS_URL, 17L)
+                .containsEntry(PAYMENTS_URL, 17L);
+        assertThat(topology.getNodes())
+                .filteredOn(node -> node.getQueueUrl().equals(ORDERS_URL))
+                .extracting(DlqTopology.Node::getQueueId)
+                .containsExactly("id-1");
+        assertThat(topology.getErrors()).isEmpty();
+    }
+
+    @Test
+    void shouldServeRepeatedViewsFromCacheUntilInvalidated() {
+        // Given: a saved DLQ, marked as such by its RedriveAllowPolicy
+        QueueConfiguration dlq = new QueueConfiguration(
+                "id-2", DLQ_URL, "shared-dlq", REGION, new HashMap<>(), null, null, null);
+        dlq.setRedriveAllowPolicy("{\"redrivePermission\":\"allowAll\"}");
+        when(configService.loadAllQueues()).thenReturn(List.of(dlq));
+        when(queueService.listDeadLetterSourceQueues(DLQ_URL, REGION)).thenReturn(List.of(ORDERS_URL));
+        when(queueService.getQueueDepthAttributes(DLQ_URL, REGION))
+                .thenReturn(Map.of("ApproximateNumberOfMessages", "4"));
+
+        // When
+        topologyService.getTopology(REGION);
+        topologyService.getTopology(REGION);
+        topologyService.invalidate(DLQ_URL);
+        DlqTopology topology = topologyService.getTopology(REGION);
+
+        // Then
+        assertThat(topology.getDlqs()).extracting(DlqTopology.DlqSummary::getSources)
+                .containsExactly(List.of(ORDERS_URL));
+        verify(queueService, times(2)).listDeadLetterSourceQueues(DLQ_URL, REGION);
+        verify(queueService, times(2)).getQueueDepthAttributes(DLQ_URL, REGION);
+    }
+
+    @Test
+    void shouldFindSourcesOfSavedQueueWithoutPolicies() {
+        // Given: a DLQ saved without a RedriveAllowPolicy (SQS leaves it out by default)
+        // and a plain queue; neither has a redrive policy of its own
+        when(configService.loadAllQueues()).thenReturn(List.of(
+                new QueueConfiguration("id-2", DLQ_URL, "shared-dlq", REGION, new HashMap<>(), null, null, null),
+                new QueueConfiguration("id-3", PAYMENTS_URL, "payments", REGION, new HashMap<>(), null, null, null)));
+        when(queueService.listDeadLetterSourceQueues(DLQ_URL, REGION)).thenReturn(List.of(ORDERS_URL));
+        when(queueService.listDeadLetterSourceQueues(PAYMENTS_URL, REGION)).thenReturn(List.of());
+        when(queueService.getQueueDepthAttributes(DLQ_URL, REGION))
+                .thenReturn(Map.of("ApproximateNumberOfMessages", "2"));
+
+        // When
+        topologyService.getTopology(REGION);
+        DlqTopology topology = topologyService.getTopology(REGION);
+
+        // Then
+        assertThat(topology.getDlqs()).extracting(DlqTopology.DlqSummary::getDlqUrl).containsExactly(DLQ_URL);
+        assertThat(topology.getDlqs()).extracting(DlqTopology.DlqSummary::getSources)
+                .containsExactly(List.of(ORDERS_URL));
+        // The empty answer for the plain queue is cached too
+        verify(queueService, times(1)).listDeadLetterSourceQueues(PAYMENTS_URL, REGION);
+        verify(queueService, times(1)).listDeadLetterSourceQueues(DLQ_URL, REGION);
+    }
+
+    @Test
+    void shouldDropCachedEntriesOfForgottenQueue() {
+        // Given
+        QueueConfiguration orders = new QueueConfiguration(
+                "id-1", ORDERS_URL, "orders", REGION, new HashMap<>(), DLQ_URL, "shared-dlq", null);
+        orders.setRedrivePolicy("{\"deadLetterTargetArn\":\"" + DLQ_ARN + "\",\"maxReceiveCount\":3}");
+        when(configService.loadAllQueues()).thenReturn(List.of(orders));
+        when(queueService.resolveQueueUrlFromArn(DLQ_ARN)).thenReturn(DLQ_URL);
+        when(queueService.listDeadLetterSourceQueues(DLQ_URL, REGION)).thenReturn(List.of(ORDERS_URL));
+        when(queueService.getQueueDepthAttributes(DLQ_URL, REGION))
+                .thenReturn(Map.of("ApproximateNumberOfMessages", "1"));
+        topologyService.getTopology(REGION);
+
+        // When
+        topologyService.forget(DLQ_URL);
+        topologyService.getTopology(REGION);
+
+        // Then: the ARN, the sources and the depth of the DLQ are all looked up again
+        verify(queueService, times(2)).resolveQueueUrlFromArn(DLQ_ARN);
+        verify(queueService, times(2)).listDeadLetterSourceQueues(DLQ_URL, REGION);
+        verify(queueService, times(2)).getQueueDepthAttributes(DLQ_URL, REGION);
+    }
+}
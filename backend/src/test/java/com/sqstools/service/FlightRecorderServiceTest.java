@@ -0,0 +1,109 @@
+package com.sqstools.service;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FlightRecorderServiceTest {
+
+    private FlightRecorderService flightRecorder;
+
+    @BeforeEach
+    void setUp() {
+        flightRecorder = new FlightRecorderService(1, 10, 5, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightRecorder.closeAll();
+    }
+
+    @Test
+    void shouldRecordJsonFormatEventsUntilStopped() throws Exception {
+        // Given
+        Map<String, Object> started = flightRecorder.start("default", null);
+        long id = (long) started.get("id");
+        MessageService messageService = new MessageService(null, new ObjectMapper());
+
+        // When
+        messageService.prettyPrintJson("{\"orderId\":42}");
+        messageService.prettyPrintJson("not json");
+        Path file = flightRecorder.stop(id);
+
+        // Then
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("com.sqstools.JsonFormat"))
+                    .toList();
+            assertThat(events).extracting(event -> event.getBoolean("validJson")).containsExactly(true, false);
+            assertThat(events).extracting(event -> event.getLong("payloadBytes")).containsExactly(14L, 8L);
+            assertThat(flightRecorder.list()).isEmpty();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void shouldLeaveEnvironmentAndSystemPropertiesOutOfRecordings() throws Exception {
+        // Given
+        long id = (long) flightRecorder.start("profile", null).get("id");
+
+        // When
+        Path file = flightRecorder.stop(id);
+
+        // Then
+        try {
+            assertThat(RecordingFile.readAllEvents(file))
+                    .extracting(event -> event.getEventType().getName())
+                    .doesNotContain("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void shouldRejectRecordingsBeyondLimitAndUnknownIds() {
+        // Given
+        flightRecorder.start("default", null);
+
+        // When / Then
+        assertThatThrownBy(() -> flightRecorder.start("default", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("At most 1");
+        assertThatThrownBy(() -> flightRecorder.stop(-1))
+                .hasMessageContaining("Recording not found");
+    }
+
+    @Test
+    void shouldDiscardRecordingsThatStoppedOnTheirOwnAfterRetention() throws Exception {
+        // Given
+        long id = (long) flightRecorder.start("default", Duration.ofMillis(200)).get("id");
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!"STOPPED".equals(flightRecorder.list().getFirst().get("state"))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        // When
+        flightRecorder.pruneFinished(Instant.now());
+        List<Map<String, Object>> withinRetention = flightRecorder.list();
+        flightRecorder.pruneFinished(Instant.now().plus(Duration.ofMinutes(11)));
+
+        // Then
+        assertThat(withinRetention).extracting(r -> r.get("id")).containsExactly(id);
+        assertThat(flightRecorder.list()).isEmpty();
+        assertThatThrownBy(() -> flightRecorder.dump(id)).hasMessageContaining("Recording not found");
+    }
+}
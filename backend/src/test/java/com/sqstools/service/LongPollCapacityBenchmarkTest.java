@@ -0,0 +1,162 @@
+package com.sqstools.service;
+
+import com.sqstools.aws.CredentialContext;
+import com.sqstools.aws.CredentialsProvider;
+import com.sqstools.aws.HttpPoolMetrics;
+import com.sqstools.aws.SQSClientFactory;
+import com.sqstools.aws.SqsHttpTransport;
+import com.sqstools.config.TaskExecutors;
+import com.sqstools.fake.FakeSqsServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.services.sqs.model.Message;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Compares how many concurrent long polls the receive paths sustain against
+ * the fake SQS server, in the same run:
+ * <ul>
+ *   <li>the blocking {@link MessageService} on a platform thread pool the size
+ *   of Tomcat's default (200), which cannot exceed 200 polls per wait;</li>
+ *   <li>the same blocking calls on virtual threads (what
+ *   {@code spring.threads.virtual.enabled} gives the request threads);</li>
+ *   <li>the non-blocking {@link AsyncMessageService}.</li>
+ * </ul>
+ * Asserts on the ratio to the platform pool, so the result does not depend on
+ * how fast the machine is, and that a quick call is not held up behind the
+ * async polls.
+ * <p>
+ * Opens about two sockets per poll, so it needs a file descriptor limit
+ * above {@code 2 * CONCURRENT_POLLS}. Excluded from {@code ./gradlew test};
+ * run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class LongPollCapacityBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LongPollCapacityBenchmarkTest.class);
+
+    private static final int CONCURRENT_POLLS = 1_000;
+    private static final int POLL_WAIT_SECONDS = 1;
+    private static final int PLATFORM_THREADS = 200;
+    // 1000 polls on 200 threads take five waits, unbounded ones about one
+    private static final double MIN_SPEEDUP = 2.0;
+
+    private FakeSqsServer server;
+    private SqsHttpTransport httpTransport;
+    private SQSClientFactory clientFactory;
+    private MessageService messageService;
+    private AsyncMessageService asyncMessageService;
+    private String pollQueue;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeSqsServer(0, "us-east-1");
+        server.start();
+
+        CredentialsProvider credentialsProvider = mock(CredentialsProvider.class, withSettings().stubOnly());
+        when(credentialsProvider.getCredentialsProvider(any(CredentialContext.class)))
+                .thenReturn(StaticCredentialsProvider.create(AwsBasicCredentials.create("fake", "fake")));
+        when(credentialsProvider.resolveContextKey(any())).thenReturn("active:benchmark");
+
+        // Enough connections on both clients that the pools are not the limit
+        httpTransport = new SqsHttpTransport(new HttpPoolMetrics(), CONCURRENT_POLLS, 5_000, 30_000, 30_000,
+                300_000, 60_000, true, 30_000, 60_000, CONCURRENT_POLLS * 2, CONCURRENT_POLLS * 4);
+        clientFactory = new SQSClientFactory(credentialsProvider, httpTransport, List.of(), 600_000, 0,
+                server.getEndpoint());
+        messageService = new MessageService(clientFactory, new ObjectMapper());
+        asyncMessageService = new AsyncMessageService(clientFactory);
+
+        pollQueue = server.createQueue("long-poll-capacity", Map.of());
+        // Opens both clients and their first connections outside the measurements
+        messageService.receiveMessages(pollQueue, "us-east-1", 1, null, 0);
+        asyncMessageService.receiveMessages(pollQueue, "us-east-1", 1, null, 0).get(30, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clientFactory.clearCache();
+        httpTransport.close();
+        server.stop();
+    }
+
+    @Test
+    void longPolls_ShouldScaleBeyondPlatformThreadPool() throws Exception {
+        // When
+        long platform = blockingPollsPerSecond("platform", new TaskExecutors(false).bounded("bench-platform", PLATFORM_THREADS));
+        long virtual = blockingPollsPerSecond("virtual", new TaskExecutors(true).bounded("bench-virtual", CONCURRENT_POLLS));
+        long async = pollsPerSecond("async", () -> {
+            List<CompletableFuture<List<Message>>> polls = new ArrayList<>(CONCURRENT_POLLS);
+            for (int i = 0; i < CONCURRENT_POLLS; i++) {
+                polls.add(asyncMessageService.receiveMessages(pollQueue, "us-east-1", 10, null, POLL_WAIT_SECONDS));
+            }
+            return polls;
+        });
+        long quickCallMillis = quickCallMillisDuringAsyncPolls();
+        logger.info("Speed-up over {} platform threads: virtual {}x, async {}x; quick call during async polls took {} ms",
+                PLATFORM_THREADS, String.format("%.1f", (double) virtual / platform),
+                String.format("%.1f", (double) async / platform), quickCallMillis);
+
+        // Then
+        assertThat((double) virtual / platform).isGreaterThanOrEqualTo(MIN_SPEEDUP);
+        assertThat((double) async / platform).isGreaterThanOrEqualTo(MIN_SPEEDUP);
+        assertThat(quickCallMillis).isLessThan(TimeUnit.SECONDS.toMillis(POLL_WAIT_SECONDS));
+    }
+
+    private long blockingPollsPerSecond(String name, ExecutorService executor) throws Exception {
+        try (executor) {
+            return pollsPerSecond(name, () -> {
+                List<CompletableFuture<List<Message>>> polls = new ArrayList<>(CONCURRENT_POLLS);
+                for (int i = 0; i < CONCURRENT_POLLS; i++) {
+                    polls.add(CompletableFuture.supplyAsync(() -> messageService.receiveMessages(
+                            pollQueue, "us-east-1", 10, null, POLL_WAIT_SECONDS), executor));
+                }
+                return polls;
+            });
+        }
+    }
+
+    private long pollsPerSecond(String name, Supplier<List<CompletableFuture<List<Message>>>> startPolls)
+            throws Exception {
+        long started = System.nanoTime();
+        List<CompletableFuture<List<Message>>> polls = startPolls.get();
+        CompletableFuture.allOf(polls.toArray(new CompletableFuture[0])).get(2, TimeUnit.MINUTES);
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        long pollsPerSecond = CONCURRENT_POLLS * 1000L / Math.max(1, totalMillis);
+        logger.info("{}: {} long polls of {} s in {} ms ({} polls/s)",
+                name, CONCURRENT_POLLS, POLL_WAIT_SECONDS, totalMillis, pollsPerSecond);
+        assertThat(polls).allSatisfy(poll -> assertThat(poll.join()).isEmpty());
+        return pollsPerSecond;
+    }
+
+    // A quick call (e.g. a send from the UI) issued while async polls are waiting
+    private long quickCallMillisDuringAsyncPolls() throws Exception {
+        String quickQueue = server.createQueue("long-poll-quick", Map.of());
+        List<CompletableFuture<List<Message>>> polls = new ArrayList<>(CONCURRENT_POLLS);
+        for (int i = 0; i < CONCURRENT_POLLS; i++) {
+            polls.add(asyncMessageService.receiveMessages(pollQueue, "us-east-1", 10, null, POLL_WAIT_SECONDS));
+        }
+        long submitted = System.nanoTime();
+        asyncMessageService.sendMessage(quickQueue, "us-east-1", "quick", null, null).get(30, TimeUnit.SECONDS);
+        long quickCallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitted);
+        CompletableFuture.allOf(polls.toArray(new CompletableFuture[0])).get(2, TimeUnit.MINUTES);
+        return quickCallMillis;
+    }
+}
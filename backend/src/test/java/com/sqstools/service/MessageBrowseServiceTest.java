@@ -0,0 +1,215 @@
+package com.sqstools.service;
+
+import com.sqstools.model.MessagePage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageBrowseServiceTest {
+
+    private static final String REGION = "us-east-1";
+    private static final String QUEUE_URL = "https://sqs.us-east-1.amazonaws.com/123456789012/orders";
+    private static final String OTHER_QUEUE_URL = "https://sqs.us-east-1.amazonaws.com/123456789012/payments";
+
+    @Mock
+    private AsyncMessageService asyncMessageService;
+
+    @Mock
+    private MessageService messageService;
+
+    private MessageBrowseService browseService;
+
+    @BeforeEach
+    void setUp() {
+        browseService = service(1000, 20);
+        lenient().when(asyncMessageService.changeMessageVisibilityBatch(anyString(), anyString(), anyList(), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+        lenient().when(messageService.toResponse(anyList(), anyBoolean())).thenAnswer(invocation -> {
+            List<Message> messages = invocation.getArgument(0);
+            return messages.stream()
+                    .map(message -> Map.<String, Object>of("messageId", message.messageId()))
+                    .toList();
+        });
+    }
+
+    @Test
+    void shouldServeLaterPagesFromTheBuffer() {
+        // Given: 25 messages on the queue
+        when(asyncMessageService.receiveMessages(eq(QUEUE_URL), eq(REGION), eq(10), eq(120), eq(1)))
+                .thenReturn(received(0, 10), received(10, 10), received(20, 5), received(0, 0));
+
+        // When
+        MessagePage first = browse(browseService, null, 10);
+        MessagePage second = browse(browseService, first.getNextCursor(), 10);
+        MessagePage third = browse(browseService, second.getNextCursor(), 10);
+        MessagePage firstAgain = browse(browseService, first.getCursor(), 10);
+
+        // Then
+        assertThat(ids(first)).containsExactlyElementsOf(ids(0, 10));
+        assertThat(ids(second)).containsExactlyElementsOf(ids(10, 10));
+        assertThat(ids(third)).containsExactlyElementsOf(ids(20, 5));
+        assertThat(third.getNextCursor()).isNull();
+        assertThat(third.isComplete()).isTrue();
+        assertThat(third.getBuffered()).isEqualTo(25);
+        assertThat(ids(firstAgain)).isEqualTo(ids(first));
+        verify(asyncMessageService, times(4)).receiveMessages(anyString(), anyString(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void shouldExtendExpiringHandlesAndSkipRejectedMessages() {
+        // Given
+        when(asyncMessageService.receiveMessages(eq(QUEUE_URL), eq(REGION), eq(10), eq(120), eq(1)))
+                .thenReturn(received(0, 3), received(0, 0));
+        MessagePage first = browse(browseService, null, 3);
+        when(asyncMessageService.changeMessageVisibilityBatch(eq(QUEUE_URL), eq(REGION), anyList(), eq(120)))
+                .thenReturn(CompletableFuture.completedFuture(List.of("handle-1")));
+
+        // When: 100s later less than half of the 120s visibility timeout is left
+        browseService.keepAlive(System.currentTimeMillis() + 100_000);
+        MessagePage reread = browse(browseService, first.getCursor(), 3);
+
+        // Then
+        verify(asyncMessageService).changeMessageVisibilityBatch(
+                QUEUE_URL, REGION, List.of("handle-0", "handle-1", "handle-2"), 120);
+        assertThat(ids(reread)).containsExactly("msg-0", "msg-2");
+        assertThat(reread.getBuffered()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReleaseMessagesWhenClosed() {
+        // Given
+        when(asyncMessageService.receiveMessages(eq(QUEUE_URL), eq(REGION), eq(10), eq(120), eq(1)))
+                .thenReturn(received(0, 2));
+        MessagePage page = browse(browseService, null, 2);
+
+        // When
+        browseService.close(QUEUE_URL, page.getCursor()).join();
+
+        // Then
+        verify(asyncMessageService).changeMessageVisibilityBatch(QUEUE_URL, REGION, List.of("handle-0", "handle-1"), 0);
+        assertThat(browseService.getSessionCount()).isZero();
+        assertThatThrownBy(() -> browse(browseService, page.getNextCursor(), 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expired");
+    }
+
+    @Test
+    void shouldRejectNewSessionsWhenFullInsteadOfClosingOthers() {
+        // Given
+        MessageBrowseService smallService = service(1000, 2);
+        when(asyncMessageService.receiveMessages(eq(QUEUE_URL), eq(REGION), eq(10), eq(120), eq(1)))
+                .thenReturn(received(0, 1), received(1, 1), received(2, 1));
+        MessagePage first = browse(smallService, null, 1);
+        browse(smallService, null, 1);
+
+        // When/Then
+        assertThatThrownBy(() -> browse(smallService, null, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("At most 2 browse sessions");
+        assertThat(smallService.getSessionCount()).isEqualTo(2);
+        verify(asyncMessageService, never()).changeMessageVisibilityBatch(anyString(), anyString(), anyList(), anyInt());
+
+        smallService.close(QUEUE_URL, first.getCursor()).join();
+        assertThat(ids(browse(smallService, null, 1))).containsExactly("msg-2");
+    }
+
+    @Test
+    void shouldCloseSessionWhoseFirstPageFails() {
+        // Given: a single slot, and a queue that throttles after the first receive
+        MessageBrowseService smallService = service(1000, 1);
+        when(asyncMessageService.receiveMessages(eq(QUEUE_URL), eq(REGION), eq(10), eq(120), eq(1)))
+                .thenReturn(received(0, 2),
+                        CompletableFuture.failedFuture(new RuntimeException("Rate exceeded")),
+                        received(2, 1));
+
+        // When
+        assertThatThrownBy(() -> browse(smallService, null, 5))
+                .hasMessageContaining("Rate exceeded");
+
+        // Then
+        assertThat(smallService.getSessionCount()).isZero();
+        verify(asyncMessageService).changeMessageVisibilityBatch(QUEUE_URL, REGION, List.of("handle-0", "handle-1"), 0);
+        assertThat(ids(browse(smallService, null, 1))).containsExactly("msg-2");
+    }
+
+    @Test
+    void shouldRejectCursorsOfAnotherQueueOrMalformed() {
+        // Given
+        when(asyncMessageService.receiveMessages(eq(QUEUE_URL), eq(REGION), eq(10), eq(120), eq(1)))
+                .thenReturn(received(0, 1));
+        MessagePage page = browse(browseService, null, 1);
+
+        // When/Then
+        assertThatThrownBy(() -> browseService.browse(OTHER_QUEUE_URL, REGION, false, page.getCursor(), 1, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> browse(browseService, "not a cursor", 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid browse cursor");
+        assertThatThrownBy(() -> browse(browseService, null, 500))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldCapSourceQueueSessionsBelowDlqSessions() {
+        // Given: 25 messages on each queue, at most 10 buffered for a source queue
+        browseService = new MessageBrowseService(asyncMessageService, messageService, 120, 3_600_000, 10,
+                3_600_000, 1000, 20, 100);
+        when(asyncMessageService.receiveMessages(eq(QUEUE_URL), eq(REGION), eq(10), eq(120), eq(1)))
+                .thenReturn(received(0, 10));
+        when(asyncMessageService.receiveMessages(eq(OTHER_QUEUE_URL), eq(REGION), eq(10), eq(120), eq(1)))
+                .thenReturn(received(0, 10), received(10, 10), received(20, 5), received(0, 0));
+
+        // When
+        MessagePage source = browse(browseService, null, 25);
+        MessagePage dlq = browseService.browse(OTHER_QUEUE_URL, REGION, true, null, 25, false).join();
+
+        // Then
+        assertThat(ids(source)).hasSize(10);
+        assertThat(source.isComplete()).isTrue();
+        assertThat(ids(dlq)).hasSize(25);
+    }
+
+    private MessageBrowseService service(int maxMessages, int maxSessions) {
+        return new MessageBrowseService(asyncMessageService, messageService, 120, 3_600_000, maxMessages,
+                3_600_000, maxMessages, maxSessions, 100);
+    }
+
+    private static MessagePage browse(MessageBrowseService service, String cursor, int size) {
+        return service.browse(QUEUE_URL, REGION, false, cursor, size, false).join();
+    }
+
+    private static CompletableFuture<List<Message>> received(int from, int count) {
+        return CompletableFuture.completedFuture(messages(from, count));
+    }
+
+    private static List<Message> messages(int from, int count) {
+        return IntStream.range(from, from + count)
+                .mapToObj(i -> Message.builder()
+                        .messageId("msg-" + i)
+                        .receiptHandle("handle-" + i)
+                        .body("{\"n\":" + i + "}")
+                        .build())
+                .toList();
+    }
+
+    private static List<String> ids(int from, int count) {
+        return IntStream.range(from, from + count).mapToObj(i -> "msg-" + i).toList();
+    }
+
+    private static List<Object> ids(MessagePage page) {
+        return page.getMessages().stream().map(message -> message.get("messageId")).toList();
+    }
+}
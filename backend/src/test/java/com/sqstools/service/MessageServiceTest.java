@@ -11,6 +11,7 @@ import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.*;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -185,4 +186,25 @@ class MessageServiceTest {
         assertThat(messageService.isValidJson("{\"key\":\"value\"}")).isTrue();
         assertThat(messageService.isValidJson("plain text")).isFalse();
     }
+
+    @Test
+    void shouldLeaveOutFormattedBodyWhenNotRequested() {
+        // Given
+        Message message = Message.builder()
+                .messageId("msg-123")
+                .body("{\"orderId\":42}")
+                .receiptHandle("receipt-123")
+                .build();
+
+        // When
+        List<Map<String, Object>> formatted = messageService.toResponse(List.of(message));
+        List<Map<String, Object>> compact = messageService.toResponse(List.of(message), false);
+
+        // Then
+        assertThat(formatted.get(0)).containsKey("bodyFormatted");
+        assertThat(compact.get(0))
+                .doesNotContainKey("bodyFormatted")
+                .containsEntry("body", "{\"orderId\":42}")
+                .containsEntry("messageId", "msg-123");
+    }
 }
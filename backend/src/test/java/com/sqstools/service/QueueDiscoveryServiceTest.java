@@ -0,0 +1,110 @@
+package com.sqstools.service;
+
+import tools.jackson.databind.ObjectMapper;
+import com.sqstools.config.TaskExecutors;
+import com.sqstools.model.DiscoveryResult;
+import com.sqstools.model.QueueConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueueDiscoveryServiceTest {
+
+    private static final String ORDERS_URL = "https://sqs.us-east-1.amazonaws.com/123456789012/orders";
+    private static final String ORDERS_DLQ_URL = "https://sqs.us-east-1.amazonaws.com/123456789012/orders-dlq";
+    private static final String SAVED_URL = "https://sqs.us-east-1.amazonaws.com/123456789012/already-saved";
+
+    @Mock
+    private QueueService queueService;
+
+    @Mock
+    private ConfigurationService configService;
+
+    private QueueDiscoveryService discoveryService;
+
+    @BeforeEach
+    void setUp() {
+        discoveryService = new QueueDiscoveryService(queueService, configService, new TaskExecutors(false), 4);
+        QueueService realQueueService = new QueueService(null, new ObjectMapper(), 0, 0);
+        lenient().when(queueService.extractQueueName(anyString()))
+                .thenAnswer(invocation -> realQueueService.extractQueueName(invocation.getArgument(0)));
+        lenient().when(queueService.extractDlqArn(any()))
+                .thenAnswer(invocation -> realQueueService.extractDlqArn(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        discoveryService.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldDiscoverQueuesAndLinkDlqs() {
+        // Given
+        when(configService.loadSavedQueueUrls()).thenReturn(Set.of(SAVED_URL));
+        when(queueService.listQueueUrls("us-east-1", "ord"))
+                .thenReturn(List.of(ORDERS_URL, ORDERS_DLQ_URL, SAVED_URL));
+        when(queueService.getQueueAttributes(ORDERS_URL, "us-east-1")).thenReturn(Map.of(
+                "QueueArn", "arn:aws:sqs:us-east-1:123456789012:orders",
+                "RedrivePolicy", "{\"deadLetterTargetArn\":\"arn:aws:sqs:us-east-1:123456789012:orders-dlq\",\"maxReceiveCount\":5}"));
+        when(queueService.getQueueAttributes(ORDERS_DLQ_URL, "us-east-1")).thenReturn(Map.of(
+                "QueueArn", "arn:aws:sqs:us-east-1:123456789012:orders-dlq"));
+        when(configService.saveQueues(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        DiscoveryResult result = discoveryService.discover(List.of("us-east-1"), "ord");
+
+        // Then
+        assertThat(result.getDiscoveredCount()).isEqualTo(3);
+        assertThat(result.getAddedCount()).isEqualTo(2);
+        assertThat(result.getSkippedCount()).isEqualTo(1);
+        assertThat(result.getFailedCount()).isZero();
+
+        ArgumentCaptor<List<QueueConfiguration>> captor = ArgumentCaptor.forClass(List.class);
+        verify(configService).saveQueues(captor.capture());
+        QueueConfiguration orders = captor.getValue().stream()
+                .filter(config -> config.getQueueUrl().equals(ORDERS_URL))
+                .findFirst()
+                .orElseThrow();
+        assertThat(orders.getDlqUrl()).isEqualTo(ORDERS_DLQ_URL);
+        assertThat(orders.getDlqName()).isEqualTo("orders-dlq");
+        verify(queueService, never()).getQueueAttributes(eq(SAVED_URL), anyString());
+    }
+
+    @Test
+    void shouldReportFailuresWithoutAbortingDiscovery() {
+        // Given
+        when(configService.loadSavedQueueUrls()).thenReturn(Set.of());
+        when(queueService.listQueueUrls("us-east-1", null)).thenReturn(List.of(ORDERS_URL));
+        when(queueService.listQueueUrls("eu-west-1", null)).thenThrow(new RuntimeException("Access denied"));
+        when(queueService.getQueueAttributes(ORDERS_URL, "us-east-1")).thenThrow(new RuntimeException("Throttled"));
+        when(configService.saveQueues(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        DiscoveryResult result = discoveryService.discover(List.of("us-east-1", "eu-west-1"), null);
+
+        // Then
+        assertThat(result.getAddedCount()).isZero();
+        assertThat(result.getFailedCount()).isEqualTo(1);
+        assertThat(result.getErrors())
+                .extracting(DiscoveryResult.DiscoveryError::getTarget)
+                .containsExactlyInAnyOrder("eu-west-1", ORDERS_URL);
+    }
+
+    @Test
+    void shouldRequireAtLeastOneRegion() {
+        assertThatThrownBy(() -> discoveryService.discover(List.of(), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,103 @@
+package com.sqstools.service;
+
+import tools.jackson.databind.ObjectMapper;
+import com.sqstools.entity.QueueEntity;
+import com.sqstools.model.QueuePage;
+import com.sqstools.model.QueueQuery;
+import com.sqstools.repository.QueueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueueQueryServiceTest {
+
+    @Mock
+    private QueueRepository queueRepository;
+
+    private QueueQueryService queryService;
+
+    @BeforeEach
+    void setUp() {
+        queryService = new QueueQueryService(queueRepository, new ObjectMapper());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPageAndSortByDepthInRepository() {
+        // Given
+        QueueEntity entity = new QueueEntity(
+                "id-1",
+                "https://sqs.us-east-1.amazonaws.com/123/orders",
+                "orders",
+                "us-east-1",
+                "{\"VisibilityTimeout\":\"30\"}",
+                null,
+                null
+        );
+        entity.setApproximateNumberOfMessages(12L);
+
+        when(queueRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(entity), invocation.getArgument(1), 101));
+
+        QueueQuery query = new QueueQuery();
+        query.setPage(2);
+        query.setSize(25);
+        query.setSort("depth");
+        query.setDirection("desc");
+        query.setFields(List.of("id", "queueName", "approximateNumberOfMessages"));
+
+        // When
+        QueuePage page = queryService.query(query);
+
+        // Then
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(queueRepository).findAll(any(Specification.class), pageable.capture());
+        assertThat(pageable.getValue().getPageNumber()).isEqualTo(2);
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(25);
+        assertThat(pageable.getValue().getSort().getOrderFor("approximateNumberOfMessages").getDirection())
+                .isEqualTo(Sort.Direction.DESC);
+
+        assertThat(page.getTotalElements()).isEqualTo(101);
+        assertThat(page.getTotalPages()).isEqualTo(5);
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getContent().get(0))
+                .containsOnlyKeys("id", "queueName", "approximateNumberOfMessages")
+                .containsEntry("approximateNumberOfMessages", 12L);
+    }
+
+    @Test
+    void shouldRejectUnknownSortAndFields() {
+        QueueQuery badSort = new QueueQuery();
+        badSort.setSort("color");
+        assertThatThrownBy(() -> queryService.query(badSort))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        QueueQuery badField = new QueueQuery();
+        badField.setFields(List.of("password"));
+        assertThatThrownBy(() -> queryService.query(badField))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRejectOversizedPages() {
+        QueueQuery query = new QueueQuery();
+        query.setSize(QueueQueryService.MAX_PAGE_SIZE + 1);
+
+        assertThatThrownBy(() -> queryService.query(query))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
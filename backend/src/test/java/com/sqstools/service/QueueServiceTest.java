@@ -11,8 +11,15 @@ import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,7 +40,7 @@ class QueueServiceTest {
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
-        queueService = new QueueService(clientFactory, objectMapper);
+        queueService = new QueueService(clientFactory, objectMapper, 300_000, 1_000);
         lenient().when(clientFactory.getClient(anyString())).thenReturn(sqsClient);
     }
 
@@ -139,4 +146,53 @@ class QueueServiceTest {
         // Then
         assertThat(queueName).isEqualTo("my-queue");
     }
+
+    @Test
+    void shouldShareOneCallBetweenConcurrentIdenticalReads() throws Exception {
+        // Given: the first call blocks until every reader has arrived
+        String queueUrl = "https://sqs.us-east-1.amazonaws.com/123456789/my-queue";
+        CountDownLatch release = new CountDownLatch(1);
+        when(sqsClient.getQueueAttributes(any(GetQueueAttributesRequest.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return GetQueueAttributesResponse.builder()
+                    .attributesWithStrings(Map.of("VisibilityTimeout", "30"))
+                    .build();
+        });
+
+        // When
+        List<Future<Map<String, String>>> reads;
+        try (ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+            reads = IntStream.range(0, 8)
+                    .mapToObj(i -> readers.submit(() -> queueService.getQueueAttributes(queueUrl, "us-east-1")))
+                    .toList();
+            Thread.sleep(200);
+            release.countDown();
+        }
+
+        // Then
+        for (Future<Map<String, String>> read : reads) {
+            assertThat(read.get()).containsEntry("VisibilityTimeout", "30");
+        }
+        verify(sqsClient, times(1)).getQueueAttributes(any(GetQueueAttributesRequest.class));
+    }
+
+    @Test
+    void shouldReuseResolvedUrlButNotCacheFailures() {
+        // Given
+        String expectedUrl = "https://sqs.us-east-1.amazonaws.com/123456789/my-queue";
+        when(sqsClient.getQueueUrl(any(GetQueueUrlRequest.class)))
+                .thenThrow(SqsException.builder().message("Throttled").build())
+                .thenReturn(GetQueueUrlResponse.builder().queueUrl(expectedUrl).build());
+
+        // When
+        assertThatThrownBy(() -> queueService.resolveQueueUrl("my-queue", "us-east-1"))
+                .hasMessageContaining("Failed to resolve queue URL");
+        String first = queueService.resolveQueueUrl("my-queue", "us-east-1");
+        String second = queueService.resolveQueueUrl("my-queue", "us-east-1");
+
+        // Then
+        assertThat(first).isEqualTo(expectedUrl);
+        assertThat(second).isEqualTo(expectedUrl);
+        verify(sqsClient, times(2)).getQueueUrl(any(GetQueueUrlRequest.class));
+    }
 }
@@ -0,0 +1,42 @@
+package com.sqstools.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void shouldServeResultWithinTtlAndLoadAgainAfterIt() throws Exception {
+        // Given
+        SingleFlight<String, Integer> flight = new SingleFlight<>(100);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        int first = flight.get("orders", loads::incrementAndGet);
+        int cached = flight.get("orders", loads::incrementAndGet);
+        Thread.sleep(300);
+        int reloaded = flight.get("orders", loads::incrementAndGet);
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(cached).isEqualTo(1);
+        assertThat(reloaded).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotCacheFailures() {
+        // Given
+        SingleFlight<String, Integer> flight = new SingleFlight<>(60_000);
+
+        // When
+        assertThatThrownBy(() -> flight.get("orders", () -> {
+            throw new IllegalStateException("throttled");
+        })).hasMessage("throttled");
+
+        // Then
+        assertThat(flight.get("orders", () -> 7)).isEqualTo(7);
+    }
+}
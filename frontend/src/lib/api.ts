@@ -11,6 +11,29 @@ interface QueueConfiguration {
     dlqUrl?: string;
     dlqName?: string;
     savedAt: string;
+    credentialProfile?: string;
+    roleArn?: string;
+    redrivePolicy?: string;
+    redriveAllowPolicy?: string;
+}
+
+interface QueuePage {
+    content: Array<Record<string, any>>;
+    page: number;
+    size: number;
+    totalElements: number;
+    totalPages: number;
+}
+
+interface QueueQuery {
+    page?: number;
+    size?: number;
+    prefix?: string;
+    contains?: string;
+    regions?: string[];
+    sort?: 'name' | 'region' | 'depth' | 'inFlight' | 'dlqDepth' | 'savedAt';
+    direction?: 'asc' | 'desc';
+    fields?: string[];
 }
 
 interface Message {
@@ -23,6 +46,14 @@ interface Message {
     md5OfBody: string;
 }
 
+interface MessagePage {
+    messages: Message[];
+    cursor: string;
+    nextCursor?: string;
+    buffered: number;
+    complete: boolean;
+}
+
 interface RedriveResult {
     processedCount: number;
     successCount: number;
@@ -69,10 +100,10 @@ class ApiClient {
     }
 
     // Queue operations
-    async addQueue(identifier: string, region: string): Promise<QueueConfiguration> {
+    async addQueue(identifier: string, region: string, profile?: string, roleArn?: string): Promise<QueueConfiguration> {
         return this.request('/queues', {
             method: 'POST',
-            body: JSON.stringify({ identifier, region }),
+            body: JSON.stringify({ identifier, region, profile, roleArn }),
         });
     }
 
@@ -80,6 +111,20 @@ class ApiClient {
         return this.request('/queues');
     }
 
+    async queryQueues(query: QueueQuery = {}): Promise<QueuePage> {
+        const queryParams = new URLSearchParams();
+        queryParams.set('page', (query.page ?? 0).toString());
+        if (query.size) queryParams.set('size', query.size.toString());
+        if (query.prefix) queryParams.set('prefix', query.prefix);
+        if (query.contains) queryParams.set('contains', query.contains);
+        query.regions?.forEach(r => queryParams.append('region', r));
+        if (query.sort) queryParams.set('sort', query.sort);
+        if (query.direction) queryParams.set('direction', query.direction);
+        if (query.fields?.length) queryParams.set('fields', query.fields.join(','));
+
+        return this.request(`/queues?${queryParams.toString()}`);
+    }
+
     async getQueue(queueId: string): Promise<QueueConfiguration> {
         return this.request(`/queues/${queueId}`);
     }
@@ -145,6 +190,34 @@ class ApiClient {
         });
     }
 
+    // Cursor-paginated browsing; omit the cursor to start a session, pass nextCursor for the next page
+    async browseMessages(
+        queueId: string,
+        params?: {
+            cursor?: string;
+            size?: number;
+            dlq?: boolean;
+        }
+    ): Promise<MessagePage> {
+        const queryParams = new URLSearchParams();
+        if (params?.cursor) queryParams.set('cursor', params.cursor);
+        if (params?.size) queryParams.set('size', params.size.toString());
+
+        const path = params?.dlq ? 'dlq/messages/browse' : 'messages/browse';
+        const query = queryParams.toString();
+        return this.request(`/queues/${queueId}/${path}${query ? `?${query}` : ''}`);
+    }
+
+    // Makes the session's messages visible again
+    async closeBrowse(queueId: string, cursor: string, dlq: boolean = false): Promise<void> {
+        const path = dlq ? 'dlq/messages/browse' : 'messages/browse';
+        return this.request(`/queues/${queueId}/${path}?cursor=${encodeURIComponent(cursor)}`, {
+            method: 'DELETE',
+            // Lets the close go out while the page is being unloaded
+            keepalive: true,
+        });
+    }
+
     // Redrive operations
     async redriveMessages(
         queueId: string,
@@ -206,4 +279,4 @@ class ApiClient {
 }
 
 export const api = new ApiClient();
-export type { QueueConfiguration, Message, RedriveResult };
+export type { QueueConfiguration, QueuePage, QueueQuery, Message, MessagePage, RedriveResult };